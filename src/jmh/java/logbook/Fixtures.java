@@ -0,0 +1,79 @@
+package logbook;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+
+/**
+ * ベンチマークで使用するAPIのレスポンス
+ *
+ */
+public final class Fixtures {
+
+    /** api_port/port のレスポンスボディ(svdata=を含む) */
+    public static final String API_PORT_PORT = "api_port_port.txt";
+
+    private Fixtures() {
+    }
+
+    /**
+     * レスポンスボディを読み込みます
+     *
+     * @param name ファイル名
+     * @return レスポンスボディ
+     */
+    public static byte[] load(String name) {
+        try (InputStream in = Fixtures.class.getResourceAsStream("fixtures/" + name)) {
+            if (in == null) {
+                throw new IllegalArgumentException(name);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buf = new byte[8192];
+            int len;
+            while ((len = in.read(buf)) > 0) {
+                out.write(buf, 0, len);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * レスポンスボディをgzipで圧縮します
+     *
+     * @param body レスポンスボディ
+     * @return 圧縮したレスポンスボディ
+     */
+    public static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * レスポンスボディのapi_dataを返します
+     *
+     * @param body レスポンスボディ
+     * @return api_data
+     */
+    public static JsonObject apiData(byte[] body) {
+        String json = new String(body, StandardCharsets.UTF_8);
+        json = json.substring(json.indexOf('=') + 1);
+        try (JsonReader reader = Json.createReader(new StringReader(json))) {
+            return reader.readObject().getJsonObject("api_data");
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package logbook.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import logbook.Fixtures;
+import logbook.internal.proxy.StreamingContentListener.ContentConsumer;
+import logbook.proxy.RequestMetaData;
+import logbook.proxy.ResponseMetaData;
+
+/**
+ * APIのJSON解析のベンチマーク
+ * <p>
+ * APIListenerSpiが登録されていないURIを使用して、JSONの解析だけを計測します。
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class APIListenerBenchmark {
+
+    /** Jettyから渡されるバッファの大きさ */
+    private static final int SLICE = 4096;
+
+    private APIListener listener;
+
+    private byte[] body;
+
+    private RequestMetaData req;
+
+    private ResponseMetaData res;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.listener = new APIListener();
+        this.body = Fixtures.load(Fixtures.API_PORT_PORT);
+        this.req = new BenchmarkRequest();
+        this.res = new BenchmarkResponse(this.body);
+    }
+
+    /**
+     * 受信完了後にレスポンスボディを解析する
+     */
+    @Benchmark
+    public void accept() {
+        this.listener.accept(this.req, this.res);
+    }
+
+    /**
+     * 受信しながらレスポンスボディを解析する
+     */
+    @Benchmark
+    public boolean streaming() throws Exception {
+        ContentConsumer consumer = this.listener.begin(this.req);
+        for (int i = 0; i < this.body.length; i += SLICE) {
+            consumer.onContent(this.body, i, Math.min(SLICE, this.body.length - i));
+        }
+        return consumer.onComplete(this.req, this.res);
+    }
+
+    private static final class BenchmarkRequest implements RequestMetaData {
+
+        @Override
+        public String getContentType() {
+            return "application/x-www-form-urlencoded";
+        }
+
+        @Override
+        public String getMethod() {
+            return "POST";
+        }
+
+        @Override
+        public Map<String, List<String>> getParameterMap() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public String getQueryString() {
+            return null;
+        }
+
+        @Override
+        public String getRequestURI() {
+            return "/kcsapi/benchmark";
+        }
+
+        @Override
+        public Optional<InputStream> getRequestBody() {
+            return Optional.empty();
+        }
+    }
+
+    private static final class BenchmarkResponse implements ResponseMetaData {
+
+        private final byte[] body;
+
+        BenchmarkResponse(byte[] body) {
+            this.body = body;
+        }
+
+        @Override
+        public int getStatus() {
+            return 200;
+        }
+
+        @Override
+        public String getContentType() {
+            return "text/plain";
+        }
+
+        @Override
+        public Optional<InputStream> getResponseBody() {
+            return Optional.of(new ByteArrayInputStream(this.body));
+        }
+    }
+}
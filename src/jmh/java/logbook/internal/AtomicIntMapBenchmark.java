@@ -0,0 +1,121 @@
+package logbook.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link AtomicIntMap}と{@link IntMap}の検索、更新、スナップショットのベンチマーク<br>
+ * スナップショットはIntMapでは複製、AtomicIntMapでは参照の取得になります
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AtomicIntMapBenchmark {
+
+    /** 装備の数 */
+    @Param({ "2000" })
+    private int size;
+
+    /** 検索するキー(Beanのフィールドと同じくボックス化済み) */
+    private Integer[] lookups;
+
+    private IntMap<Object> intMap;
+
+    private AtomicIntMap<Object> atomicIntMap;
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(1);
+        List<Integer> keys = new ArrayList<>();
+        int id = 1000;
+        for (int i = 0; i < this.size; i++) {
+            id += 1 + random.nextInt(50);
+            keys.add(id);
+        }
+        this.intMap = new IntMap<>();
+        for (Integer key : keys) {
+            this.intMap.put(key, key);
+        }
+        this.atomicIntMap = AtomicIntMap.of(this.intMap);
+        Collections.shuffle(keys, random);
+        this.lookups = keys.toArray(new Integer[0]);
+    }
+
+    /**
+     * IntMapを検索する
+     */
+    @Benchmark
+    public int lookupIntMap() {
+        Map<Integer, Object> map = this.intMap;
+        int found = 0;
+        for (Integer key : this.lookups) {
+            if (map.get(key) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * AtomicIntMapを検索する
+     */
+    @Benchmark
+    public int lookupAtomicIntMap() {
+        Map<Integer, Object> map = this.atomicIntMap;
+        int found = 0;
+        for (Integer key : this.lookups) {
+            if (map.get(key) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * AtomicIntMapの値を1つ置き換える
+     */
+    @Benchmark
+    public Object putAtomicIntMap() {
+        Integer key = this.lookups[this.next++ % this.lookups.length];
+        return this.atomicIntMap.put(key, new Object());
+    }
+
+    /**
+     * IntMapを複製してスナップショットを作成する
+     */
+    @Benchmark
+    public Object snapshotIntMap() {
+        return new IntMap<>(this.intMap);
+    }
+
+    /**
+     * AtomicIntMapのスナップショットを取得する
+     */
+    @Benchmark
+    public Object snapshotAtomicIntMap() {
+        return this.atomicIntMap.snapshot();
+    }
+}
@@ -0,0 +1,131 @@
+package logbook.internal;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.runner.IterationType;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import logbook.Fixtures;
+import logbook.bean.Ship;
+import logbook.bean.ShipCollection;
+
+/**
+ * 設定ファイルの形式ごとの読み込みのベンチマーク<br>
+ * api_portの艦娘を{@link ShipCollection}として書き込んでから読み込みます。
+ * loadは起動時と同じく新しい{@link Config}から読み込み、decodeは作成済みのObjectMapperで復元します。
+ * 形式ごとのファイルサイズはfileBytesとして出力します
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConfigFormatBenchmark {
+
+    @Param({ "JSON", "SMILE" })
+    private ConfigFormat format;
+
+    private Path dir;
+
+    private ObjectMapper mapper;
+
+    private byte[] bytes;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        ShipCollection ships = new ShipCollection();
+        ships.setShipMap(JsonHelper.toMap(Fixtures.apiData(Fixtures.load(Fixtures.API_PORT_PORT))
+                .getJsonArray("api_ship"), Ship::getId, Ship::toShip));
+
+        this.dir = Files.createTempDirectory("config");
+        Config config = new Config(this.dir);
+        config.setFormat(this.format);
+        config.get(ShipCollection.class, () -> ships);
+        config.store();
+
+        Path file = this.dir.resolve(ShipCollection.class.getCanonicalName() + this.format.getExtension());
+        this.mapper = this.format.newMapper();
+        this.bytes = Files.readAllBytes(file);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        try (Stream<Path> paths = Files.walk(this.dir)) {
+            paths.sorted(Comparator.reverseOrder())
+                    .forEach(p -> p.toFile().delete());
+        }
+    }
+
+    /**
+     * 新しいConfigでファイルから読み込む
+     */
+    @Benchmark
+    public Object load(FileSize size) {
+        size.report();
+        Config config = new Config(this.dir);
+        config.setFormat(this.format);
+        return config.get(ShipCollection.class, ShipCollection::new);
+    }
+
+    /**
+     * 作成済みのObjectMapperでバイト列から復元する
+     */
+    @Benchmark
+    public Object decode(FileSize size) throws Exception {
+        size.report();
+        return this.mapper.readValue(this.bytes, ShipCollection.class);
+    }
+
+    /**
+     * 読み込んだファイルのサイズ<br>
+     * EVENTSのカウンタはイテレーションの開始時に0に戻り、測定のイテレーションごとに合計されるため、
+     * 最初の測定のイテレーションでのみ値を設定します
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class FileSize {
+
+        /** ファイルのバイト数 */
+        public long fileBytes;
+
+        /** このイテレーションで設定するバイト数 */
+        private long size;
+
+        private boolean reported;
+
+        @Setup(Level.Iteration)
+        public void setup(ConfigFormatBenchmark benchmark, IterationParams iteration) {
+            this.size = 0;
+            if (!this.reported && iteration.getType() == IterationType.MEASUREMENT) {
+                this.size = benchmark.bytes.length;
+                this.reported = true;
+            }
+        }
+
+        void report() {
+            this.fileBytes = this.size;
+        }
+    }
+}
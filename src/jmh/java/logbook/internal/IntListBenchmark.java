@@ -0,0 +1,89 @@
+package logbook.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 艦娘のステータスのリストを{@link IntList}とArrayListで保持する場合のベンチマーク<br>
+ * gc.alloc.rate.normは艦娘のリストのメモリ使用量の目安になります
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IntListBenchmark {
+
+    /** 艦娘の数 */
+    @Param({ "600" })
+    private int size;
+
+    /** 艦娘毎のリスト(経験値、装備、機数、改修、入渠消費資材、火力..運) */
+    private int[][][] values;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(1);
+        int[] lengths = { 3, 5, 5, 5, 2, 2, 2, 2, 2, 2, 2, 2, 2 };
+        this.values = new int[this.size][lengths.length][];
+        for (int i = 0; i < this.size; i++) {
+            for (int j = 0; j < lengths.length; j++) {
+                int[] list = new int[lengths[j]];
+                for (int k = 0; k < list.length; k++) {
+                    // 経験値や装備IDは Integer のキャッシュ範囲外になることが多い
+                    list[k] = random.nextInt(j < 2 ? 100000 : 200);
+                }
+                this.values[i][j] = list;
+            }
+        }
+    }
+
+    /**
+     * ArrayListで保持する
+     */
+    @Benchmark
+    public Object arrayList() {
+        List<List<Integer>> ships = new ArrayList<>(this.size * this.values[0].length);
+        for (int[][] ship : this.values) {
+            for (int[] list : ship) {
+                List<Integer> l = new ArrayList<>(list.length);
+                for (int v : list) {
+                    l.add(v);
+                }
+                ships.add(l);
+            }
+        }
+        return ships;
+    }
+
+    /**
+     * IntListで保持する
+     */
+    @Benchmark
+    public Object intList() {
+        List<List<Integer>> ships = new ArrayList<>(this.size * this.values[0].length);
+        for (int[][] ship : this.values) {
+            for (int[] list : ship) {
+                ships.add(IntList.of(list));
+            }
+        }
+        return ships;
+    }
+}
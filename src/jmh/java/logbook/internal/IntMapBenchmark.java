@@ -0,0 +1,144 @@
+package logbook.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link IntMap}とLinkedHashMapの検索と構築のベンチマーク<br>
+ * 構築のgc.alloc.rate.normはMapのメモリ使用量の目安になります
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IntMapBenchmark {
+
+    /** 装備の数 */
+    @Param({ "2000" })
+    private int size;
+
+    /** 装備ID(api_idは連番ではない) */
+    private Integer[] ids;
+
+    /** 検索するキー(Beanのフィールドと同じくボックス化済み) */
+    private Integer[] lookups;
+
+    private Map<Integer, Object> linkedHashMap;
+
+    private IntMap<Object> intMap;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(1);
+        this.ids = new Integer[this.size];
+        int id = 1000;
+        for (int i = 0; i < this.size; i++) {
+            id += 1 + random.nextInt(50);
+            this.ids[i] = id;
+        }
+        List<Integer> keys = new ArrayList<>();
+        Collections.addAll(keys, this.ids);
+        Collections.shuffle(keys, random);
+        this.lookups = keys.toArray(new Integer[0]);
+        this.linkedHashMap = this.buildLinkedHashMap();
+        this.intMap = this.buildIntMap();
+    }
+
+    /**
+     * LinkedHashMapを構築する
+     */
+    @Benchmark
+    public Map<Integer, Object> buildLinkedHashMap() {
+        Map<Integer, Object> map = new LinkedHashMap<>();
+        for (Integer id : this.ids) {
+            map.put(id, id);
+        }
+        return map;
+    }
+
+    /**
+     * IntMapを構築する
+     */
+    @Benchmark
+    public IntMap<Object> buildIntMap() {
+        IntMap<Object> map = new IntMap<>();
+        for (Integer id : this.ids) {
+            map.put(id, id);
+        }
+        return map;
+    }
+
+    /**
+     * LinkedHashMapを検索する
+     */
+    @Benchmark
+    public int lookupLinkedHashMap() {
+        int found = 0;
+        for (Integer key : this.lookups) {
+            if (this.linkedHashMap.get(key) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * IntMapを{@link Map#get(Object)}で検索する
+     */
+    @Benchmark
+    public int lookupIntMap() {
+        Map<Integer, Object> map = this.intMap;
+        int found = 0;
+        for (Integer key : this.lookups) {
+            if (map.get(key) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * LinkedHashMapを反復する
+     */
+    @Benchmark
+    public int iterateLinkedHashMap() {
+        int n = 0;
+        for (Object v : this.linkedHashMap.values()) {
+            n += ((Integer) v).intValue();
+        }
+        return n;
+    }
+
+    /**
+     * IntMapを反復する
+     */
+    @Benchmark
+    public int iterateIntMap() {
+        int n = 0;
+        for (Object v : this.intMap.values()) {
+            n += ((Integer) v).intValue();
+        }
+        return n;
+    }
+}
@@ -0,0 +1,113 @@
+package logbook.internal;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import logbook.Fixtures;
+import logbook.bean.Ship;
+
+/**
+ * JsonObjectからBeanを構築するベンチマーク
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JsonHelperBenchmark {
+
+    private JsonArray ships;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.ships = Fixtures.apiData(Fixtures.load(Fixtures.API_PORT_PORT)).getJsonArray("api_ship");
+    }
+
+    /**
+     * api_shipを{@link JsonHelper#toMap(JsonArray, java.util.function.Function, java.util.function.Function)}で変換する
+     */
+    @Benchmark
+    public Map<Integer, Ship> toMap() {
+        return JsonHelper.toMap(this.ships, Ship::getId, Ship::toShip);
+    }
+
+    /**
+     * api_shipの要素を{@link Ship#toShip(JsonObject)}(生成されたバインダー)で変換する
+     */
+    @Benchmark
+    public void toShip(Blackhole bh) {
+        for (JsonValue value : this.ships) {
+            bh.consume(Ship.toShip((JsonObject) value));
+        }
+    }
+
+    /**
+     * api_shipの要素を{@link JsonHelper.Bind}で変換する(比較用)
+     */
+    @Benchmark
+    public void bindChain(Blackhole bh) {
+        for (JsonValue value : this.ships) {
+            bh.consume(toShipByBind((JsonObject) value));
+        }
+    }
+
+    /**
+     * バインダー導入前の{@link Ship#toShip(JsonObject)}
+     */
+    static Ship toShipByBind(JsonObject json) {
+        Ship bean = new Ship();
+        JsonHelper.bind(json)
+                .setInteger("api_id", bean::setId)
+                .setInteger("api_sortno", bean::setSortno)
+                .setInteger("api_ship_id", bean::setShipId)
+                .setInteger("api_lv", bean::setLv)
+                .set("api_exp", bean::setExp, JsonHelper::toIntegerList)
+                .setInteger("api_nowhp", bean::setNowhp)
+                .setInteger("api_maxhp", bean::setMaxhp)
+                .setInteger("api_soku", bean::setSoku)
+                .setInteger("api_leng", bean::setLeng)
+                .set("api_slot", bean::setSlot, JsonHelper::toIntegerList)
+                .set("api_onslot", bean::setOnslot, JsonHelper::toIntegerList)
+                .setInteger("api_slot_ex", bean::setSlotEx)
+                .set("api_kyouka", bean::setKyouka, JsonHelper::toIntegerList)
+                .setInteger("api_backs", bean::setBacks)
+                .setInteger("api_fuel", bean::setFuel)
+                .setInteger("api_bull", bean::setBull)
+                .setInteger("api_slotnum", bean::setSlotnum)
+                .setInteger("api_ndock_time", bean::setNdockTime)
+                .set("api_ndock_item", bean::setNdockItem, JsonHelper::toIntegerList)
+                .setInteger("api_srate", bean::setSrate)
+                .setInteger("api_cond", bean::setCond)
+                .set("api_karyoku", bean::setKaryoku, JsonHelper::toIntegerList)
+                .set("api_raisou", bean::setRaisou, JsonHelper::toIntegerList)
+                .set("api_taiku", bean::setTaiku, JsonHelper::toIntegerList)
+                .set("api_soukou", bean::setSoukou, JsonHelper::toIntegerList)
+                .set("api_kaihi", bean::setKaihi, JsonHelper::toIntegerList)
+                .set("api_taisen", bean::setTaisen, JsonHelper::toIntegerList)
+                .set("api_sakuteki", bean::setSakuteki, JsonHelper::toIntegerList)
+                .set("api_lucky", bean::setLucky, JsonHelper::toIntegerList)
+                .setBoolean("api_locked", bean::setLocked)
+                .setBoolean("api_locked_equip", bean::setLockedEquip)
+                .setInteger("api_sally_area", bean::setSallyArea);
+        return bean;
+    }
+}
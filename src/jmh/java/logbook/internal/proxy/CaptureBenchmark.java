@@ -0,0 +1,119 @@
+package logbook.internal.proxy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import logbook.Fixtures;
+import logbook.internal.proxy.StreamingContentListener.ContentConsumer;
+import logbook.proxy.RequestMetaData;
+import logbook.proxy.ResponseMetaData;
+
+/**
+ * レスポンスのキャプチャと復号のベンチマーク
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CaptureBenchmark {
+
+    /** Jettyから渡されるバッファの大きさ */
+    private static final int SLICE = 4096;
+
+    private byte[] body;
+
+    private byte[] gzip;
+
+    private CaptureHolder gzipHolder;
+
+    private byte[] buf = new byte[8192];
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.body = Fixtures.load(Fixtures.API_PORT_PORT);
+        this.gzipHolder = new CaptureHolder();
+        this.gzip = Fixtures.gzip(this.body);
+        this.gzipHolder.putResponse(this.gzip, 0, this.gzip.length);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.gzipHolder.clear();
+    }
+
+    /**
+     * {@link CaptureHolder}に分割して書き込み、{@link ByteArrayInputStream2}で読み出す
+     */
+    @Benchmark
+    public long reassemble() throws IOException {
+        CaptureHolder holder = new CaptureHolder();
+        try {
+            for (int i = 0; i < this.body.length; i += SLICE) {
+                holder.putResponse(this.body, i, Math.min(SLICE, this.body.length - i));
+            }
+            return this.drain(holder.getResponse());
+        } finally {
+            holder.clear();
+        }
+    }
+
+    /**
+     * gzipで圧縮されたレスポンスを展開する
+     */
+    @Benchmark
+    public long ungzip() throws IOException {
+        return this.drain(DecodedContent.of(this.gzipHolder).newInputStream());
+    }
+
+    /**
+     * 受信しながらgzipを展開する
+     */
+    @Benchmark
+    public void ungzipStreaming(Blackhole bh) {
+        byte[] gzip = this.gzip;
+        StreamingDecoder decoder = new StreamingDecoder(new ContentConsumer() {
+            @Override
+            public void onContent(byte[] buffer, int offset, int length) {
+                bh.consume(length);
+            }
+
+            @Override
+            public boolean onComplete(RequestMetaData req, ResponseMetaData res) {
+                return true;
+            }
+        });
+        for (int i = 0; i < gzip.length; i += SLICE) {
+            decoder.feed(gzip, i, Math.min(SLICE, gzip.length - i));
+        }
+        bh.consume(decoder.finish());
+    }
+
+    private long drain(InputStream in) throws IOException {
+        long total = 0;
+        try (InputStream stream = in) {
+            int len;
+            while ((len = stream.read(this.buf)) > 0) {
+                total += len;
+            }
+        }
+        return total;
+    }
+}
@@ -25,4 +25,14 @@ public @interface API {
      */
     String[] value();
 
+    /**
+     * ゲームの状態を更新するリスナーかを返します<br>
+     * trueの場合、リスナーはAPIのレスポンスを受け取った順に1つのスレッドで呼び出されます。
+     * このスレッドはゲームの状態を更新するすべてのリスナーで共有されるため、時間のかかる処理を行わないでください。
+     * falseの場合、リスナーは他のリスナーと並列に呼び出されます。
+     *
+     * @return ゲームの状態を更新するリスナーの場合true
+     */
+    boolean sequential() default false;
+
 }
@@ -21,7 +21,10 @@ public interface APIListenerSpi {
      * JSONオブジェクトを受け取ります。<br>
      *
      * 実装クラスに{@link API}注釈が付与されている場合、{@link API}注釈が持つURIに対してのみ実装クラスが呼び出されます。
-     * 実装クラスに{@link API}注釈が付与されていない場合、すべてのURIに対して実装クラスが呼び出されます。
+     * 実装クラスに{@link API}注釈が付与されていない場合、すべてのURIに対して実装クラスが呼び出されます。<br>
+     * <br>
+     * {@link API#sequential()}がtrueの実装クラスは、APIのレスポンスを受け取った順に1つのスレッドで呼び出されます。
+     * {@link API}注釈が付与されていない実装クラスと{@link API#sequential()}がfalseの実装クラスは並列に呼び出されます。
      *
      * @param json APIのレスポンスに含まれるJSONオブジェクト
      * @param req リクエスト
@@ -0,0 +1,45 @@
+package logbook.api;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import javax.json.JsonObject;
+
+import logbook.proxy.RequestMetaData;
+import logbook.proxy.ResponseMetaData;
+
+/**
+ * JSONを{@link JsonObject}に変換せずに受け取るリスナーです。<br>
+ * <br>
+ * 大きなレスポンスを{@link com.fasterxml.jackson.core.JsonParser}で読み込むことで、
+ * JSON全体のJsonObjectを構築せずに処理できます。
+ * URIに対応するすべてのリスナーがこのインターフェイスを実装している場合、APIListenerはJsonObjectを構築しません。<br>
+ * <br>
+ * 登録方法と{@link API}注釈の扱いは{@link APIListenerSpi}と同じです。
+ *
+ * @see logbook.api.APIListenerSpi
+ */
+public interface APIStreamListenerSpi extends APIListenerSpi {
+
+    /**
+     * JSONを受け取ります。
+     *
+     * @param json APIのレスポンスに含まれるJSON
+     * @param req リクエスト
+     * @param res レスポンス
+     * @throws IOException JSONの読み込みに失敗した場合
+     */
+    void accept(JsonSource json, RequestMetaData req, ResponseMetaData res) throws IOException;
+
+    /**
+     * JsonObjectを{@link JsonSource}として{@link #accept(JsonSource, RequestMetaData, ResponseMetaData)}に渡します。
+     */
+    @Override
+    default void accept(JsonObject json, RequestMetaData req, ResponseMetaData res) {
+        try {
+            this.accept(JsonSource.of(json), req, res);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package logbook.api;
 import javax.json.JsonObject;
 
 import logbook.bean.Basic;
+import logbook.internal.ChangeBus;
 import logbook.proxy.RequestMetaData;
 import logbook.proxy.ResponseMetaData;
 
@@ -10,7 +11,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_get_member/basic
  *
  */
-@API("/kcsapi/api_get_member/basic")
+@API(value = "/kcsapi/api_get_member/basic", sequential = true)
 public class ApiGetMemberBasic implements APIListenerSpi {
 
     @Override
@@ -19,6 +20,7 @@ public class ApiGetMemberBasic implements APIListenerSpi {
         if (data != null) {
             Basic.updateBasic(Basic.get(), data);
         }
+        ChangeBus.get().publish(Basic.class);
     }
 
 }
@@ -10,6 +10,7 @@ import javax.json.JsonObject;
 
 import logbook.bean.DeckPort;
 import logbook.bean.DeckPortCollection;
+import logbook.internal.ChangeBus;
 import logbook.internal.JsonHelper;
 import logbook.proxy.RequestMetaData;
 import logbook.proxy.ResponseMetaData;
@@ -18,7 +19,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_get_member/deck
  *
  */
-@API("/kcsapi/api_get_member/deck")
+@API(value = "/kcsapi/api_get_member/deck", sequential = true)
 public class ApiGetMemberDeck implements APIListenerSpi {
 
     @Override
@@ -36,6 +37,7 @@ public class ApiGetMemberDeck implements APIListenerSpi {
                             .flatMap(List::stream)
                             .collect(Collectors.toCollection(LinkedHashSet::new)));
         }
+        ChangeBus.get().publish(DeckPortCollection.class);
     }
 
 }
@@ -18,7 +18,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_get_member/kdock
  *
  */
-@API("/kcsapi/api_get_member/kdock")
+@API(value = "/kcsapi/api_get_member/kdock", sequential = true)
 public class ApiGetMemberKdock implements APIListenerSpi {
 
     @Override
@@ -11,7 +11,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_get_member/mapinfo
  *
  */
-@API("/kcsapi/api_get_member/mapinfo")
+@API(value = "/kcsapi/api_get_member/mapinfo", sequential = true)
 public class ApiGetMemberMapinfo implements APIListenerSpi {
 
     @Override
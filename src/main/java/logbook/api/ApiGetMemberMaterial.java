@@ -9,6 +9,7 @@ import javax.json.JsonObject;
 import logbook.bean.AppCondition;
 import logbook.bean.AppConfig;
 import logbook.bean.Material;
+import logbook.internal.ChangeBus;
 import logbook.internal.JsonHelper;
 import logbook.internal.log.LogWriter;
 import logbook.internal.log.MaterialLogFormat;
@@ -19,7 +20,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_get_member/material
  *
  */
-@API("/kcsapi/api_get_member/material")
+@API(value = "/kcsapi/api_get_member/material", sequential = true)
 public class ApiGetMemberMaterial implements APIListenerSpi {
 
     @Override
@@ -34,6 +35,7 @@ public class ApiGetMemberMaterial implements APIListenerSpi {
                         .write(material);
                 AppCondition.get()
                         .setWroteMaterialLogLast(System.currentTimeMillis());
+                ChangeBus.get().publish(AppCondition.class);
             }
         }
     }
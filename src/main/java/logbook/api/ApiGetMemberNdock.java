@@ -11,7 +11,9 @@ import javax.json.JsonObject;
 
 import logbook.bean.Ndock;
 import logbook.bean.NdockCollection;
+import logbook.bean.Ship;
 import logbook.bean.ShipCollection;
+import logbook.internal.ChangeBus;
 import logbook.internal.JsonHelper;
 import logbook.proxy.RequestMetaData;
 import logbook.proxy.ResponseMetaData;
@@ -20,7 +22,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_get_member/ndock
  *
  */
-@API("/kcsapi/api_get_member/ndock")
+@API(value = "/kcsapi/api_get_member/ndock", sequential = true)
 public class ApiGetMemberNdock implements APIListenerSpi {
 
     @Override
@@ -42,15 +44,19 @@ public class ApiGetMemberNdock implements APIListenerSpi {
                             .collect(Collectors.toCollection(LinkedHashSet::new)));
             // 差し替え前と異なっていたら補正
             before.removeAll(NdockCollection.get().getNdockSet());
-            before.stream()
-                    .map(ShipCollection.get().getShipMap()::get)
+            ShipCollection.get().update(shipMap -> before.stream()
+                    .map(shipMap::get)
                     .filter(Objects::nonNull)
                     .filter(ship -> ship.getNowhp() < ship.getMaxhp())
+                    .map(Ship::clone)
                     .forEach(ship -> {
                         ship.setNowhp(ship.getMaxhp());
                         ship.setNdockTime(0);
-                    });
+                        shipMap.put(ship.getId(), ship);
+                    }));
         }
+        ChangeBus.get().publish(NdockCollection.class);
+        ChangeBus.get().publish(ShipCollection.class);
     }
 
 }
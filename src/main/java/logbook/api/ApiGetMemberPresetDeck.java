@@ -9,7 +9,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_get_member/preset_deck
  *
  */
-@API("/kcsapi/api_get_member/preset_deck")
+@API(value = "/kcsapi/api_get_member/preset_deck", sequential = true)
 public class ApiGetMemberPresetDeck implements APIListenerSpi {
 
     @Override
@@ -4,6 +4,7 @@ import javax.json.JsonObject;
 
 import logbook.bean.AppQuestCollection;
 import logbook.bean.QuestList;
+import logbook.internal.ChangeBus;
 import logbook.proxy.RequestMetaData;
 import logbook.proxy.ResponseMetaData;
 
@@ -11,7 +12,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_get_member/questlist
  *
  */
-@API("/kcsapi/api_get_member/questlist")
+@API(value = "/kcsapi/api_get_member/questlist", sequential = true)
 public class ApiGetMemberQuestlist implements APIListenerSpi {
 
     @Override
@@ -23,6 +24,7 @@ public class ApiGetMemberQuestlist implements APIListenerSpi {
             AppQuestCollection.get()
                     .update(quest);
         }
+        ChangeBus.get().publish(AppQuestCollection.class);
     }
 
 }
@@ -6,6 +6,7 @@ import javax.json.JsonObject;
 import logbook.bean.Basic;
 import logbook.bean.SlotItem;
 import logbook.bean.SlotItemCollection;
+import logbook.internal.ChangeBus;
 import logbook.internal.JsonHelper;
 import logbook.proxy.RequestMetaData;
 import logbook.proxy.ResponseMetaData;
@@ -14,7 +15,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_get_member/require_info
  *
  */
-@API("/kcsapi/api_get_member/require_info")
+@API(value = "/kcsapi/api_get_member/require_info", sequential = true)
 public class ApiGetMemberRequireInfo implements APIListenerSpi {
 
     @Override
@@ -24,6 +25,8 @@ public class ApiGetMemberRequireInfo implements APIListenerSpi {
             this.apiBasic(data.getJsonObject("api_basic"));
             this.apiSlotItem(data.getJsonArray("api_slot_item"));
         }
+        ChangeBus.get().publish(Basic.class);
+        ChangeBus.get().publish(SlotItemCollection.class);
     }
 
     /**
@@ -12,6 +12,7 @@ import logbook.bean.DeckPort;
 import logbook.bean.DeckPortCollection;
 import logbook.bean.Ship;
 import logbook.bean.ShipCollection;
+import logbook.internal.ChangeBus;
 import logbook.internal.JsonHelper;
 import logbook.proxy.RequestMetaData;
 import logbook.proxy.ResponseMetaData;
@@ -20,7 +21,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_get_member/ship2
  *
  */
-@API("/kcsapi/api_get_member/ship2")
+@API(value = "/kcsapi/api_get_member/ship2", sequential = true)
 public class ApiGetMemberShip2 implements APIListenerSpi {
 
     @Override
@@ -33,6 +34,8 @@ public class ApiGetMemberShip2 implements APIListenerSpi {
         if (apiDataDeck != null) {
             this.apiDeckData(apiDataDeck);
         }
+        ChangeBus.get().publish(ShipCollection.class);
+        ChangeBus.get().publish(DeckPortCollection.class);
     }
 
     /**
@@ -12,6 +12,7 @@ import logbook.bean.DeckPort;
 import logbook.bean.DeckPortCollection;
 import logbook.bean.Ship;
 import logbook.bean.ShipCollection;
+import logbook.internal.ChangeBus;
 import logbook.internal.JsonHelper;
 import logbook.proxy.RequestMetaData;
 import logbook.proxy.ResponseMetaData;
@@ -20,7 +21,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_get_member/ship3
  *
  */
-@API("/kcsapi/api_get_member/ship3")
+@API(value = "/kcsapi/api_get_member/ship3", sequential = true)
 public class ApiGetMemberShip3 implements APIListenerSpi {
 
     @Override
@@ -30,6 +31,8 @@ public class ApiGetMemberShip3 implements APIListenerSpi {
             this.apiShipData(data.getJsonArray("api_ship_data"), req);
             this.apiDeckData(data.getJsonArray("api_deck_data"));
         }
+        ChangeBus.get().publish(ShipCollection.class);
+        ChangeBus.get().publish(DeckPortCollection.class);
     }
 
     /**
@@ -39,14 +42,15 @@ public class ApiGetMemberShip3 implements APIListenerSpi {
      * @param req リクエスト
      */
     private void apiShipData(JsonArray array, RequestMetaData req) {
-        Map<Integer, Ship> map = ShipCollection.get()
-                .getShipMap();
-        if (!req.getParameterMap()
-                .containsKey("api_shipid")) {
-            // 艦娘の指定がない場合クリア
-            map.clear();
-        }
-        map.putAll(JsonHelper.toMap(array, Ship::getId, Ship::toShip));
+        Map<Integer, Ship> ships = JsonHelper.toMap(array, Ship::getId, Ship::toShip);
+        ShipCollection.get().update(map -> {
+            if (!req.getParameterMap()
+                    .containsKey("api_shipid")) {
+                // 艦娘の指定がない場合クリア
+                map.clear();
+            }
+            map.putAll(ships);
+        });
     }
 
     /**
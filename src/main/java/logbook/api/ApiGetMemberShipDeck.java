@@ -13,6 +13,7 @@ import logbook.bean.DeckPort;
 import logbook.bean.DeckPortCollection;
 import logbook.bean.Ship;
 import logbook.bean.ShipCollection;
+import logbook.internal.ChangeBus;
 import logbook.internal.JsonHelper;
 import logbook.proxy.RequestMetaData;
 import logbook.proxy.ResponseMetaData;
@@ -21,7 +22,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_get_member/ship_deck
  *
  */
-@API("/kcsapi/api_get_member/ship_deck")
+@API(value = "/kcsapi/api_get_member/ship_deck", sequential = true)
 public class ApiGetMemberShipDeck implements APIListenerSpi {
 
     @Override
@@ -31,6 +32,9 @@ public class ApiGetMemberShipDeck implements APIListenerSpi {
             this.apiShipData(data.getJsonArray("api_ship_data"));
             this.apiDeckData(data.getJsonArray("api_deck_data"));
         }
+        ChangeBus.get().publish(ShipCollection.class);
+        ChangeBus.get().publish(DeckPortCollection.class);
+        ChangeBus.get().publish(AppCondition.class);
     }
 
     /**
@@ -41,7 +45,7 @@ public class ApiGetMemberShipDeck implements APIListenerSpi {
     private void apiShipData(JsonArray array) {
         // 差し替え前
         Map<Integer, Ship> before = ShipCollection.get()
-                .getShipMap();
+                .snapshot();
 
         // 差し替え
         Map<Integer, Ship> map = ShipCollection.get()
@@ -5,6 +5,7 @@ import javax.json.JsonObject;
 
 import logbook.bean.SlotItem;
 import logbook.bean.SlotItemCollection;
+import logbook.internal.ChangeBus;
 import logbook.internal.JsonHelper;
 import logbook.proxy.RequestMetaData;
 import logbook.proxy.ResponseMetaData;
@@ -13,7 +14,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_get_member/slot_item
  *
  */
-@API("/kcsapi/api_get_member/slot_item")
+@API(value = "/kcsapi/api_get_member/slot_item", sequential = true)
 public class ApiGetMemberSlotItem implements APIListenerSpi {
 
     @Override
@@ -23,6 +24,7 @@ public class ApiGetMemberSlotItem implements APIListenerSpi {
             SlotItemCollection.get()
                     .setSlotitemMap(JsonHelper.toMap(array, SlotItem::getId, SlotItem::toSlotItem));
         }
+        ChangeBus.get().publish(SlotItemCollection.class);
     }
 
 }
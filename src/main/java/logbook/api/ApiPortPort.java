@@ -6,8 +6,6 @@ import java.time.ZonedDateTime;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import javax.json.JsonArray;
@@ -25,6 +23,8 @@ import logbook.bean.Ship;
 import logbook.bean.ShipCollection;
 import logbook.bean.SlotItem;
 import logbook.bean.SlotItemCollection;
+import logbook.internal.ChangeBus;
+import logbook.internal.ChangeSet;
 import logbook.internal.JsonHelper;
 import logbook.internal.log.LogWriter;
 import logbook.internal.log.MaterialLogFormat;
@@ -35,7 +35,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_port/port
  *
  */
-@API("/kcsapi/api_port/port")
+@API(value = "/kcsapi/api_port/port", sequential = true)
 public class ApiPortPort implements APIListenerSpi {
 
     @Override
@@ -51,6 +51,11 @@ public class ApiPortPort implements APIListenerSpi {
             this.condition();
             this.akashiTimer();
         }
+        ChangeBus.get().publish(Basic.class);
+        ChangeBus.get().publish(SlotItemCollection.class);
+        ChangeBus.get().publish(DeckPortCollection.class);
+        ChangeBus.get().publish(NdockCollection.class);
+        ChangeBus.get().publish(AppCondition.class);
     }
 
     /**
@@ -68,39 +73,33 @@ public class ApiPortPort implements APIListenerSpi {
      * @param array api_ship
      */
     private void apiShip(JsonArray array) {
-        // 差し替え前
+        // 変更前
         Map<Integer, Ship> before = ShipCollection.get()
-                .getShipMap();
-        // 差し替え前のID
-        Set<Integer> beforeShipIds = before.keySet();
-        // 差し替え後
-        Map<Integer, Ship> afterShipMap = JsonHelper.toMap(array, Ship::getId, Ship::toShip);
-        // 差し替え後のID
-        Set<Integer> afterShipIds = afterShipMap.keySet();
+                .snapshot();
+        // 変更後
+        Map<Integer, Ship> after = JsonHelper.toMap(array, Ship::getId, Ship::toShip);
+        // 変更内容
+        ChangeSet<Integer> changes = ChangeSet.diff(before, after, Ship::diff);
 
         // cond値が更新されたかを検出
-        Predicate<Ship> update = beforeShip -> {
-            Ship afterShip = afterShipMap.get(beforeShip.getId());
-            if (afterShip != null) {
-                return !beforeShip.getCond().equals(afterShip.getCond());
-            }
-            return false;
-        };
-        if (before.values().stream()
-                .filter(ship -> ship.getCond() <= 49)
-                .anyMatch(update)) {
+        if (changes.getChanged().entrySet().stream()
+                .filter(e -> e.getValue().contains("cond"))
+                .map(e -> before.get(e.getKey()))
+                .anyMatch(ship -> ship.getCond() <= 49)) {
             ZonedDateTime time = ZonedDateTime.now(ZoneId.systemDefault());
             AppCondition.get().setCondUpdateTime(time.toEpochSecond());
         }
 
-        // 差し替え前に存在して、差し替え後に存在しない艦娘の装備を廃棄する
-        beforeShipIds.stream()
-                .filter(((Predicate<Integer>) afterShipIds::contains).negate())
+        // 変更前に存在して、変更後に存在しない艦娘の装備を廃棄する
+        SlotItemCollection.get().update(itemMap -> changes.getRemoved().stream()
                 .map(before::get)
-                .forEach(this::destryItem);
+                .forEach(ship -> this.destryItem(itemMap, ship)));
 
+        // 変更された艦娘のみ差し替える
+        ShipCollection.get().update(map -> changes.apply(map, after));
         ShipCollection.get()
-                .setShipMap(afterShipMap);
+                .setChanges(changes);
+        ChangeBus.get().publish(ShipCollection.class, changes);
     }
 
     /**
@@ -178,11 +177,10 @@ public class ApiPortPort implements APIListenerSpi {
     /**
      * 艦娘の装備を廃棄する
      *
+     * @param itemMap 装備
      * @param ship 艦娘
      */
-    private void destryItem(Ship ship) {
-        Map<Integer, SlotItem> itemMap = SlotItemCollection.get()
-                .getSlotitemMap();
+    private void destryItem(Map<Integer, SlotItem> itemMap, Ship ship) {
         // 持っている装備を廃棄する
         for (Integer itemId : ship.getSlot()) {
             itemMap.remove(itemId);
@@ -15,7 +15,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_req_air_corps/set_action
  *
  */
-@API("/kcsapi/api_req_air_corps/set_action")
+@API(value = "/kcsapi/api_req_air_corps/set_action", sequential = true)
 public class ApiReqAirCorpsSetAction implements APIListenerSpi {
 
     @Override
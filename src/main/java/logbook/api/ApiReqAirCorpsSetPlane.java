@@ -16,7 +16,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_req_air_corps/set_plane
  *
  */
-@API("/kcsapi/api_req_air_corps/set_plane")
+@API(value = "/kcsapi/api_req_air_corps/set_plane", sequential = true)
 public class ApiReqAirCorpsSetPlane implements APIListenerSpi {
 
     @Override
@@ -16,7 +16,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_req_air_corps/supply
  *
  */
-@API("/kcsapi/api_req_air_corps/supply")
+@API(value = "/kcsapi/api_req_air_corps/supply", sequential = true)
 public class ApiReqAirCorpsSupply implements APIListenerSpi {
 
     @Override
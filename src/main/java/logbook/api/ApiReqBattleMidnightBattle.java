@@ -11,6 +11,7 @@ import logbook.bean.BattleLog;
 import logbook.bean.BattleMidnightBattle;
 import logbook.bean.Ship;
 import logbook.bean.ShipCollection;
+import logbook.internal.ChangeBus;
 import logbook.internal.PhaseState;
 import logbook.proxy.RequestMetaData;
 import logbook.proxy.ResponseMetaData;
@@ -19,7 +20,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_req_battle_midnight/battle
  *
  */
-@API("/kcsapi/api_req_battle_midnight/battle")
+@API(value = "/kcsapi/api_req_battle_midnight/battle", sequential = true)
 public class ApiReqBattleMidnightBattle implements APIListenerSpi {
 
     @Override
@@ -47,6 +48,8 @@ public class ApiReqBattleMidnightBattle implements APIListenerSpi {
                 }
             }
         }
+        ChangeBus.get().publish(AppCondition.class);
+        ChangeBus.get().publish(ShipCollection.class);
     }
 
 }
@@ -13,6 +13,7 @@ import logbook.bean.BattleLog;
 import logbook.bean.CombinedBattleBattle;
 import logbook.bean.Ship;
 import logbook.bean.ShipCollection;
+import logbook.internal.ChangeBus;
 import logbook.internal.PhaseState;
 import logbook.proxy.RequestMetaData;
 import logbook.proxy.ResponseMetaData;
@@ -21,7 +22,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_req_combined_battle/battle
  *
  */
-@API("/kcsapi/api_req_combined_battle/battle")
+@API(value = "/kcsapi/api_req_combined_battle/battle", sequential = true)
 public class ApiReqCombinedBattleBattle implements APIListenerSpi {
 
     @Override
@@ -51,5 +52,7 @@ public class ApiReqCombinedBattleBattle implements APIListenerSpi {
                 }
             }
         }
+        ChangeBus.get().publish(AppCondition.class);
+        ChangeBus.get().publish(ShipCollection.class);
     }
 }
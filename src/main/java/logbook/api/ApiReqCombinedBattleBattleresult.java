@@ -15,6 +15,7 @@ import logbook.bean.BattleTypes.CombinedType;
 import logbook.bean.Ship;
 import logbook.bean.ShipCollection;
 import logbook.internal.BattleLogs;
+import logbook.internal.ChangeBus;
 import logbook.internal.Logs;
 import logbook.internal.PhaseState;
 import logbook.internal.log.BattleResultLogFormat;
@@ -26,7 +27,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_req_combined_battle/battleresult
  *
  */
-@API("/kcsapi/api_req_combined_battle/battleresult")
+@API(value = "/kcsapi/api_req_combined_battle/battleresult", sequential = true)
 public class ApiReqCombinedBattleBattleresult implements APIListenerSpi {
 
     @Override
@@ -72,5 +73,7 @@ public class ApiReqCombinedBattleBattleresult implements APIListenerSpi {
                 }
             }
         }
+        ChangeBus.get().publish(AppCondition.class);
+        ChangeBus.get().publish(ShipCollection.class);
     }
 }
@@ -13,6 +13,7 @@ import logbook.bean.BattleLog;
 import logbook.bean.CombinedBattleEachBattle;
 import logbook.bean.Ship;
 import logbook.bean.ShipCollection;
+import logbook.internal.ChangeBus;
 import logbook.internal.PhaseState;
 import logbook.proxy.RequestMetaData;
 import logbook.proxy.ResponseMetaData;
@@ -22,8 +23,8 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_req_combined_battle/each_battle_water
  *
  */
-@API({ "/kcsapi/api_req_combined_battle/each_battle",
-        "/kcsapi/api_req_combined_battle/each_battle_water" })
+@API(value = { "/kcsapi/api_req_combined_battle/each_battle",
+        "/kcsapi/api_req_combined_battle/each_battle_water" }, sequential = true)
 public class ApiReqCombinedBattleEachBattle implements APIListenerSpi {
 
     @Override
@@ -53,6 +54,8 @@ public class ApiReqCombinedBattleEachBattle implements APIListenerSpi {
                 }
             }
         }
+        ChangeBus.get().publish(AppCondition.class);
+        ChangeBus.get().publish(ShipCollection.class);
     }
 
 }
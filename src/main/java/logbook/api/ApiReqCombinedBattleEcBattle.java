@@ -13,6 +13,7 @@ import logbook.bean.BattleTypes.IFormation;
 import logbook.bean.CombinedBattleEcBattle;
 import logbook.bean.Ship;
 import logbook.bean.ShipCollection;
+import logbook.internal.ChangeBus;
 import logbook.internal.PhaseState;
 import logbook.proxy.RequestMetaData;
 import logbook.proxy.ResponseMetaData;
@@ -21,7 +22,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_req_combined_battle/ec_battle
  *
  */
-@API("/kcsapi/api_req_combined_battle/ec_battle")
+@API(value = "/kcsapi/api_req_combined_battle/ec_battle", sequential = true)
 public class ApiReqCombinedBattleEcBattle implements APIListenerSpi {
 
     @Override
@@ -54,6 +55,8 @@ public class ApiReqCombinedBattleEcBattle implements APIListenerSpi {
                 }
             }
         }
+        ChangeBus.get().publish(AppCondition.class);
+        ChangeBus.get().publish(ShipCollection.class);
     }
 
 }
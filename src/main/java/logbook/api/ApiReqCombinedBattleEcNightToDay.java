@@ -14,6 +14,7 @@ import logbook.bean.BattleTypes.CombinedType;
 import logbook.bean.CombinedBattleEcNightToDay;
 import logbook.bean.Ship;
 import logbook.bean.ShipCollection;
+import logbook.internal.ChangeBus;
 import logbook.internal.PhaseState;
 import logbook.proxy.RequestMetaData;
 import logbook.proxy.ResponseMetaData;
@@ -22,7 +23,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_req_combined_battle/ec_night_to_day
  *
  */
-@API("/kcsapi/api_req_combined_battle/ec_night_to_day")
+@API(value = "/kcsapi/api_req_combined_battle/ec_night_to_day", sequential = true)
 public class ApiReqCombinedBattleEcNightToDay implements APIListenerSpi {
 
     @Override
@@ -56,6 +57,8 @@ public class ApiReqCombinedBattleEcNightToDay implements APIListenerSpi {
                 }
             }
         }
+        ChangeBus.get().publish(AppCondition.class);
+        ChangeBus.get().publish(ShipCollection.class);
     }
 
 }
@@ -13,6 +13,7 @@ import logbook.bean.BattleLog;
 import logbook.bean.BattleResult;
 import logbook.bean.BattleResult.Escape;
 import logbook.bean.Ship;
+import logbook.internal.ChangeBus;
 import logbook.proxy.RequestMetaData;
 import logbook.proxy.ResponseMetaData;
 
@@ -21,7 +22,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_req_combined_battle/goback_port
  *
  */
-@API({ "/kcsapi/api_req_sortie/goback_port", "/kcsapi/api_req_combined_battle/goback_port" })
+@API(value = { "/kcsapi/api_req_sortie/goback_port", "/kcsapi/api_req_combined_battle/goback_port" }, sequential = true)
 public class ApiReqCombinedBattleGobackPort implements APIListenerSpi {
 
     @Override
@@ -46,6 +47,7 @@ public class ApiReqCombinedBattleGobackPort implements APIListenerSpi {
                     .map(i -> this.getShipId(log.getDeckMap(), i))
                     .ifPresent(escapeSet::add);
         }
+        ChangeBus.get().publish(AppCondition.class);
     }
 
     /**
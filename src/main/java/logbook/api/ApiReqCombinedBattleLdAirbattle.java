@@ -13,6 +13,7 @@ import logbook.bean.BattleLog;
 import logbook.bean.CombinedBattleLdAirbattle;
 import logbook.bean.Ship;
 import logbook.bean.ShipCollection;
+import logbook.internal.ChangeBus;
 import logbook.internal.PhaseState;
 import logbook.proxy.RequestMetaData;
 import logbook.proxy.ResponseMetaData;
@@ -21,7 +22,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_req_combined_battle/ld_airbattle
  *
  */
-@API("/kcsapi/api_req_combined_battle/ld_airbattle")
+@API(value = "/kcsapi/api_req_combined_battle/ld_airbattle", sequential = true)
 public class ApiReqCombinedBattleLdAirbattle implements APIListenerSpi {
 
     @Override
@@ -51,6 +52,8 @@ public class ApiReqCombinedBattleLdAirbattle implements APIListenerSpi {
                 }
             }
         }
+        ChangeBus.get().publish(AppCondition.class);
+        ChangeBus.get().publish(ShipCollection.class);
     }
 
 }
@@ -13,6 +13,7 @@ import logbook.bean.BattleLog;
 import logbook.bean.CombinedBattleMidnightBattle;
 import logbook.bean.Ship;
 import logbook.bean.ShipCollection;
+import logbook.internal.ChangeBus;
 import logbook.internal.PhaseState;
 import logbook.proxy.RequestMetaData;
 import logbook.proxy.ResponseMetaData;
@@ -21,7 +22,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_req_combined_battle/midnight_battle
  *
  */
-@API("/kcsapi/api_req_combined_battle/midnight_battle")
+@API(value = "/kcsapi/api_req_combined_battle/midnight_battle", sequential = true)
 public class ApiReqCombinedBattleMidnightBattle implements APIListenerSpi {
 
     @Override
@@ -50,6 +51,8 @@ public class ApiReqCombinedBattleMidnightBattle implements APIListenerSpi {
                 }
             }
         }
+        ChangeBus.get().publish(AppCondition.class);
+        ChangeBus.get().publish(ShipCollection.class);
     }
 
 }
@@ -15,6 +15,7 @@ import logbook.bean.DeckPortCollection;
 import logbook.bean.Ship;
 import logbook.bean.ShipCollection;
 import logbook.bean.Stype;
+import logbook.internal.ChangeBus;
 import logbook.internal.Ships;
 import logbook.proxy.RequestMetaData;
 import logbook.proxy.ResponseMetaData;
@@ -23,7 +24,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_req_hensei/change
  *
  */
-@API("/kcsapi/api_req_hensei/change")
+@API(value = "/kcsapi/api_req_hensei/change", sequential = true)
 public class ApiReqHenseiChange implements APIListenerSpi {
 
     @Override
@@ -32,13 +33,48 @@ public class ApiReqHenseiChange implements APIListenerSpi {
         // 変化した艦隊
         Set<Integer> changed = new HashSet<>();
 
-        Map<Integer, DeckPort> deckMap = DeckPortCollection.get()
-                .getDeckPortMap();
-
         Integer portId = Integer.valueOf(req.getParameter("api_id"));
         Integer shipId = Integer.valueOf(req.getParameter("api_ship_id"));
         int shipIdx = Integer.parseInt(req.getParameter("api_ship_idx"));
 
+        DeckPortCollection.get()
+                .update(deckMap -> this.change(deckMap, portId, shipId, shipIdx, changed));
+
+        Map<Integer, DeckPort> deckMap = DeckPortCollection.get()
+                .getDeckPortMap();
+
+        // 随伴艦一括解除以外の場合に、変化した艦隊の旗艦に工作艦が存在する場合は泊地修理タイマーをセットする
+        if (shipId != -2) {
+            for (Integer port : changed) {
+                List<Integer> changedShips = deckMap.get(port).getShip();
+                if (changedShips.size() > 0) {
+                    Integer shipid = changedShips.get(0);
+                    Ship ship = ShipCollection.get().getShipMap().get(shipid);
+                    if (ship != null) {
+                        String type = Ships.stype(ship).map(Stype::getName).orElse("");
+                        if ("工作艦".equals(type)) {
+                            AppCondition.get().setAkashiTimer(System.currentTimeMillis());
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+        ChangeBus.get().publish(DeckPortCollection.class);
+        ChangeBus.get().publish(AppCondition.class);
+    }
+
+    /**
+     * 艦隊の編成を変更する
+     *
+     * @param deckMap 艦隊
+     * @param portId 艦隊ID
+     * @param shipId 艦娘ID
+     * @param shipIdx 艦隊内の位置
+     * @param changed 変化した艦隊
+     */
+    private void change(Map<Integer, DeckPort> deckMap, Integer portId, Integer shipId, int shipIdx,
+            Set<Integer> changed) {
         DeckPort deckPort = deckMap.get(portId)
                 .clone();
         List<Integer> ships = new ArrayList<>(deckPort.getShip());
@@ -74,24 +110,5 @@ public class ApiReqHenseiChange implements APIListenerSpi {
             deckMap.get(portId).getShip().set(shipIdx, shipId);
         }
         changed.add(portId);
-
-        // 随伴艦一括解除以外の場合に、変化した艦隊の旗艦に工作艦が存在する場合は泊地修理タイマーをセットする
-        if (shipId != -2) {
-            for (Integer port : changed) {
-                List<Integer> changedShips = deckMap.get(port).getShip();
-                if (changedShips.size() > 0) {
-                    Integer shipid = changedShips.get(0);
-                    Ship ship = ShipCollection.get().getShipMap().get(shipid);
-                    if (ship != null) {
-                        String type = Ships.stype(ship).map(Stype::getName).orElse("");
-                        if ("工作艦".equals(type)) {
-                            AppCondition.get().setAkashiTimer(System.currentTimeMillis());
-                            break;
-                        }
-                    }
-                }
-            }
-        }
     }
-
 }
@@ -4,6 +4,7 @@ import javax.json.JsonObject;
 
 import logbook.bean.DeckPort;
 import logbook.bean.DeckPortCollection;
+import logbook.internal.ChangeBus;
 import logbook.internal.JsonHelper;
 import logbook.proxy.RequestMetaData;
 import logbook.proxy.ResponseMetaData;
@@ -12,7 +13,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_req_hensei/preset_select
  *
  */
-@API("/kcsapi/api_req_hensei/preset_select")
+@API(value = "/kcsapi/api_req_hensei/preset_select", sequential = true)
 public class ApiReqHenseiPresetSelect implements APIListenerSpi {
 
     @Override
@@ -32,6 +33,7 @@ public class ApiReqHenseiPresetSelect implements APIListenerSpi {
                     .getDeckPortMap()
                     .put(deckId, deckPort);
         }
+        ChangeBus.get().publish(DeckPortCollection.class);
     }
 
 }
@@ -1,13 +1,11 @@
 package logbook.api;
 
-import java.util.Map;
-
 import javax.json.JsonObject;
 
 import logbook.bean.Ship;
 import logbook.bean.ShipCollection;
-import logbook.bean.SlotItem;
 import logbook.bean.SlotItemCollection;
+import logbook.internal.ChangeBus;
 import logbook.proxy.RequestMetaData;
 import logbook.proxy.ResponseMetaData;
 
@@ -15,7 +13,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_req_kaisou/powerup
  *
  */
-@API("/kcsapi/api_req_kaisou/powerup")
+@API(value = "/kcsapi/api_req_kaisou/powerup", sequential = true)
 public class ApiReqKaisouPowerup implements APIListenerSpi {
 
     @Override
@@ -29,17 +27,19 @@ public class ApiReqKaisouPowerup implements APIListenerSpi {
                         .getShipMap()
                         .remove(shipId);
                 if (ship != null) {
-                    Map<Integer, SlotItem> itemMap = SlotItemCollection.get()
-                            .getSlotitemMap();
-                    // 持っている装備を廃棄する
-                    for (Integer itemId : ship.getSlot()) {
-                        itemMap.remove(itemId);
-                    }
-                    // 補強増設
-                    itemMap.remove(ship.getSlotEx());
+                    SlotItemCollection.get().update(itemMap -> {
+                        // 持っている装備を廃棄する
+                        for (Integer itemId : ship.getSlot()) {
+                            itemMap.remove(itemId);
+                        }
+                        // 補強増設
+                        itemMap.remove(ship.getSlotEx());
+                    });
                 }
             }
         }
+        ChangeBus.get().publish(ShipCollection.class);
+        ChangeBus.get().publish(SlotItemCollection.class);
     }
 
 }
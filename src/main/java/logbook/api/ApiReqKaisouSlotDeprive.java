@@ -4,6 +4,7 @@ import javax.json.JsonObject;
 
 import logbook.bean.Ship;
 import logbook.bean.ShipCollection;
+import logbook.internal.ChangeBus;
 import logbook.proxy.RequestMetaData;
 import logbook.proxy.ResponseMetaData;
 
@@ -11,7 +12,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_req_kaisou/slot_deprive
  *
  */
-@API("/kcsapi/api_req_kaisou/slot_deprive")
+@API(value = "/kcsapi/api_req_kaisou/slot_deprive", sequential = true)
 public class ApiReqKaisouSlotDeprive implements APIListenerSpi {
 
     @Override
@@ -24,6 +25,7 @@ public class ApiReqKaisouSlotDeprive implements APIListenerSpi {
                 this.replace(shipData.getJsonObject("api_unset_ship"));
             }
         }
+        ChangeBus.get().publish(ShipCollection.class);
     }
 
     private void replace(JsonObject json) {
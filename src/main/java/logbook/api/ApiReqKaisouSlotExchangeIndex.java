@@ -6,6 +6,7 @@ import javax.json.JsonObject;
 
 import logbook.bean.Ship;
 import logbook.bean.ShipCollection;
+import logbook.internal.ChangeBus;
 import logbook.proxy.RequestMetaData;
 import logbook.proxy.ResponseMetaData;
 
@@ -13,7 +14,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_req_kaisou/slot_exchange_index
  *
  */
-@API("/kcsapi/api_req_kaisou/slot_exchange_index")
+@API(value = "/kcsapi/api_req_kaisou/slot_exchange_index", sequential = true)
 public class ApiReqKaisouSlotExchangeIndex implements APIListenerSpi {
 
     @Override
@@ -26,6 +27,7 @@ public class ApiReqKaisouSlotExchangeIndex implements APIListenerSpi {
             Integer shipId = Integer.valueOf(req.getParameter("api_id"));
             shipMap.put(shipId, Ship.toShip(data.getJsonObject("api_ship_data")));
         }
+        ChangeBus.get().publish(ShipCollection.class);
     }
 
 }
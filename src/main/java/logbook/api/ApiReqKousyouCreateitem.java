@@ -7,6 +7,7 @@ import javax.json.JsonObject;
 import logbook.bean.Createitem;
 import logbook.bean.SlotItem;
 import logbook.bean.SlotItemCollection;
+import logbook.internal.ChangeBus;
 import logbook.internal.log.CreateitemLogFormat;
 import logbook.internal.log.LogWriter;
 import logbook.proxy.RequestMetaData;
@@ -16,7 +17,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_req_kousyou/createitem
  *
  */
-@API("/kcsapi/api_req_kousyou/createitem")
+@API(value = "/kcsapi/api_req_kousyou/createitem", sequential = true)
 public class ApiReqKousyouCreateitem implements APIListenerSpi {
 
     @Override
@@ -39,5 +40,6 @@ public class ApiReqKousyouCreateitem implements APIListenerSpi {
             LogWriter.getInstance(CreateitemLogFormat::new)
                     .write(createitem);
         }
+        ChangeBus.get().publish(SlotItemCollection.class);
     }
 }
@@ -11,7 +11,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_req_kousyou/createship
  *
  */
-@API("/kcsapi/api_req_kousyou/createship")
+@API(value = "/kcsapi/api_req_kousyou/createship", sequential = true)
 public class ApiReqKousyouCreateship implements APIListenerSpi {
 
     @Override
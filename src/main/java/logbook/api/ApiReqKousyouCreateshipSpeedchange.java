@@ -9,7 +9,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_req_kousyou/createship_speedchange
  *
  */
-@API("/kcsapi/api_req_kousyou/createship_speedchange")
+@API(value = "/kcsapi/api_req_kousyou/createship_speedchange", sequential = true)
 public class ApiReqKousyouCreateshipSpeedchange implements APIListenerSpi {
 
     @Override
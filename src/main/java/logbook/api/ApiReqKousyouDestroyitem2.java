@@ -1,11 +1,9 @@
 package logbook.api;
 
-import java.util.Map;
-
 import javax.json.JsonObject;
 
-import logbook.bean.SlotItem;
 import logbook.bean.SlotItemCollection;
+import logbook.internal.ChangeBus;
 import logbook.proxy.RequestMetaData;
 import logbook.proxy.ResponseMetaData;
 
@@ -13,21 +11,22 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_req_kousyou/destroyitem2
  *
  */
-@API("/kcsapi/api_req_kousyou/destroyitem2")
+@API(value = "/kcsapi/api_req_kousyou/destroyitem2", sequential = true)
 public class ApiReqKousyouDestroyitem2 implements APIListenerSpi {
 
     @Override
     public void accept(JsonObject json, RequestMetaData req, ResponseMetaData res) {
         String apiSlotitemIds = req.getParameter("api_slotitem_ids");
         if (apiSlotitemIds != null) {
-            Map<Integer, SlotItem> itemMap = SlotItemCollection.get()
-                    .getSlotitemMap();
-            for (String apiSlotitemId : apiSlotitemIds.split(",")) {
-                Integer itemId = Integer.valueOf(apiSlotitemId);
-                // 装備を廃棄する
-                itemMap.remove(itemId);
-            }
+            SlotItemCollection.get().update(itemMap -> {
+                for (String apiSlotitemId : apiSlotitemIds.split(",")) {
+                    Integer itemId = Integer.valueOf(apiSlotitemId);
+                    // 装備を廃棄する
+                    itemMap.remove(itemId);
+                }
+            });
         }
+        ChangeBus.get().publish(SlotItemCollection.class);
     }
 
 }
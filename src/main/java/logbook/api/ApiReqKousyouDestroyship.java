@@ -1,14 +1,13 @@
 package logbook.api;
 
 import java.util.Arrays;
-import java.util.Map;
 
 import javax.json.JsonObject;
 
 import logbook.bean.Ship;
 import logbook.bean.ShipCollection;
-import logbook.bean.SlotItem;
 import logbook.bean.SlotItemCollection;
+import logbook.internal.ChangeBus;
 import logbook.proxy.RequestMetaData;
 import logbook.proxy.ResponseMetaData;
 
@@ -16,7 +15,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_req_kousyou/destroyship
  *
  */
-@API("/kcsapi/api_req_kousyou/destroyship")
+@API(value = "/kcsapi/api_req_kousyou/destroyship", sequential = true)
 public class ApiReqKousyouDestroyship implements APIListenerSpi {
 
     @Override
@@ -30,6 +29,8 @@ public class ApiReqKousyouDestroyship implements APIListenerSpi {
                     .map(Integer::parseInt)
                     .forEach(id -> this.destroyShip(id, slotDest));
         }
+        ChangeBus.get().publish(ShipCollection.class);
+        ChangeBus.get().publish(SlotItemCollection.class);
     }
 
     private void destroyShip(Integer shipId, boolean slotDest) {
@@ -38,14 +39,14 @@ public class ApiReqKousyouDestroyship implements APIListenerSpi {
                 .getShipMap()
                 .remove(shipId);
         if (slotDest && ship != null) {
-            Map<Integer, SlotItem> itemMap = SlotItemCollection.get()
-                    .getSlotitemMap();
-            // 持っている装備を廃棄する
-            for (Integer itemId : ship.getSlot()) {
-                itemMap.remove(itemId);
-            }
-            // 補強増設
-            itemMap.remove(ship.getSlotEx());
+            SlotItemCollection.get().update(itemMap -> {
+                // 持っている装備を廃棄する
+                for (Integer itemId : ship.getSlot()) {
+                    itemMap.remove(itemId);
+                }
+                // 補強増設
+                itemMap.remove(ship.getSlotEx());
+            });
         }
     }
 }
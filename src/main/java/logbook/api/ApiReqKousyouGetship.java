@@ -10,6 +10,7 @@ import logbook.bean.Ship;
 import logbook.bean.ShipCollection;
 import logbook.bean.SlotItem;
 import logbook.bean.SlotItemCollection;
+import logbook.internal.ChangeBus;
 import logbook.proxy.RequestMetaData;
 import logbook.proxy.ResponseMetaData;
 
@@ -17,7 +18,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_req_kousyou/getship
  *
  */
-@API("/kcsapi/api_req_kousyou/getship")
+@API(value = "/kcsapi/api_req_kousyou/getship", sequential = true)
 public class ApiReqKousyouGetship implements APIListenerSpi {
 
     @Override
@@ -27,6 +28,8 @@ public class ApiReqKousyouGetship implements APIListenerSpi {
             this.apiShip(data.getJsonObject("api_ship"));
             this.apiSlotitem(data.getJsonArray("api_slotitem"));
         }
+        ChangeBus.get().publish(ShipCollection.class);
+        ChangeBus.get().publish(SlotItemCollection.class);
     }
 
     /**
@@ -9,7 +9,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_req_kousyou/remodel_slotlist
  *
  */
-@API("/kcsapi/api_req_kousyou/remodel_slotlist")
+@API(value = "/kcsapi/api_req_kousyou/remodel_slotlist", sequential = true)
 public class ApiReqKousyouRemodelSlotlist implements APIListenerSpi {
 
     @Override
@@ -20,6 +20,7 @@ import logbook.bean.MapStartNext;
 import logbook.bean.Ship;
 import logbook.bean.ShipMst;
 import logbook.internal.Audios;
+import logbook.internal.ChangeBus;
 import logbook.internal.LoggerHolder;
 import logbook.internal.Ships;
 import logbook.internal.gui.Tools;
@@ -30,7 +31,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_req_map/next
  *
  */
-@API("/kcsapi/api_req_map/next")
+@API(value = "/kcsapi/api_req_map/next", sequential = true)
 public class ApiReqMapNext implements APIListenerSpi {
 
     @Override
@@ -67,6 +68,7 @@ public class ApiReqMapNext implements APIListenerSpi {
                 }
             }
         }
+        ChangeBus.get().publish(AppCondition.class);
     }
 
     /**
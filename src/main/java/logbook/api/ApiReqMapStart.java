@@ -20,6 +20,7 @@ import logbook.bean.MapStartNext;
 import logbook.bean.Ship;
 import logbook.bean.ShipMst;
 import logbook.internal.Audios;
+import logbook.internal.ChangeBus;
 import logbook.internal.LoggerHolder;
 import logbook.internal.Ships;
 import logbook.internal.gui.Tools;
@@ -30,7 +31,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_req_map/start
  *
  */
-@API("/kcsapi/api_req_map/start")
+@API(value = "/kcsapi/api_req_map/start", sequential = true)
 public class ApiReqMapStart implements APIListenerSpi {
 
     @Override
@@ -68,6 +69,7 @@ public class ApiReqMapStart implements APIListenerSpi {
                 }
             }
         }
+        ChangeBus.get().publish(AppCondition.class);
     }
 
     /**
@@ -1,6 +1,5 @@
 package logbook.api;
 
-import java.util.Map;
 import java.util.Optional;
 
 import javax.json.JsonArray;
@@ -9,6 +8,7 @@ import javax.json.JsonValue;
 
 import logbook.bean.SlotItem;
 import logbook.bean.SlotItemCollection;
+import logbook.internal.ChangeBus;
 import logbook.proxy.RequestMetaData;
 import logbook.proxy.ResponseMetaData;
 
@@ -16,7 +16,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_req_member/itemuse
  *
  */
-@API("/kcsapi/api_req_member/itemuse")
+@API(value = "/kcsapi/api_req_member/itemuse", sequential = true)
 public class ApiReqMemberItemuse implements APIListenerSpi {
 
     @Override
@@ -26,6 +26,7 @@ public class ApiReqMemberItemuse implements APIListenerSpi {
             Optional.ofNullable(data.getJsonArray("api_getitem"))
                     .ifPresent(this::apiGetitem);
         }
+        ChangeBus.get().publish(SlotItemCollection.class);
     }
 
     /**
@@ -35,20 +36,20 @@ public class ApiReqMemberItemuse implements APIListenerSpi {
      */
     private void apiGetitem(JsonArray array) {
         if (array != null) {
-            Map<Integer, SlotItem> map = SlotItemCollection.get()
-                    .getSlotitemMap();
-            for (JsonValue value : array) {
-                if (value != null && !JsonValue.NULL.equals(value)) {
-                    JsonObject obj = (JsonObject) value;
-                    Optional.ofNullable(obj.getJsonObject("api_slotitem"))
-                            .map(SlotItem::toSlotItem)
-                            .ifPresent(item -> {
-                                item.setLevel(0);
-                                item.setLocked(false);
-                                map.put(item.getId(), item);
-                            });
+            SlotItemCollection.get().update(map -> {
+                for (JsonValue value : array) {
+                    if (value != null && !JsonValue.NULL.equals(value)) {
+                        JsonObject obj = (JsonObject) value;
+                        Optional.ofNullable(obj.getJsonObject("api_slotitem"))
+                                .map(SlotItem::toSlotItem)
+                                .ifPresent(item -> {
+                                    item.setLevel(0);
+                                    item.setLocked(false);
+                                    map.put(item.getId(), item);
+                                });
+                    }
                 }
-            }
+            });
         }
     }
 }
@@ -12,7 +12,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_req_mission/result
  *
  */
-@API("/kcsapi/api_req_mission/result")
+@API(value = "/kcsapi/api_req_mission/result", sequential = true)
 public class ApiReqMissionResult implements APIListenerSpi {
 
     @Override
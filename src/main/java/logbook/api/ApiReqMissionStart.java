@@ -29,7 +29,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_req_mission/start
  *
  */
-@API("/kcsapi/api_req_mission/start")
+@API(value = "/kcsapi/api_req_mission/start", sequential = true)
 public class ApiReqMissionStart implements APIListenerSpi {
 
     @Override
@@ -10,6 +10,7 @@ import logbook.bean.Ndock;
 import logbook.bean.NdockCollection;
 import logbook.bean.Ship;
 import logbook.bean.ShipCollection;
+import logbook.internal.ChangeBus;
 import logbook.proxy.RequestMetaData;
 import logbook.proxy.ResponseMetaData;
 
@@ -17,7 +18,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_req_nyukyo/speedchange
  *
  */
-@API("/kcsapi/api_req_nyukyo/speedchange")
+@API(value = "/kcsapi/api_req_nyukyo/speedchange", sequential = true)
 public class ApiReqNyukyoSpeedchange implements APIListenerSpi {
 
     @Override
@@ -52,6 +53,8 @@ public class ApiReqNyukyoSpeedchange implements APIListenerSpi {
                         .map(Map.Entry::getValue)
                         .map(Ndock::getShipId)
                         .collect(Collectors.toCollection(LinkedHashSet::new)));
+        ChangeBus.get().publish(NdockCollection.class);
+        ChangeBus.get().publish(ShipCollection.class);
     }
 
 }
@@ -6,6 +6,7 @@ import javax.json.JsonObject;
 
 import logbook.bean.Ship;
 import logbook.bean.ShipCollection;
+import logbook.internal.ChangeBus;
 import logbook.proxy.RequestMetaData;
 import logbook.proxy.ResponseMetaData;
 
@@ -13,7 +14,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_req_nyukyo/start
  *
  */
-@API("/kcsapi/api_req_nyukyo/start")
+@API(value = "/kcsapi/api_req_nyukyo/start", sequential = true)
 public class ApiReqNyukyoStart implements APIListenerSpi {
 
     @Override
@@ -30,5 +31,6 @@ public class ApiReqNyukyoStart implements APIListenerSpi {
         }
         // 高速修復材未使用時でも入れ替える(艦隊タブを更新するため)
         map.put(shipId, ship);
+        ChangeBus.get().publish(ShipCollection.class);
     }
 }
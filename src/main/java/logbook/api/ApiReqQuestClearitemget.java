@@ -5,6 +5,7 @@ import java.util.Optional;
 import javax.json.JsonObject;
 
 import logbook.bean.AppQuestCollection;
+import logbook.internal.ChangeBus;
 import logbook.proxy.RequestMetaData;
 import logbook.proxy.ResponseMetaData;
 
@@ -12,7 +13,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_req_quest/clearitemget
  *
  */
-@API("/kcsapi/api_req_quest/clearitemget")
+@API(value = "/kcsapi/api_req_quest/clearitemget", sequential = true)
 public class ApiReqQuestClearitemget implements APIListenerSpi {
 
     @Override
@@ -20,6 +21,7 @@ public class ApiReqQuestClearitemget implements APIListenerSpi {
         Optional.ofNullable(req.getParameter("api_quest_id"))
                 .map(Integer::valueOf)
                 .ifPresent(AppQuestCollection.get().getQuest()::remove);
+        ChangeBus.get().publish(AppQuestCollection.class);
     }
 
 }
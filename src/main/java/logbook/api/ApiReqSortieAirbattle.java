@@ -13,6 +13,7 @@ import logbook.bean.BattleTypes.IFormation;
 import logbook.bean.Ship;
 import logbook.bean.ShipCollection;
 import logbook.bean.SortieAirbattle;
+import logbook.internal.ChangeBus;
 import logbook.internal.PhaseState;
 import logbook.proxy.RequestMetaData;
 import logbook.proxy.ResponseMetaData;
@@ -21,7 +22,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_req_sortie/airbattle
  *
  */
-@API("/kcsapi/api_req_sortie/airbattle")
+@API(value = "/kcsapi/api_req_sortie/airbattle", sequential = true)
 public class ApiReqSortieAirbattle implements APIListenerSpi {
 
     @Override
@@ -54,6 +55,8 @@ public class ApiReqSortieAirbattle implements APIListenerSpi {
                 }
             }
         }
+        ChangeBus.get().publish(AppCondition.class);
+        ChangeBus.get().publish(ShipCollection.class);
     }
 
 }
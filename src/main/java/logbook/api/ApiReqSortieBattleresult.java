@@ -14,6 +14,7 @@ import logbook.bean.BattleTypes.IFormation;
 import logbook.bean.Ship;
 import logbook.bean.ShipCollection;
 import logbook.internal.BattleLogs;
+import logbook.internal.ChangeBus;
 import logbook.internal.Logs;
 import logbook.internal.PhaseState;
 import logbook.internal.log.BattleResultLogFormat;
@@ -25,7 +26,7 @@ import logbook.proxy.ResponseMetaData;
  * /kcsapi/api_req_sortie/battleresult
  *
  */
-@API("/kcsapi/api_req_sortie/battleresult")
+@API(value = "/kcsapi/api_req_sortie/battleresult", sequential = true)
 public class ApiReqSortieBattleresult implements APIListenerSpi {
 
     @Override
@@ -70,5 +71,7 @@ public class ApiReqSortieBattleresult implements APIListenerSpi {
                 }
             }
         }
+        ChangeBus.get().publish(AppCondition.class);
+        ChangeBus.get().publish(ShipCollection.class);
     }
 }
@@ -1,10 +1,14 @@
 package logbook.api;
 
+import java.io.IOException;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Map.Entry;
 
-import javax.json.JsonArray;
 import javax.json.JsonObject;
-import javax.json.JsonValue;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 
 import logbook.bean.Maparea;
 import logbook.bean.MapareaCollection;
@@ -23,58 +27,106 @@ import logbook.bean.StypeCollection;
 import logbook.bean.Useitem;
 import logbook.bean.UseitemCollection;
 import logbook.internal.Config;
-import logbook.internal.JsonHelper;
+import logbook.internal.JsonParsers;
+import logbook.internal.ThreadManager;
+import logbook.internal.ThreadManager.Purpose;
 import logbook.proxy.RequestMetaData;
 import logbook.proxy.ResponseMetaData;
 
 /**
  * /kcsapi/api_start2
- *
+ * <p>
+ * マスターデータはレスポンスが大きいため、JSON全体のJsonObjectを構築せずに配列の要素ごとに読み込みます
+ * </p>
  */
-@API("/kcsapi/api_start2/getData")
-public class ApiStart2 implements APIListenerSpi {
+@API(value = "/kcsapi/api_start2/getData", sequential = true)
+public class ApiStart2 implements APIStreamListenerSpi {
 
     @Override
-    public void accept(JsonObject json, RequestMetaData req, ResponseMetaData res) {
-        JsonObject data = json.getJsonObject("api_data");
-        if (data != null) {
-            this.apiMstShip(data.getJsonArray("api_mst_ship"));
-            this.apiMstShipgraph(data.getJsonArray("api_mst_shipgraph"));
-            this.apiMstSlotitemEquiptype(data.getJsonArray("api_mst_slotitem_equiptype"));
-            this.apiMstStype(data.getJsonArray("api_mst_stype"));
-            this.apiMstSlotitem(data.getJsonArray("api_mst_slotitem"));
-            this.apiMstUseitem(data.getJsonArray("api_mst_useitem"));
-            this.apiMstMission(data.getJsonArray("api_mst_mission"));
-            this.apiMstMaparea(data.getJsonArray("api_mst_maparea"));
-            this.apiMstMapinfo(data.getJsonArray("api_mst_mapinfo"));
+    public void accept(JsonSource json, RequestMetaData req, ResponseMetaData res) throws IOException {
+        try (JsonParser parser = json.createParser()) {
+            if (JsonParsers.toApiData(parser)) {
+                Map<Integer, String> graph = null;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.getCurrentName();
+                    parser.nextToken();
+                    switch (name) {
+                    case "api_mst_ship":
+                        this.apiMstShip(parser);
+                        break;
+                    case "api_mst_shipgraph":
+                        graph = this.apiMstShipgraph(parser);
+                        break;
+                    case "api_mst_slotitem_equiptype":
+                        this.apiMstSlotitemEquiptype(parser);
+                        break;
+                    case "api_mst_stype":
+                        this.apiMstStype(parser);
+                        break;
+                    case "api_mst_slotitem":
+                        this.apiMstSlotitem(parser);
+                        break;
+                    case "api_mst_useitem":
+                        this.apiMstUseitem(parser);
+                        break;
+                    case "api_mst_mission":
+                        this.apiMstMission(parser);
+                        break;
+                    case "api_mst_maparea":
+                        this.apiMstMaparea(parser);
+                        break;
+                    case "api_mst_mapinfo":
+                        this.apiMstMapinfo(parser);
+                        break;
+                    default:
+                        parser.skipChildren();
+                        break;
+                    }
+                }
+                // api_mst_shipgraphはapi_mst_shipより前に現れる場合があるため最後に適用する
+                if (graph != null) {
+                    this.applyShipgraph(graph);
+                }
+            }
         }
-        Config.getDefault().store();
+        Config.getDefault().store(ThreadManager.getExecutorService(Purpose.IO));
     }
 
     /**
      * api_data.api_mst_ship
      *
-     * @param array api_mst_ship
+     * @param parser api_mst_ship
      */
-    private void apiMstShip(JsonArray array) {
+    private void apiMstShip(JsonParser parser) throws IOException {
         ShipMstCollection.get()
-                .setShipMap(JsonHelper.toMap(array, ShipMst::getId, ShipMst::toShip));
+                .setShipMap(JsonParsers.toMap(parser, ShipMst::getId, ShipMst::toShip));
     }
 
     /**
      * api_data.api_mst_shipgraph
      *
-     * @param array api_mst_shipgraph
+     * @param parser api_mst_shipgraph
+     * @return 艦娘IDとファイル名
+     */
+    private Map<Integer, String> apiMstShipgraph(JsonParser parser) throws IOException {
+        Map<Integer, String> graph = new HashMap<>();
+        JsonParsers.<Integer, JsonObject> toMap(parser, json -> json.getInt("api_id"), json -> json)
+                .forEach((k, v) -> graph.put(k, v.getString("api_filename")));
+        return graph;
+    }
+
+    /**
+     * api_data.api_mst_shipgraphのファイル名を設定します
+     *
+     * @param graph 艦娘IDとファイル名
      */
-    private void apiMstShipgraph(JsonArray array) {
+    private void applyShipgraph(Map<Integer, String> graph) {
         Map<Integer, ShipMst> map = ShipMstCollection.get()
                 .getShipMap();
-        for (JsonValue val : array) {
-            JsonObject json = (JsonObject) val;
-            Integer key = json.getInt("api_id");
-            ShipMst bean = map.get(key);
+        for (Entry<Integer, String> entry : graph.entrySet()) {
+            ShipMst bean = map.get(entry.getKey());
             if (bean != null) {
-                bean.setGraph(json.getString("api_filename"));
+                bean.setGraph(entry.getValue());
             }
         }
     }
@@ -82,71 +134,71 @@ public class ApiStart2 implements APIListenerSpi {
     /**
      * api_data.api_mst_slotitem_equiptype
      *
-     * @param array api_mst_slotitem_equiptype
+     * @param parser api_mst_slotitem_equiptype
      */
-    private void apiMstSlotitemEquiptype(JsonArray array) {
+    private void apiMstSlotitemEquiptype(JsonParser parser) throws IOException {
         SlotitemEquiptypeCollection.get()
                 .setEquiptypeMap(
-                        JsonHelper.toMap(array, SlotitemEquiptype::getId, SlotitemEquiptype::toSlotitemEquiptype));
+                        JsonParsers.toMap(parser, SlotitemEquiptype::getId, SlotitemEquiptype::toSlotitemEquiptype));
     }
 
     /**
      * api_data.api_mst_stype
      *
-     * @param array api_mst_stype
+     * @param parser api_mst_stype
      */
-    private void apiMstStype(JsonArray array) {
+    private void apiMstStype(JsonParser parser) throws IOException {
         StypeCollection.get()
-                .setStypeMap(JsonHelper.toMap(array, Stype::getId, Stype::toStype));
+                .setStypeMap(JsonParsers.toMap(parser, Stype::getId, Stype::toStype));
     }
 
     /**
      * api_data.api_mst_slotitem
      *
-     * @param array api_mst_slotitem
+     * @param parser api_mst_slotitem
      */
-    private void apiMstSlotitem(JsonArray array) {
+    private void apiMstSlotitem(JsonParser parser) throws IOException {
         SlotitemMstCollection.get()
-                .setSlotitemMap(JsonHelper.toMap(array, SlotitemMst::getId, SlotitemMst::toSlotitem));
+                .setSlotitemMap(JsonParsers.toMap(parser, SlotitemMst::getId, SlotitemMst::toSlotitem));
     }
 
     /**
      * api_data.api_mst_useitem
      *
-     * @param array api_mst_useitem
+     * @param parser api_mst_useitem
      */
-    private void apiMstUseitem(JsonArray array) {
+    private void apiMstUseitem(JsonParser parser) throws IOException {
         UseitemCollection.get()
-                .setUseitemMap(JsonHelper.toMap(array, Useitem::getId, Useitem::toMission));
+                .setUseitemMap(JsonParsers.toMap(parser, Useitem::getId, Useitem::toMission));
     }
 
     /**
      * api_data.api_mst_mission
      *
-     * @param array api_mst_mission
+     * @param parser api_mst_mission
      */
-    private void apiMstMission(JsonArray array) {
+    private void apiMstMission(JsonParser parser) throws IOException {
         MissionCollection.get()
-                .setMissionMap(JsonHelper.toMap(array, Mission::getId, Mission::toMission));
+                .setMissionMap(JsonParsers.toMap(parser, Mission::getId, Mission::toMission));
     }
 
     /**
      * api_data.api_mst_maparea
      *
-     * @param array api_mst_maparea
+     * @param parser api_mst_maparea
      */
-    private void apiMstMaparea(JsonArray array) {
+    private void apiMstMaparea(JsonParser parser) throws IOException {
         MapareaCollection.get()
-                .setMaparea(JsonHelper.toMap(array, Maparea::getId, Maparea::toMaparea));
+                .setMaparea(JsonParsers.toMap(parser, Maparea::getId, Maparea::toMaparea));
     }
 
     /**
      * api_data.api_mst_mapinfo
      *
-     * @param array api_mst_mapinfo
+     * @param parser api_mst_mapinfo
      */
-    private void apiMstMapinfo(JsonArray array) {
+    private void apiMstMapinfo(JsonParser parser) throws IOException {
         MapinfoMstCollection.get()
-                .setMapinfo(JsonHelper.toMap(array, MapinfoMst::getId, MapinfoMst::toMapinfoMst));
+                .setMapinfo(JsonParsers.toMap(parser, MapinfoMst::getId, MapinfoMst::toMapinfoMst));
     }
 }
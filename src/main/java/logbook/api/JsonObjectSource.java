@@ -0,0 +1,33 @@
+package logbook.api;
+
+import java.io.IOException;
+
+import javax.json.JsonObject;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+
+/**
+ * 構築済みの{@link JsonObject}を読み込む{@link JsonSource}
+ *
+ */
+final class JsonObjectSource implements JsonSource {
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private final JsonObject object;
+
+    JsonObjectSource(JsonObject object) {
+        this.object = object;
+    }
+
+    @Override
+    public JsonParser createParser() throws IOException {
+        return FACTORY.createParser(this.object.toString());
+    }
+
+    @Override
+    public JsonObject toJsonObject() {
+        return this.object;
+    }
+}
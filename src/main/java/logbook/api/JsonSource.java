@@ -0,0 +1,48 @@
+package logbook.api;
+
+import java.io.IOException;
+
+import javax.json.JsonObject;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+/**
+ * APIのレスポンスに含まれるJSON
+ * <p>
+ * JSON全体を{@link JsonObject}に変換せずに、Jacksonの{@link JsonParser}で読み込むことができます。
+ * </p>
+ *
+ * @see APIStreamListenerSpi
+ */
+public interface JsonSource {
+
+    /**
+     * JSONを先頭から読み込む新しい{@link JsonParser}を作成します。
+     * 作成したJsonParserは呼び出し元で閉じてください
+     *
+     * @return JsonParser
+     * @throws IOException JsonParserを作成できない場合
+     */
+    JsonParser createParser() throws IOException;
+
+    /**
+     * JSONを{@link JsonObject}として返します。
+     * JsonObjectは最初に呼び出された時に一度だけ構築されます
+     *
+     * @return JsonObject
+     */
+    JsonObject toJsonObject();
+
+    /**
+     * 構築済みの{@link JsonObject}からJsonSourceを作成します
+     *
+     * @param object JsonObject
+     * @return JsonSource、objectがJsonSourceを実装している場合はそのまま返す
+     */
+    static JsonSource of(JsonObject object) {
+        if (object instanceof JsonSource) {
+            return (JsonSource) object;
+        }
+        return new JsonObjectSource(object);
+    }
+}
@@ -8,6 +8,7 @@ import java.util.Map;
 import java.util.Set;
 
 import logbook.internal.Config;
+import logbook.internal.ConfigFormat;
 import logbook.internal.Rank;
 import logbook.internal.ShipImageCacheStrategy;
 import lombok.Data;
@@ -102,6 +103,21 @@ public final class AppConfig implements Serializable {
     /** プロキシポート */
     private int proxyPort = 8080;
 
+    /** アップストリームへの接続数の上限(接続先ごと) */
+    private int upstreamMaxConnections = 32768;
+
+    /** アップストリームへの接続を待つリクエスト数の上限(接続先ごと) */
+    private int upstreamMaxRequestsQueued = 1024;
+
+    /** アップストリームへの接続を閉じるまでの待機時間(ミリ秒) */
+    private long upstreamIdleTimeout = 30000;
+
+    /** アップストリームへの接続のタイムアウト(ミリ秒) */
+    private long upstreamConnectTimeout = 15000;
+
+    /** アップストリームへの接続を再利用する(keep-alive) */
+    private boolean upstreamKeepAlive = true;
+
     /** プラグインを有効にする */
     private boolean usePlugin = true;
 
@@ -123,6 +139,12 @@ public final class AppConfig implements Serializable {
     /** 戦闘ログディレクトリ */
     private String battleLogDir = "./battlelog/"; //$NON-NLS-1$
 
+    /** APIの通信を記録する */
+    private boolean recordApiSession;
+
+    /** APIの通信の記録先ディレクトリ */
+    private String apiSessionDir = "./sessions/"; //$NON-NLS-1$
+
     /** 戦闘ログの保存期限 */
     private int battleLogExpires = 60;
 
@@ -153,6 +175,15 @@ public final class AppConfig implements Serializable {
     /** テーブル列のソート順 */
     private Map<String, Map<String, String>> columnSortOrderMap = new LinkedHashMap<>();
 
+    /** レスポンスをメモリに保持する上限(KB)、超えた場合は一時ファイルに退避する。0の場合退避しない */
+    private int captureSpillThreshold = 4096;
+
+    /** 静的リソースをローカルにキャッシュする */
+    private boolean useAssetCache;
+
+    /** 静的リソースのキャッシュディレクトリ */
+    private String assetCacheDir = "./cache/"; //$NON-NLS-1$
+
     /** キャプチャの保存先 */
     private String captureDir;
 
@@ -174,6 +205,15 @@ public final class AppConfig implements Serializable {
     /** 画像ファイルを再圧縮 */
     private boolean shipImageCompress = false;
 
+    /** 処理時間の統計情報をログに出力する間隔(秒)、0の場合出力しない */
+    private int pipelineMetricsLogInterval = 600;
+
+    /** 変更された設定を書き込む間隔(秒)、0の場合終了時のみ書き込む */
+    private int configFlushInterval = 30;
+
+    /** 設定ファイルの形式 */
+    private ConfigFormat configFormat = ConfigFormat.JSON;
+
     /**
      * アプリケーションのデフォルト設定ディレクトリからアプリケーション設定を取得します、
      * これは次の記述と同等です
@@ -1,9 +1,12 @@
 package logbook.bean;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -19,9 +22,13 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import logbook.bean.BattleTypes.CombinedType;
 import logbook.bean.BattleTypes.IFormation;
 import logbook.bean.BattleTypes.IMidnightBattle;
+import logbook.internal.GameState;
 import logbook.internal.LoggerHolder;
 import logbook.proxy.RequestMetaData;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
 
 /**
  * 戦闘ログ
@@ -53,6 +60,16 @@ public class BattleLog implements Serializable {
     /** 装備スナップショット */
     private Map<Integer, SlotItem> itemMap;
 
+    /** 艦隊・装備スナップショットの作成元(艦隊スナップショットを参照するまで展開しない) */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient GameState state;
+
+    /** 艦隊スナップショットの艦隊ID */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient Integer[] dockIds;
+
     /** 退避艦IDスナップショット */
     private Set<Integer> escape;
 
@@ -68,23 +85,79 @@ public class BattleLog implements Serializable {
      * @param dockIds 艦隊ID
      */
     public static void snapshot(BattleLog log, Integer... dockIds) {
-        Map<Integer, Ship> shipMap = ShipCollection.get()
-                .getShipMap();
-        Map<Integer, SlotItem> itemMap = SlotItemCollection.get()
-                .getSlotitemMap();
+        synchronized (log) {
+            log.state = GameState.capture();
+            log.dockIds = dockIds;
+            log.deckMap = null;
+            log.itemMap = null;
+        }
+        log.setEscape(new HashSet<>(AppCondition.get().getEscape()));
+    }
+
+    /**
+     * 艦隊スナップショットを取得します
+     *
+     * @return 艦隊スナップショット
+     */
+    public Map<Integer, List<Ship>> getDeckMap() {
+        this.expand();
+        return this.deckMap;
+    }
+
+    /**
+     * 艦隊スナップショットを設定します
+     *
+     * @param deckMap 艦隊スナップショット
+     */
+    public synchronized void setDeckMap(Map<Integer, List<Ship>> deckMap) {
+        this.expand();
+        this.deckMap = deckMap;
+    }
+
+    /**
+     * 装備スナップショットを取得します
+     *
+     * @return 装備スナップショット
+     */
+    public Map<Integer, SlotItem> getItemMap() {
+        this.expand();
+        return this.itemMap;
+    }
+
+    /**
+     * 装備スナップショットを設定します
+     *
+     * @param itemMap 装備スナップショット
+     */
+    public synchronized void setItemMap(Map<Integer, SlotItem> itemMap) {
+        this.expand();
+        this.itemMap = itemMap;
+    }
+
+    /**
+     * {@link #snapshot(BattleLog, Integer...)}で取得した状態から艦隊・装備スナップショットを作成します
+     */
+    private synchronized void expand() {
+        GameState state = this.state;
+        if (state == null) {
+            return;
+        }
+        this.state = null;
+
+        Map<Integer, Ship> shipMap = state.getShips();
+        Map<Integer, SlotItem> itemMap = state.getItems();
 
         Map<Integer, List<Ship>> deckMap = new HashMap<>();
         Map<Integer, SlotItem> cloneItem = new HashMap<>();
 
-        for (Integer dockId : dockIds) {
+        for (Integer dockId : this.dockIds) {
             List<Ship> ships = new ArrayList<>();
-            for (Integer shipId : DeckPortCollection.get()
-                    .getDeckPortMap()
+            for (Integer shipId : state.getDecks()
                     .get(dockId)
                     .getShip()) {
                 Ship ship = shipMap.get(shipId);
                 if (ship != null) {
-                    ship = ship.clone();
+                    // スナップショットの艦娘は変更されないため複製しない
                     if (ship.getSlot() != null) {
                         for (Integer itemId : ship.getSlot()) {
                             SlotItem item = itemMap.get(itemId);
@@ -104,9 +177,13 @@ public class BattleLog implements Serializable {
             }
             deckMap.put(dockId, ships);
         }
-        log.setDeckMap(deckMap);
-        log.setItemMap(cloneItem);
-        log.setEscape(AppCondition.get().getEscape());
+        this.deckMap = deckMap;
+        this.itemMap = cloneItem;
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        this.expand();
+        out.defaultWriteObject();
     }
 
     /**
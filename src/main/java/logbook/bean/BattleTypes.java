@@ -8,6 +8,8 @@ import javax.json.JsonObject;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 
 import logbook.internal.JsonHelper;
+import logbook.internal.bind.Bindable;
+import logbook.internal.bind.JsonKey;
 import lombok.Data;
 
 /**
@@ -479,24 +481,30 @@ public class BattleTypes {
     /**
      * 航空戦
      */
+    @Bindable
     @Data
     public static class Kouku implements Serializable {
 
         private static final long serialVersionUID = -4772699490686134759L;
 
         /** api_plane_from */
+        @JsonKey("api_plane_from")
         private List<List<Integer>> planeFrom;
 
         /** api_stage1 */
+        @JsonKey("api_stage1")
         private Stage1 stage1;
 
         /** api_stage2 */
+        @JsonKey("api_stage2")
         private Stage2 stage2;
 
         /** api_stage3 */
+        @JsonKey("api_stage3")
         private Stage3 stage3;
 
         /** api_stage3_combined */
+        @JsonKey("api_stage3_combined")
         private Stage3 stage3Combined;
 
         /**
@@ -506,41 +514,41 @@ public class BattleTypes {
          * @return {@link Kouku}
          */
         public static Kouku toKouku(JsonObject json) {
-            Kouku bean = new Kouku();
-            JsonHelper.bind(json)
-                    .set("api_plane_from", bean::setPlaneFrom, JsonHelper.toList(JsonHelper::toIntegerList))
-                    .set("api_stage1", bean::setStage1, Stage1::toStage1)
-                    .set("api_stage2", bean::setStage2, Stage2::toStage2)
-                    .set("api_stage3", bean::setStage3, Stage3::toStage3)
-                    .set("api_stage3_combined", bean::setStage3Combined, Stage3::toStage3);
-            return bean;
+            return BattleTypes_KoukuBinder.bind(json, new Kouku());
         }
     }
 
     /**
      * 航空戦 Stage1
      */
+    @Bindable
     @Data
     public static class Stage1 implements Serializable {
 
         private static final long serialVersionUID = 4452384504283266181L;
 
         /** api_f_count */
+        @JsonKey("api_f_count")
         private Integer fCount;
 
         /** api_f_lostcount */
+        @JsonKey("api_f_lostcount")
         private Integer fLostcount;
 
         /** api_e_count */
+        @JsonKey("api_e_count")
         private Integer eCount;
 
         /** api_e_lostcount */
+        @JsonKey("api_e_lostcount")
         private Integer eLostcount;
 
         /** api_disp_seiku */
+        @JsonKey("api_disp_seiku")
         private Integer dispSeiku;
 
         /** api_touch_plane */
+        @JsonKey("api_touch_plane")
         private List<Integer> touchPlane;
 
         /**
@@ -550,39 +558,37 @@ public class BattleTypes {
          * @return {@link Stage1}
          */
         public static Stage1 toStage1(JsonObject json) {
-            Stage1 bean = new Stage1();
-            JsonHelper.bind(json)
-                    .setInteger("api_f_count", bean::setFCount)
-                    .setInteger("api_f_lostcount", bean::setFLostcount)
-                    .setInteger("api_e_count", bean::setECount)
-                    .setInteger("api_e_lostcount", bean::setELostcount)
-                    .setInteger("api_disp_seiku", bean::setDispSeiku)
-                    .set("api_touch_plane", bean::setTouchPlane, JsonHelper::toIntegerList);
-            return bean;
+            return BattleTypes_Stage1Binder.bind(json, new Stage1());
         }
     }
 
     /**
      * 航空戦 Stage2
      */
+    @Bindable
     @Data
     public static class Stage2 implements Serializable {
 
         private static final long serialVersionUID = -4886136119036663720L;
 
         /** api_f_count */
+        @JsonKey("api_f_count")
         private Integer fCount;
 
         /** api_f_lostcount */
+        @JsonKey("api_f_lostcount")
         private Integer fLostcount;
 
         /** api_e_count */
+        @JsonKey("api_e_count")
         private Integer eCount;
 
         /** api_e_lostcount */
+        @JsonKey("api_e_lostcount")
         private Integer eLostcount;
 
         /** api_air_fire */
+        @JsonKey("api_air_fire")
         private AirFire airFire;
 
         /**
@@ -592,32 +598,29 @@ public class BattleTypes {
          * @return {@link Stage2}
          */
         public static Stage2 toStage2(JsonObject json) {
-            Stage2 bean = new Stage2();
-            JsonHelper.bind(json)
-                    .setInteger("api_f_count", bean::setFCount)
-                    .setInteger("api_f_lostcount", bean::setFLostcount)
-                    .setInteger("api_e_count", bean::setECount)
-                    .setInteger("api_e_lostcount", bean::setELostcount)
-                    .set("api_air_fire", bean::setAirFire, AirFire::toAirFire);
-            return bean;
+            return BattleTypes_Stage2Binder.bind(json, new Stage2());
         }
     }
 
     /**
      * 航空戦 AirFire
      */
+    @Bindable
     @Data
     public static class AirFire implements Serializable {
 
         private static final long serialVersionUID = 9184007312267069221L;
 
         /** api_idx */
+        @JsonKey("api_idx")
         private Integer idx;
 
         /** api_kind */
+        @JsonKey("api_kind")
         private Integer kind;
 
         /** api_use_items */
+        @JsonKey("api_use_items")
         private List<Integer> useItems;
 
         /**
@@ -627,45 +630,49 @@ public class BattleTypes {
          * @return {@link AirFire}
          */
         public static AirFire toAirFire(JsonObject json) {
-            AirFire bean = new AirFire();
-            JsonHelper.bind(json)
-                    .setInteger("api_idx", bean::setIdx)
-                    .setInteger("api_kind", bean::setKind)
-                    .set("api_use_items", bean::setUseItems, JsonHelper::toIntegerList);
-            return bean;
+            return BattleTypes_AirFireBinder.bind(json, new AirFire());
         }
     }
 
     /**
      * 航空戦 Stage3
      */
+    @Bindable
     @Data
     public static class Stage3 implements Serializable {
 
         private static final long serialVersionUID = -3123663766612134315L;
 
         /** api_frai_flag */
+        @JsonKey("api_frai_flag")
         private List<Integer> fraiFlag;
 
         /** api_erai_flag */
+        @JsonKey("api_erai_flag")
         private List<Integer> eraiFlag;
 
         /** api_fbak_flag */
+        @JsonKey("api_fbak_flag")
         private List<Integer> fbakFlag;
 
         /** api_ebak_flag */
+        @JsonKey("api_ebak_flag")
         private List<Integer> ebakFlag;
 
         /** api_fcl_flag */
+        @JsonKey("api_fcl_flag")
         private List<Integer> fclFlag;
 
         /** api_ecl_flag */
+        @JsonKey("api_ecl_flag")
         private List<Integer> eclFlag;
 
         /** api_fdam */
+        @JsonKey("api_fdam")
         private List<Double> fdam;
 
         /** api_edam */
+        @JsonKey("api_edam")
         private List<Double> edam;
 
         /**
@@ -675,17 +682,7 @@ public class BattleTypes {
          * @return {@link Stage3}
          */
         public static Stage3 toStage3(JsonObject json) {
-            Stage3 bean = new Stage3();
-            JsonHelper.bind(json)
-                    .set("api_frai_flag", bean::setFraiFlag, JsonHelper::toIntegerList)
-                    .set("api_erai_flag", bean::setEraiFlag, JsonHelper::toIntegerList)
-                    .set("api_fbak_flag", bean::setFbakFlag, JsonHelper::toIntegerList)
-                    .set("api_ebak_flag", bean::setEbakFlag, JsonHelper::toIntegerList)
-                    .set("api_fcl_flag", bean::setFclFlag, JsonHelper::toIntegerList)
-                    .set("api_ecl_flag", bean::setEclFlag, JsonHelper::toIntegerList)
-                    .set("api_fdam", bean::setFdam, JsonHelper::toDoubleList)
-                    .set("api_edam", bean::setEdam, JsonHelper::toDoubleList);
-            return bean;
+            return BattleTypes_Stage3Binder.bind(json, new Stage3());
         }
     }
 
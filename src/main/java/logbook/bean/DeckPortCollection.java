@@ -1,12 +1,14 @@
 package logbook.bean;
 
 import java.io.Serializable;
-import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
+import logbook.internal.AtomicIntMap;
 import logbook.internal.Config;
+import logbook.internal.PersistentIntMap;
 import lombok.Data;
 
 /**
@@ -19,11 +21,47 @@ public class DeckPortCollection implements Serializable {
     private static final long serialVersionUID = -1465703933249298173L;
 
     /** 艦隊 */
-    private Map<Integer, DeckPort> deckPortMap = new LinkedHashMap<>();
+    private AtomicIntMap<DeckPort> deckPortMap = new AtomicIntMap<>();
 
     /** 遠征中の艦娘 */
     private Set<Integer> missionShips = new LinkedHashSet<>();
 
+    /**
+     * 艦隊を取得します
+     *
+     * @return 艦隊
+     */
+    public Map<Integer, DeckPort> getDeckPortMap() {
+        return this.deckPortMap;
+    }
+
+    /**
+     * 艦隊を設定します
+     *
+     * @param deckPortMap 艦隊
+     */
+    public void setDeckPortMap(Map<Integer, DeckPort> deckPortMap) {
+        this.deckPortMap = AtomicIntMap.of(deckPortMap);
+    }
+
+    /**
+     * 現在の艦隊を返します。返されたMapは以降の変更の影響を受けません
+     *
+     * @return 現在の艦隊
+     */
+    public PersistentIntMap<DeckPort> snapshot() {
+        return this.deckPortMap.snapshot();
+    }
+
+    /**
+     * 艦隊への複数の変更をまとめて反映します
+     *
+     * @param action 艦隊を変更する処理
+     */
+    public void update(Consumer<? super Map<Integer, DeckPort>> action) {
+        this.deckPortMap.update(action);
+    }
+
     /**
      * アプリケーションのデフォルト設定ディレクトリから<code>DeckPortCollection</code>を取得します、
      * これは次の記述と同等です
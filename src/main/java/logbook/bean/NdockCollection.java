@@ -1,12 +1,12 @@
 package logbook.bean;
 
 import java.io.Serializable;
-import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 
 import logbook.internal.Config;
+import logbook.internal.IntMap;
 import lombok.Data;
 
 /**
@@ -19,11 +19,20 @@ public class NdockCollection implements Serializable {
     private static final long serialVersionUID = 3570762805703032390L;
 
     /** 入渠ドック */
-    private Map<Integer, Ndock> ndockMap = new LinkedHashMap<>();
+    private Map<Integer, Ndock> ndockMap = new IntMap<>();
 
     /** 入渠中の艦娘 */
     private Set<Integer> ndockSet = new LinkedHashSet<>();
 
+    /**
+     * 入渠ドックを設定します
+     *
+     * @param ndockMap 入渠ドック
+     */
+    public void setNdockMap(Map<Integer, Ndock> ndockMap) {
+        this.ndockMap = IntMap.of(ndockMap);
+    }
+
     /**
      * アプリケーションのデフォルト設定ディレクトリから<code>NdockCollection</code>を取得します、
      * これは次の記述と同等です
@@ -3,120 +3,273 @@ package logbook.bean;
 import java.io.Serializable;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import javax.json.JsonObject;
 
-import logbook.internal.JsonHelper;
+import logbook.internal.IntList;
 import logbook.internal.ShipType;
 import logbook.internal.Ships;
 import logbook.internal.SlotItemType;
+import logbook.internal.bind.Bindable;
+import logbook.internal.bind.JsonKey;
 import lombok.Data;
 
 /**
  * 艦娘
  *
  */
+@Bindable
 @Data
 public class Ship implements Chara, Serializable, Cloneable {
 
     private static final long serialVersionUID = 3598977177423429679L;
 
     /** ID */
+    @JsonKey("api_id")
     private Integer id;
 
     /** 図鑑番号 */
+    @JsonKey("api_sortno")
     private Integer sortno;
 
     /** 艦船ID */
+    @JsonKey("api_ship_id")
     private Integer shipId;
 
     /** Lv */
+    @JsonKey("api_lv")
     private Integer lv;
 
     /** 経験値 */
+    @JsonKey("api_exp")
     private List<Integer> exp;
 
     /** HP */
+    @JsonKey("api_nowhp")
     private Integer nowhp;
 
     /** 最大HP */
+    @JsonKey("api_maxhp")
     private Integer maxhp;
 
     /** 速力 */
+    @JsonKey("api_soku")
     private Integer soku;
 
     /** 射程 */
+    @JsonKey("api_leng")
     private Integer leng;
 
     /** 装備 */
+    @JsonKey("api_slot")
     private List<Integer> slot;
 
     /** 機数 */
+    @JsonKey("api_onslot")
     private List<Integer> onslot;
 
     /** 補強増設 */
+    @JsonKey("api_slot_ex")
     private Integer slotEx;
 
     /** 改修 */
+    @JsonKey("api_kyouka")
     private List<Integer> kyouka;
 
     /** レア度 */
+    @JsonKey("api_backs")
     private Integer backs;
 
     /** 燃料 */
+    @JsonKey("api_fuel")
     private Integer fuel;
 
     /** 弾薬 */
+    @JsonKey("api_bull")
     private Integer bull;
 
     /** スロット数 */
+    @JsonKey("api_slotnum")
     private Integer slotnum;
 
     /** 入渠時間 */
+    @JsonKey("api_ndock_time")
     private Integer ndockTime;
 
     /** 入渠消費資材 */
+    @JsonKey("api_ndock_item")
     private List<Integer> ndockItem;
 
     /** api_srate */
+    @JsonKey("api_srate")
     private Integer srate;
 
     /** コンディション */
+    @JsonKey("api_cond")
     private Integer cond;
 
     /** 火力 */
+    @JsonKey("api_karyoku")
     private List<Integer> karyoku;
 
     /** 雷装 */
+    @JsonKey("api_raisou")
     private List<Integer> raisou;
 
     /** 対空 */
+    @JsonKey("api_taiku")
     private List<Integer> taiku;
 
     /** 装甲 */
+    @JsonKey("api_soukou")
     private List<Integer> soukou;
 
     /** 回避 */
+    @JsonKey("api_kaihi")
     private List<Integer> kaihi;
 
     /** 対潜 */
+    @JsonKey("api_taisen")
     private List<Integer> taisen;
 
     /** 索敵 */
+    @JsonKey("api_sakuteki")
     private List<Integer> sakuteki;
 
     /** 運 */
+    @JsonKey("api_lucky")
     private List<Integer> lucky;
 
     /** ロック */
+    @JsonKey("api_locked")
     private Boolean locked;
 
     /** ロック(装備) */
+    @JsonKey("api_locked_equip")
     private Boolean lockedEquip;
 
     /** 出撃海域 */
+    @JsonKey("api_sally_area")
     private Integer sallyArea = 0;
 
+    /**
+     * 経験値を設定します
+     *
+     * @param exp 経験値
+     */
+    public void setExp(List<Integer> exp) {
+        this.exp = IntList.of(exp);
+    }
+
+    /**
+     * 装備を設定します
+     *
+     * @param slot 装備
+     */
+    public void setSlot(List<Integer> slot) {
+        this.slot = IntList.of(slot);
+    }
+
+    /**
+     * 機数を設定します
+     *
+     * @param onslot 機数
+     */
+    public void setOnslot(List<Integer> onslot) {
+        this.onslot = IntList.of(onslot);
+    }
+
+    /**
+     * 改修を設定します
+     *
+     * @param kyouka 改修
+     */
+    public void setKyouka(List<Integer> kyouka) {
+        this.kyouka = IntList.of(kyouka);
+    }
+
+    /**
+     * 入渠消費資材を設定します
+     *
+     * @param ndockItem 入渠消費資材
+     */
+    public void setNdockItem(List<Integer> ndockItem) {
+        this.ndockItem = IntList.of(ndockItem);
+    }
+
+    /**
+     * 火力を設定します
+     *
+     * @param karyoku 火力
+     */
+    public void setKaryoku(List<Integer> karyoku) {
+        this.karyoku = IntList.of(karyoku);
+    }
+
+    /**
+     * 雷装を設定します
+     *
+     * @param raisou 雷装
+     */
+    public void setRaisou(List<Integer> raisou) {
+        this.raisou = IntList.of(raisou);
+    }
+
+    /**
+     * 対空を設定します
+     *
+     * @param taiku 対空
+     */
+    public void setTaiku(List<Integer> taiku) {
+        this.taiku = IntList.of(taiku);
+    }
+
+    /**
+     * 装甲を設定します
+     *
+     * @param soukou 装甲
+     */
+    public void setSoukou(List<Integer> soukou) {
+        this.soukou = IntList.of(soukou);
+    }
+
+    /**
+     * 回避を設定します
+     *
+     * @param kaihi 回避
+     */
+    public void setKaihi(List<Integer> kaihi) {
+        this.kaihi = IntList.of(kaihi);
+    }
+
+    /**
+     * 対潜を設定します
+     *
+     * @param taisen 対潜
+     */
+    public void setTaisen(List<Integer> taisen) {
+        this.taisen = IntList.of(taisen);
+    }
+
+    /**
+     * 索敵を設定します
+     *
+     * @param sakuteki 索敵
+     */
+    public void setSakuteki(List<Integer> sakuteki) {
+        this.sakuteki = IntList.of(sakuteki);
+    }
+
+    /**
+     * 運を設定します
+     *
+     * @param lucky 運
+     */
+    public void setLucky(List<Integer> lucky) {
+        this.lucky = IntList.of(lucky);
+    }
+
     @Override
     public Ship clone() {
         try {
@@ -176,40 +329,17 @@ public class Ship implements Chara, Serializable, Cloneable {
      * @return {@link Ship}
      */
     public static Ship toShip(JsonObject json) {
-        Ship bean = new Ship();
-        JsonHelper.bind(json)
-                .setInteger("api_id", bean::setId)
-                .setInteger("api_sortno", bean::setSortno)
-                .setInteger("api_ship_id", bean::setShipId)
-                .setInteger("api_lv", bean::setLv)
-                .set("api_exp", bean::setExp, JsonHelper::toIntegerList)
-                .setInteger("api_nowhp", bean::setNowhp)
-                .setInteger("api_maxhp", bean::setMaxhp)
-                .setInteger("api_soku", bean::setSoku)
-                .setInteger("api_leng", bean::setLeng)
-                .set("api_slot", bean::setSlot, JsonHelper::toIntegerList)
-                .set("api_onslot", bean::setOnslot, JsonHelper::toIntegerList)
-                .setInteger("api_slot_ex", bean::setSlotEx)
-                .set("api_kyouka", bean::setKyouka, JsonHelper::toIntegerList)
-                .setInteger("api_backs", bean::setBacks)
-                .setInteger("api_fuel", bean::setFuel)
-                .setInteger("api_bull", bean::setBull)
-                .setInteger("api_slotnum", bean::setSlotnum)
-                .setInteger("api_ndock_time", bean::setNdockTime)
-                .set("api_ndock_item", bean::setNdockItem, JsonHelper::toIntegerList)
-                .setInteger("api_srate", bean::setSrate)
-                .setInteger("api_cond", bean::setCond)
-                .set("api_karyoku", bean::setKaryoku, JsonHelper::toIntegerList)
-                .set("api_raisou", bean::setRaisou, JsonHelper::toIntegerList)
-                .set("api_taiku", bean::setTaiku, JsonHelper::toIntegerList)
-                .set("api_soukou", bean::setSoukou, JsonHelper::toIntegerList)
-                .set("api_kaihi", bean::setKaihi, JsonHelper::toIntegerList)
-                .set("api_taisen", bean::setTaisen, JsonHelper::toIntegerList)
-                .set("api_sakuteki", bean::setSakuteki, JsonHelper::toIntegerList)
-                .set("api_lucky", bean::setLucky, JsonHelper::toIntegerList)
-                .setBoolean("api_locked", bean::setLocked)
-                .setBoolean("api_locked_equip", bean::setLockedEquip)
-                .setInteger("api_sally_area", bean::setSallyArea);
-        return bean;
+        return ShipBinder.bind(json, new Ship());
+    }
+
+    /**
+     * 2つの{@link Ship}を比較して値が異なるフィールド名を返します
+     *
+     * @param before 変更前の{@link Ship}
+     * @param after 変更後の{@link Ship}
+     * @return 値が異なるフィールド名
+     */
+    public static Set<String> diff(Ship before, Ship after) {
+        return ShipBinder.diff(before, after);
     }
 }
@@ -1,10 +1,15 @@
 package logbook.bean;
 
 import java.io.Serializable;
-import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.function.Consumer;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import logbook.internal.AtomicIntMap;
+import logbook.internal.ChangeSet;
 import logbook.internal.Config;
+import logbook.internal.PersistentIntMap;
 import lombok.Data;
 
 /**
@@ -17,7 +22,47 @@ public class ShipCollection implements Serializable {
     private static final long serialVersionUID = -8680643608671594758L;
 
     /** 艦娘 */
-    private Map<Integer, Ship> shipMap = new LinkedHashMap<>();
+    private AtomicIntMap<Ship> shipMap = new AtomicIntMap<>();
+
+    /** 最後の母港での艦娘の変更内容(保存しない) */
+    @JsonIgnore
+    private transient volatile ChangeSet<Integer> changes;
+
+    /**
+     * 艦娘を設定します
+     *
+     * @param shipMap 艦娘
+     */
+    public void setShipMap(Map<Integer, Ship> shipMap) {
+        this.shipMap = AtomicIntMap.of(shipMap);
+    }
+
+    /**
+     * 艦娘を取得します
+     *
+     * @return 艦娘
+     */
+    public Map<Integer, Ship> getShipMap() {
+        return this.shipMap;
+    }
+
+    /**
+     * 現在の艦娘を返します。返されたMapは以降の変更の影響を受けません
+     *
+     * @return 現在の艦娘
+     */
+    public PersistentIntMap<Ship> snapshot() {
+        return this.shipMap.snapshot();
+    }
+
+    /**
+     * 艦娘への複数の変更をまとめて反映します
+     *
+     * @param action 艦娘を変更する処理
+     */
+    public void update(Consumer<? super Map<Integer, Ship>> action) {
+        this.shipMap.update(action);
+    }
 
     /**
      * アプリケーションのデフォルト設定ディレクトリから{@link ShipCollection}を取得します、
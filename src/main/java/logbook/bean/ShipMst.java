@@ -7,87 +7,112 @@ import java.util.List;
 
 import javax.json.JsonObject;
 
-import logbook.internal.JsonHelper;
 import logbook.internal.ShipType;
 import logbook.internal.SlotItemType;
+import logbook.internal.bind.Bindable;
+import logbook.internal.bind.JsonKey;
 import lombok.Data;
 
 /**
  * 艦娘の名前と種別を表します
  *
  */
+@Bindable
 @Data
 public class ShipMst implements Serializable {
 
     private static final long serialVersionUID = 4329488719132098164L;
 
     /** id */
+    @JsonKey("api_id")
     private Integer id;
 
     /** 図鑑番号 */
+    @JsonKey("api_sortno")
     private Integer sortno;
 
     /** 名前 */
+    @JsonKey("api_name")
     private String name;
 
     /** ふりがな/flagship */
+    @JsonKey("api_yomi")
     private String yomi;
 
     /** 艦種 */
+    @JsonKey("api_stype")
     private Integer stype;
 
     /** 艦型 */
+    @JsonKey("api_ctype")
     private Integer ctype;
 
     /** 改レベル */
+    @JsonKey("api_afterlv")
     private Integer afterlv;
 
     /** 改装後id */
+    @JsonKey("api_aftershipid")
     private Integer aftershipid;
 
     /** api_taik */
+    @JsonKey("api_taik")
     private List<Integer> taik;
 
     /** api_souk */
+    @JsonKey("api_souk")
     private List<Integer> souk;
 
     /** api_houg */
+    @JsonKey("api_houg")
     private List<Integer> houg;
 
     /** api_raig */
+    @JsonKey("api_raig")
     private List<Integer> raig;
 
     /** api_tyku */
+    @JsonKey("api_tyku")
     private List<Integer> tyku;
 
     /** api_tais */
+    @JsonKey("api_tais")
     private List<Integer> tais;
 
     /** api_luck */
+    @JsonKey("api_luck")
     private List<Integer> luck;
 
     /** api_soku */
+    @JsonKey("api_soku")
     private Integer soku;
 
     /** api_leng */
+    @JsonKey("api_leng")
     private Integer leng;
 
     /** スロット数 */
+    @JsonKey("api_slot_num")
     private Integer slotNum;
 
     /** 搭載機数 */
+    @JsonKey("api_maxeq")
     private List<Integer> maxeq;
 
     /** 改装資材 燃料 */
+    @JsonKey("api_afterfuel")
     private Integer afterfuel;
 
     /** 改装資材 弾 */
+    @JsonKey("api_afterbull")
     private Integer afterbull;
 
     /** 燃料 */
+    @JsonKey("api_fuel_max")
     private Integer fuelMax;
 
     /** 弾 */
+    @JsonKey("api_bull_max")
     private Integer bullMax;
 
     /** shipgraph */
@@ -168,31 +193,6 @@ public class ShipMst implements Serializable {
      * @return {@link ShipMst}
      */
     public static ShipMst toShip(JsonObject json) {
-        ShipMst bean = new ShipMst();
-        JsonHelper.bind(json)
-                .setInteger("api_id", bean::setId)
-                .setInteger("api_sortno", bean::setSortno)
-                .setString("api_name", bean::setName)
-                .setString("api_yomi", bean::setYomi)
-                .setInteger("api_stype", bean::setStype)
-                .setInteger("api_ctype", bean::setCtype)
-                .setInteger("api_afterlv", bean::setAfterlv)
-                .setInteger("api_slot_num", bean::setSlotNum)
-                .set("api_maxeq", bean::setMaxeq, JsonHelper::toIntegerList)
-                .setInteger("api_aftershipid", bean::setAftershipid)
-                .set("api_taik", bean::setTaik, JsonHelper::toIntegerList)
-                .set("api_souk", bean::setSouk, JsonHelper::toIntegerList)
-                .set("api_houg", bean::setHoug, JsonHelper::toIntegerList)
-                .set("api_raig", bean::setRaig, JsonHelper::toIntegerList)
-                .set("api_tyku", bean::setTyku, JsonHelper::toIntegerList)
-                .set("api_tais", bean::setTais, JsonHelper::toIntegerList)
-                .set("api_luck", bean::setLuck, JsonHelper::toIntegerList)
-                .setInteger("api_soku", bean::setSoku)
-                .setInteger("api_leng", bean::setLeng)
-                .setInteger("api_afterfuel", bean::setAfterfuel)
-                .setInteger("api_afterbull", bean::setAfterbull)
-                .setInteger("api_fuel_max", bean::setFuelMax)
-                .setInteger("api_bull_max", bean::setBullMax);
-        return bean;
+        return ShipMstBinder.bind(json, new ShipMst());
     }
 }
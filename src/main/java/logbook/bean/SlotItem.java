@@ -4,31 +4,38 @@ import java.io.Serializable;
 
 import javax.json.JsonObject;
 
-import logbook.internal.JsonHelper;
+import logbook.internal.bind.Bindable;
+import logbook.internal.bind.JsonKey;
 import lombok.Data;
 
 /**
  * 装備
  *
  */
+@Bindable
 @Data
 public class SlotItem implements Serializable {
 
     private static final long serialVersionUID = -5902864924857205128L;
 
     /** api_id */
+    @JsonKey("api_id")
     private Integer id;
 
     /** api_level */
+    @JsonKey("api_level")
     private Integer level;
 
     /** api_alv */
+    @JsonKey("api_alv")
     private Integer alv;
 
     /** api_locked */
+    @JsonKey("api_locked")
     private Boolean locked;
 
     /** api_slotitem_id */
+    @JsonKey("api_slotitem_id")
     private Integer slotitemId;
 
     /**
@@ -38,13 +45,6 @@ public class SlotItem implements Serializable {
      * @return {@link SlotItem}
      */
     public static SlotItem toSlotItem(JsonObject json) {
-        SlotItem bean = new SlotItem();
-        JsonHelper.bind(json)
-                .setInteger("api_id", bean::setId)
-                .setInteger("api_level", bean::setLevel)
-                .setInteger("api_alv", bean::setAlv)
-                .setBoolean("api_locked", bean::setLocked)
-                .setInteger("api_slotitem_id", bean::setSlotitemId);
-        return bean;
+        return SlotItemBinder.bind(json, new SlotItem());
     }
 }
@@ -1,10 +1,12 @@
 package logbook.bean;
 
 import java.io.Serializable;
-import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.function.Consumer;
 
+import logbook.internal.AtomicIntMap;
 import logbook.internal.Config;
+import logbook.internal.PersistentIntMap;
 import lombok.Data;
 
 /**
@@ -17,7 +19,43 @@ public class SlotItemCollection implements Serializable {
     private static final long serialVersionUID = -2530569251712024161L;
 
     /** アイテム */
-    private Map<Integer, SlotItem> slotitemMap = new LinkedHashMap<>();
+    private AtomicIntMap<SlotItem> slotitemMap = new AtomicIntMap<>();
+
+    /**
+     * アイテムを設定します
+     *
+     * @param slotitemMap アイテム
+     */
+    public void setSlotitemMap(Map<Integer, SlotItem> slotitemMap) {
+        this.slotitemMap = AtomicIntMap.of(slotitemMap);
+    }
+
+    /**
+     * アイテムを取得します
+     *
+     * @return アイテム
+     */
+    public Map<Integer, SlotItem> getSlotitemMap() {
+        return this.slotitemMap;
+    }
+
+    /**
+     * 現在のアイテムを返します。返されたMapは以降の変更の影響を受けません
+     *
+     * @return 現在のアイテム
+     */
+    public PersistentIntMap<SlotItem> snapshot() {
+        return this.slotitemMap.snapshot();
+    }
+
+    /**
+     * アイテムへの複数の変更をまとめて反映します
+     *
+     * @param action アイテムを変更する処理
+     */
+    public void update(Consumer<? super Map<Integer, SlotItem>> action) {
+        this.slotitemMap.update(action);
+    }
 
     /**
      * アプリケーションのデフォルト設定ディレクトリから{@link SlotItemCollection}を取得します、
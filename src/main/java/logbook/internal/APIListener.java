@@ -1,6 +1,7 @@
 package logbook.internal;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.AbstractMap.SimpleImmutableEntry;
@@ -10,46 +11,64 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import javax.json.Json;
 import javax.json.JsonObject;
-import javax.json.JsonReader;
 
 import logbook.Messages;
 import logbook.api.API;
 import logbook.api.APIListenerSpi;
+import logbook.api.APIStreamListenerSpi;
+import logbook.api.JsonSource;
+import logbook.bean.AppConfig;
+import logbook.internal.PipelineMetrics.Stage;
+import logbook.internal.ThreadManager.Purpose;
+import logbook.internal.proxy.OrderedContentListener;
+import logbook.internal.proxy.StreamingContentListener;
 import logbook.plugin.PluginServices;
 import logbook.proxy.ContentListenerSpi;
+import logbook.proxy.ContentTarget;
 import logbook.proxy.RequestMetaData;
 import logbook.proxy.ResponseMetaData;
 
 /**
  * APIを受け取りJSONをAPIListenerSpiを実装したサービスプロバイダに送ります
- *
+ * <p>
+ * レスポンスの処理は受信した順に{@link ThreadManager#getDispatcher()}で行われるため、
+ * ゲームの状態を更新するリスナーはAPIのレスポンスを受信した順に呼び出されます。
+ * </p>
  */
-public final class APIListener implements ContentListenerSpi {
+@ContentTarget(prefix = "/kcsapi/")
+public final class APIListener implements ContentListenerSpi, StreamingContentListener, OrderedContentListener {
 
     private final Map<String, List<Pair>> services;
 
     private final List<Pair> all = new ArrayList<>();
 
+    /** JsonObjectを必要とするリスナーが登録されているURI */
+    private final Set<String> treeRequired;
+
     public APIListener() {
         Function<APIListenerSpi, Stream<Pair>> mapper = impl -> {
             API target = impl.getClass().getAnnotation(API.class);
             if (target != null) {
                 return Arrays.stream(target.value())
-                        .map(k -> new Pair(k, impl));
+                        .map(k -> new Pair(k, impl, target.sequential()));
             } else {
-                this.all.add(new Pair(null, impl));
+                this.all.add(new Pair(null, impl, false));
             }
             return Stream.empty();
         };
         this.services = PluginServices.instances(APIListenerSpi.class)
                 .flatMap(mapper)
                 .collect(Collectors.groupingBy(Pair::getKey));
+        this.treeRequired = this.services.entrySet().stream()
+                .filter(e -> e.getValue().stream().anyMatch(p -> !p.isStream()))
+                .map(Entry::getKey)
+                .collect(Collectors.toSet());
     }
 
     @Override
@@ -62,17 +81,26 @@ public final class APIListener implements ContentListenerSpi {
     public void accept(RequestMetaData requestMetaData, ResponseMetaData responseMetaData) {
         try {
             // レスポンスのJSONを復号します
-            InputStream stream = responseMetaData.getResponseBody().get();
+            // acceptから戻った後にキャプチャは解放されるため、APIのリスナーに渡す前にバイト列に読み込みます
+            byte[] body;
+            try (InputStream stream = responseMetaData.getResponseBody().get()) {
+                body = readAll(stream);
+            }
             // レスポンスボディのJSONはsvdata=から始まるので除去します
-            int read;
-            while (((read = stream.read()) != -1) && (read != '=')) {
+            int offset = 0;
+            while (offset < body.length && body[offset] != '=') {
+                offset++;
             }
-
-            try (JsonReader jsonreader = Json.createReader(stream)) {
-                JsonObject json = jsonreader.readObject();
-
-                this.send(requestMetaData, responseMetaData, json);
+            offset++;
+            if (offset > body.length) {
+                offset = 0;
+            }
+            LazyJsonObject json = LazyJsonObject.of(body, offset, body.length - offset);
+            if (this.isTreeRequired(requestMetaData.getRequestURI())) {
+                // 不正なJSONはここで例外とする
+                json.toJsonObject();
             }
+            this.send(requestMetaData, responseMetaData, json);
         } catch (Exception e) {
             LoggerHolder.get().warn(Messages.getString("APIListener.2"), e); //$NON-NLS-1$
             // 例外発生時のレスポンスの内容をログに出力する
@@ -90,13 +118,7 @@ public final class APIListener implements ContentListenerSpi {
                 if (responseMetaData != null) {
                     InputStream in = responseMetaData.getResponseBody().orElse(null);
                     if (in != null) {
-                        ByteArrayOutputStream out = new ByteArrayOutputStream();
-                        byte[] buf = new byte[1024];
-                        int len;
-                        while ((len = in.read(buf)) > 0) {
-                            out.write(buf, 0, len);
-                        }
-                        sb.append(new String(out.toByteArray(), StandardCharsets.UTF_8));
+                        sb.append(new String(readAll(in), StandardCharsets.UTF_8));
                         in.close();
                     }
                 }
@@ -107,32 +129,133 @@ public final class APIListener implements ContentListenerSpi {
         }
     }
 
+    @Override
+    public ContentConsumer begin(RequestMetaData requestMetaData) {
+        // ストリーミングで処理するリスナーのみの場合はJsonObjectを構築しない
+        if (!this.isTreeRequired(requestMetaData.getRequestURI())) {
+            return null;
+        }
+        return new JsonConsumer();
+    }
+
+    /**
+     * URIに対してJsonObjectを構築する必要があるかを返します
+     *
+     * @param uri URI
+     * @return JsonObjectを構築する必要がある場合true
+     */
+    private boolean isTreeRequired(String uri) {
+        return !this.all.isEmpty() || this.treeRequired.contains(uri)
+                || AppConfig.get().isRecordApiSession();
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buf = new byte[1024];
+        int len;
+        while ((len = in.read(buf)) > 0) {
+            out.write(buf, 0, len);
+        }
+        return out.toByteArray();
+    }
+
     void send(RequestMetaData req, ResponseMetaData res, JsonObject json) {
+        ApiSessionRecorder.get().record(req, res, json);
+        this.dispatch(req, res, json);
+    }
+
+    /**
+     * JSONをAPIListenerSpiに送ります
+     *
+     * @param req リクエスト
+     * @param res レスポンス
+     * @param json レスポンスのJSON
+     */
+    void dispatch(RequestMetaData req, ResponseMetaData res, JsonObject object) {
+        LazyJsonObject json = LazyJsonObject.of(object);
         String uri = req.getRequestURI();
         List<Pair> pairs = this.services.getOrDefault(uri, Collections.emptyList());
 
         for (Pair pair : pairs) {
-            Runnable task = () -> this.createTask(pair, json, req, res);
-            ThreadManager.getExecutorService().submit(task);
+            long submitted = System.nanoTime();
+            Runnable task = () -> this.createTask(pair, json, req, res, submitted);
+            if (pair.isSequential()) {
+                // ゲームの状態を更新するリスナーは受け取った順に処理する
+                ThreadManager.getDispatcher().execute(task);
+            } else {
+                ThreadManager.getExecutorService(Purpose.DISPATCH).execute(task);
+            }
         }
-
         for (Pair pair : this.all) {
-            Runnable task = () -> this.createTask(pair, json, req, res);
-            ThreadManager.getExecutorService().submit(task);
+            long submitted = System.nanoTime();
+            Runnable task = () -> this.createTask(pair, json, req, res, submitted);
+            ThreadManager.getExecutorService(Purpose.DISPATCH).execute(task);
         }
     }
 
-    private void createTask(Pair pair, JsonObject json, RequestMetaData req, ResponseMetaData res) {
+    private void createTask(Pair pair, LazyJsonObject json, RequestMetaData req, ResponseMetaData res,
+            long submitted) {
+        String handler = pair.getValue().getClass().getSimpleName();
+        long start = System.nanoTime();
+        PipelineMetrics.get().record(req.getRequestURI(), Stage.QUEUE, handler, start - submitted);
         try {
             if (LoggerHolder.get().isDebugEnabled()) {
                 String className = pair.getValue().getClass().getName();
                 LoggerHolder.get().debug(Messages.getString("APIListener.0"), //$NON-NLS-1$
                         className, req.getRequestURI());
             }
-            pair.getValue().accept(json, req, res);
+            if (pair.isStream()) {
+                ((APIStreamListenerSpi) pair.getValue()).accept((JsonSource) json, req, res);
+            } else {
+                pair.getValue().accept(json, req, res);
+            }
         } catch (Exception e) {
             LoggerHolder.get().warn(Messages.getString("APIListener.1"), e); //$NON-NLS-1$
             LoggerHolder.get().warn(json);
+        } finally {
+            PipelineMetrics.get().record(req.getRequestURI(), Stage.HANDLER, handler, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * レスポンスボディを受信しながらJSONを解析します
+     */
+    private final class JsonConsumer implements ContentConsumer {
+
+        private StreamingJsonReader reader;
+
+        @Override
+        public void onContent(byte[] buffer, int offset, int length) throws Exception {
+            if (this.reader == null) {
+                // レスポンスボディのJSONはsvdata=から始まるので除去します
+                int end = offset + length;
+                int i = offset;
+                while (i < end && buffer[i] != '=') {
+                    i++;
+                }
+                if (i == end) {
+                    return;
+                }
+                this.reader = new StreamingJsonReader();
+                length = end - (i + 1);
+                offset = i + 1;
+            }
+            this.reader.feed(buffer, offset, length);
+        }
+
+        @Override
+        public boolean onComplete(RequestMetaData requestMetaData, ResponseMetaData responseMetaData) {
+            if (this.reader == null) {
+                return false;
+            }
+            JsonObject json;
+            try {
+                json = this.reader.readObject();
+            } catch (Exception e) {
+                return false;
+            }
+            APIListener.this.send(requestMetaData, responseMetaData, json);
+            return true;
         }
     }
 
@@ -141,8 +264,22 @@ public final class APIListener implements ContentListenerSpi {
 
         private static final long serialVersionUID = 1L;
 
-        public Pair(String key, APIListenerSpi value) {
+        private final boolean sequential;
+
+        private final boolean stream;
+
+        public Pair(String key, APIListenerSpi value, boolean sequential) {
             super(key, value);
+            this.sequential = sequential;
+            this.stream = value instanceof APIStreamListenerSpi;
+        }
+
+        public boolean isSequential() {
+            return this.sequential;
+        }
+
+        public boolean isStream() {
+            return this.stream;
         }
     }
 }
@@ -0,0 +1,200 @@
+package logbook.internal;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+
+import logbook.bean.AppConfig;
+import logbook.internal.ThreadManager.Purpose;
+import logbook.internal.proxy.ExchangeMetaData;
+import logbook.proxy.RequestMetaData;
+import logbook.proxy.ResponseMetaData;
+
+/**
+ * APIの通信をセッションファイルに記録します
+ * <p>
+ * セッションファイルは1行に1つのAPIをJSONで記録したgzipファイルです。
+ * 各行は time(受信時刻のエポックミリ秒)、seq(受信した順番)、uri、params(リクエストパラメータ)、json(レスポンスのJSON) を持ちます。
+ * 受信時刻と順番はプロキシがレスポンスの受信を完了した時点のものです。
+ * {@link APIListener}はレスポンスを受信した順に処理するため、行は受信した順に記録されます。
+ * ファイルへの書き込みはAPIの処理を遅らせないように{@link ThreadManager.Purpose#IO}のスレッドで記録した順に行い、
+ * 一定間隔と{@link #close()}でフラッシュします。
+ * 記録したファイルは{@link ApiSessionReplayer}で再生できます。
+ * </p>
+ */
+public final class ApiSessionRecorder {
+
+    private static final DateTimeFormatter FILE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    /** 記録しないパラメータ */
+    private static final String TOKEN = "api_token";
+
+    /** フラッシュする間隔(秒) */
+    private static final long FLUSH_INTERVAL = 5;
+
+    private static final ApiSessionRecorder INSTANCE = new ApiSessionRecorder(null);
+
+    /** 記録先のディレクトリ */
+    private final Path dir;
+
+    /** 書き込み待ちの行 */
+    private final Queue<String> pending = new ConcurrentLinkedQueue<>();
+
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private Writer writer;
+
+    private ScheduledFuture<?> flusher;
+
+    private boolean closed;
+
+    /**
+     * 指定されたディレクトリに記録するApiSessionRecorderを作成します
+     *
+     * @param dir 記録先のディレクトリ、nullの場合はアプリケーションの設定のディレクトリ
+     */
+    ApiSessionRecorder(Path dir) {
+        this.dir = dir;
+    }
+
+    /**
+     * APIの通信を記録します。記録が無効な場合は何もしません
+     *
+     * @param req リクエスト
+     * @param res レスポンス
+     * @param json レスポンスのJSON
+     */
+    public void record(RequestMetaData req, ResponseMetaData res, JsonObject json) {
+        if (!AppConfig.get().isRecordApiSession()) {
+            return;
+        }
+        JsonObjectBuilder params = Json.createObjectBuilder();
+        for (Map.Entry<String, List<String>> entry : req.getParameterMap().entrySet()) {
+            if (!TOKEN.equals(entry.getKey())) {
+                JsonArrayBuilder values = Json.createArrayBuilder();
+                entry.getValue().forEach(values::add);
+                params.add(entry.getKey(), values);
+            }
+        }
+        JsonObjectBuilder line = Json.createObjectBuilder();
+        if (res instanceof ExchangeMetaData) {
+            line.add("time", ((ExchangeMetaData) res).getReceivedTime())
+                    .add("seq", ((ExchangeMetaData) res).getSequence());
+        } else {
+            line.add("time", System.currentTimeMillis());
+        }
+        line.add("uri", req.getRequestURI())
+                .add("params", params)
+                .add("json", json);
+        this.write(line.build().toString());
+    }
+
+    /**
+     * 書き込み待ちの行を書き込んでからセッションファイルを閉じます
+     */
+    public synchronized void close() {
+        this.writePending();
+        this.shutdown();
+    }
+
+    private synchronized void shutdown() {
+        this.closed = true;
+        this.pending.clear();
+        if (this.flusher != null) {
+            this.flusher.cancel(false);
+            this.flusher = null;
+        }
+        if (this.writer != null) {
+            try {
+                this.writer.close();
+            } catch (IOException e) {
+                LoggerHolder.get().warn("APIの記録の終了処理中に例外", e);
+            }
+            this.writer = null;
+        }
+    }
+
+    private void write(String line) {
+        this.pending.add(line);
+        if (this.scheduled.compareAndSet(false, true)) {
+            ThreadManager.getExecutorService(Purpose.IO).execute(() -> {
+                this.scheduled.set(false);
+                this.writePending();
+            });
+        }
+    }
+
+    private synchronized void writePending() {
+        if (this.closed) {
+            this.pending.clear();
+            return;
+        }
+        try {
+            String line;
+            while ((line = this.pending.poll()) != null) {
+                if (this.writer == null) {
+                    this.writer = this.open();
+                    // 異常終了しても記録済みの行を読めるように一定間隔でフラッシュする
+                    this.flusher = ThreadManager.getExecutorService()
+                            .scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL, FLUSH_INTERVAL, TimeUnit.SECONDS);
+                }
+                this.writer.write(line);
+                this.writer.write('\n');
+            }
+        } catch (IOException e) {
+            LoggerHolder.get().warn("APIの記録中に例外", e);
+            this.shutdown();
+        }
+    }
+
+    private synchronized void flush() {
+        if (this.writer != null) {
+            try {
+                this.writer.flush();
+            } catch (IOException e) {
+                LoggerHolder.get().warn("APIの記録中に例外", e);
+                this.shutdown();
+            }
+        }
+    }
+
+    private Writer open() throws IOException {
+        Path dir = this.dir != null ? this.dir : Paths.get(AppConfig.get().getApiSessionDir());
+        if (!Files.exists(dir)) {
+            Files.createDirectories(dir);
+        }
+        Path path = dir.resolve(LocalDateTime.now().format(FILE_FORMAT) + ".jsonl.gz");
+        OutputStream out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(path)), true);
+        return new OutputStreamWriter(out, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * インスタンスを返します
+     *
+     * @return ApiSessionRecorder
+     */
+    public static ApiSessionRecorder get() {
+        return INSTANCE;
+    }
+}
@@ -0,0 +1,245 @@
+package logbook.internal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+
+import logbook.proxy.RequestMetaData;
+import logbook.proxy.ResponseMetaData;
+
+/**
+ * {@link ApiSessionRecorder}で記録したセッションファイルを{@link APIListener}に送ります
+ * <p>
+ * プロキシやゲームサーバーを介さずにAPIの処理を再現できます。
+ * </p>
+ */
+public final class ApiSessionReplayer {
+
+    private final Target target;
+
+    /**
+     * ApiSessionReplayerを作成します
+     *
+     * @param listener APIを送るAPIListener
+     */
+    public ApiSessionReplayer(APIListener listener) {
+        this(listener::dispatch);
+    }
+
+    /**
+     * 再生したAPIを指定された送り先に送るApiSessionReplayerを作成します
+     *
+     * @param target APIの送り先
+     */
+    ApiSessionReplayer(Target target) {
+        this.target = target;
+    }
+
+    /**
+     * セッションファイルを再生します
+     *
+     * @param path セッションファイル
+     * @param realtime 記録した間隔で再生する場合true、最大速度で再生する場合false
+     * @return 再生したAPIの数
+     * @throws IOException 入出力例外
+     * @throws InterruptedException 再生中に割り込まれた場合
+     */
+    public long replay(Path path, boolean realtime) throws IOException, InterruptedException {
+        long count = 0;
+        long firstTime = -1;
+        long startNanos = System.nanoTime();
+        try (BufferedReader reader = open(path)) {
+            String line;
+            while ((line = readLine(reader)) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                JsonObject entry;
+                try (JsonReader jsonReader = Json.createReader(new StringReader(line))) {
+                    entry = jsonReader.readObject();
+                }
+                if (realtime) {
+                    long time = entry.getJsonNumber("time").longValue();
+                    if (firstTime < 0) {
+                        firstTime = time;
+                    }
+                    long wait = TimeUnit.MILLISECONDS.toNanos(time - firstTime) - (System.nanoTime() - startNanos);
+                    if (wait > 0) {
+                        TimeUnit.NANOSECONDS.sleep(wait);
+                    }
+                }
+                JsonObject json = entry.getJsonObject("json");
+                this.target.dispatch(new ReplayRequest(entry), new ReplayResponse(json), json);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 再生したAPIの処理がすべて終わるまで待機します
+     *
+     * @throws InterruptedException 待機中に割り込まれた場合
+     */
+    public static void awaitIdle() throws InterruptedException {
+        while (ThreadManager.getStatistics().stream()
+                .anyMatch(s -> s.getActiveCount() > 0 || s.getQueueSize() > 0)) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+
+    /**
+     * セッションファイルを最大速度で再生し、処理にかかった時間を出力します
+     *
+     * @param args セッションファイル
+     * @throws Exception 例外
+     */
+    public static void main(String[] args) throws Exception {
+        ApiSessionReplayer replayer = new ApiSessionReplayer(new APIListener());
+        for (String arg : args) {
+            long start = System.nanoTime();
+            long count = replayer.replay(Paths.get(arg), false);
+            awaitIdle();
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            LoggerHolder.get().info(arg + ": " + count + " APIs in " + millis + "ms");
+        }
+    }
+
+    private static BufferedReader open(Path path) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(path));
+        // Check header
+        in.mark(2);
+        int header = (in.read() | (in.read() << 8));
+        in.reset();
+        if (header == GZIPInputStream.GZIP_MAGIC) {
+            in = new GZIPInputStream(in);
+        }
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    private static String readLine(BufferedReader reader) throws IOException {
+        try {
+            return reader.readLine();
+        } catch (EOFException e) {
+            // 記録中のファイルはgzipの終端がない
+            return null;
+        }
+    }
+
+    /**
+     * 再生したAPIの送り先
+     */
+    @FunctionalInterface
+    interface Target {
+
+        /**
+         * 再生したAPIを送ります
+         *
+         * @param req リクエスト
+         * @param res レスポンス
+         * @param json レスポンスのJSON
+         */
+        void dispatch(RequestMetaData req, ResponseMetaData res, JsonObject json);
+    }
+
+    private static final class ReplayRequest implements RequestMetaData {
+
+        private final String uri;
+
+        private final Map<String, List<String>> parameters;
+
+        ReplayRequest(JsonObject entry) {
+            this.uri = entry.getString("uri");
+            Map<String, List<String>> parameters = new LinkedHashMap<>();
+            JsonObject params = entry.getJsonObject("params");
+            if (params != null) {
+                for (Map.Entry<String, JsonValue> param : params.entrySet()) {
+                    List<String> values = new ArrayList<>();
+                    for (JsonValue value : param.getValue().asJsonArray()) {
+                        values.add(((JsonString) value).getString());
+                    }
+                    parameters.put(param.getKey(), Collections.unmodifiableList(values));
+                }
+            }
+            this.parameters = Collections.unmodifiableMap(parameters);
+        }
+
+        @Override
+        public String getContentType() {
+            return "application/x-www-form-urlencoded";
+        }
+
+        @Override
+        public String getMethod() {
+            return "POST";
+        }
+
+        @Override
+        public Map<String, List<String>> getParameterMap() {
+            return this.parameters;
+        }
+
+        @Override
+        public String getQueryString() {
+            return null;
+        }
+
+        @Override
+        public String getRequestURI() {
+            return this.uri;
+        }
+
+        @Override
+        public Optional<InputStream> getRequestBody() {
+            return Optional.empty();
+        }
+    }
+
+    private static final class ReplayResponse implements ResponseMetaData {
+
+        private final JsonObject json;
+
+        ReplayResponse(JsonObject json) {
+            this.json = json;
+        }
+
+        @Override
+        public int getStatus() {
+            return 200;
+        }
+
+        @Override
+        public String getContentType() {
+            return "text/plain";
+        }
+
+        @Override
+        public Optional<InputStream> getResponseBody() {
+            byte[] body = ("svdata=" + this.json).getBytes(StandardCharsets.UTF_8);
+            return Optional.of(new ByteArrayInputStream(body));
+        }
+    }
+}
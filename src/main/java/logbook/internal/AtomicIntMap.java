@@ -0,0 +1,255 @@
+package logbook.internal;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * 内容を{@link PersistentIntMap}で保持する、キーがintの変更可能なMapです。<br>
+ * <br>
+ * 変更のたびに新しい{@link PersistentIntMap}を作成して置き換えます。
+ * 読み取りはロックを取らずにその時点の{@link PersistentIntMap}から行うため、
+ * 別のスレッドが変更していても反復中に内容が変わったり、変更途中の状態が見えることはありません。
+ * {@link #snapshot()}は現在の内容を複製せずに返します。<br>
+ * 複数の変更をまとめて反映する場合は{@link #update(Consumer)}を使用します。
+ * 反復順はキーの昇順です。nullのキーと値は使用できません。
+ *
+ * @param <V> 値の型
+ */
+public final class AtomicIntMap<V> extends AbstractMap<Integer, V> implements Serializable {
+
+    private static final long serialVersionUID = 7351689024931728836L;
+
+    /** 現在の内容 */
+    private volatile PersistentIntMap<V> map;
+
+    /**
+     * 空のMapを作成します
+     */
+    public AtomicIntMap() {
+        this.map = PersistentIntMap.empty();
+    }
+
+    private AtomicIntMap(PersistentIntMap<V> map) {
+        this.map = map;
+    }
+
+    /**
+     * 指定されたMapと同じ内容のMapを返します。<br>
+     * AtomicIntMapの場合は現在の内容を共有します
+     *
+     * @param <V> 値の型
+     * @param map Map
+     * @return AtomicIntMap
+     */
+    public static <V> AtomicIntMap<V> of(Map<Integer, V> map) {
+        if (map instanceof AtomicIntMap) {
+            return new AtomicIntMap<>(((AtomicIntMap<V>) map).snapshot());
+        }
+        return new AtomicIntMap<>(PersistentIntMap.of(map));
+    }
+
+    /**
+     * 現在の内容を返します。返されたMapはこのMapを変更しても変わりません
+     *
+     * @return 現在の内容
+     */
+    public PersistentIntMap<V> snapshot() {
+        return this.map;
+    }
+
+    /**
+     * 複数の変更をまとめて反映します。<br>
+     * actionに渡されたMapへの変更は、actionが終わった時点でまとめてこのMapに反映されます。
+     *
+     * @param action 変更を行う処理
+     */
+    public synchronized void update(Consumer<? super Map<Integer, V>> action) {
+        Builder<V> builder = new Builder<>(this.map);
+        action.accept(builder);
+        this.map = builder.map;
+    }
+
+    /**
+     * 指定されたキーの値をボックス化せずに検索します
+     *
+     * @param key キー
+     * @return 値、キーが存在しない場合null
+     */
+    public V get(int key) {
+        return this.map.get(key);
+    }
+
+    @Override
+    public V get(Object key) {
+        return this.map.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return this.map.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return this.map.size();
+    }
+
+    @Override
+    public synchronized V put(Integer key, V value) {
+        PersistentIntMap<V> current = this.map;
+        V old = current.get(key.intValue());
+        this.map = current.plus(key, value);
+        return old;
+    }
+
+    @Override
+    public synchronized V remove(Object key) {
+        if (!(key instanceof Integer)) {
+            return null;
+        }
+        PersistentIntMap<V> current = this.map;
+        V old = current.get(key);
+        this.map = current.minus((Integer) key);
+        return old;
+    }
+
+    @Override
+    public synchronized void putAll(Map<? extends Integer, ? extends V> m) {
+        @SuppressWarnings("unchecked")
+        Map<Integer, ? extends V> map = (Map<Integer, ? extends V>) m;
+        this.map = this.map.plusAll(map);
+    }
+
+    @Override
+    public synchronized void clear() {
+        this.map = PersistentIntMap.empty();
+    }
+
+    @Override
+    public Set<Map.Entry<Integer, V>> entrySet() {
+        return new AbstractSet<Map.Entry<Integer, V>>() {
+
+            @Override
+            public Iterator<Map.Entry<Integer, V>> iterator() {
+                return new Itr<>(AtomicIntMap.this.map, AtomicIntMap.this);
+            }
+
+            @Override
+            public int size() {
+                return AtomicIntMap.this.size();
+            }
+        };
+    }
+
+    /**
+     * 作成した時点の内容を反復し、削除は元のMapに反映するIterator
+     */
+    private static final class Itr<V> implements Iterator<Map.Entry<Integer, V>> {
+
+        private final Iterator<Map.Entry<Integer, V>> iterator;
+
+        private final Map<Integer, V> owner;
+
+        private Map.Entry<Integer, V> last;
+
+        private Itr(PersistentIntMap<V> map, Map<Integer, V> owner) {
+            this.iterator = map.entrySet().iterator();
+            this.owner = owner;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.iterator.hasNext();
+        }
+
+        @Override
+        public Map.Entry<Integer, V> next() {
+            return this.last = this.iterator.next();
+        }
+
+        @Override
+        public void remove() {
+            if (this.last == null) {
+                throw new IllegalStateException();
+            }
+            this.owner.remove(this.last.getKey());
+            this.last = null;
+        }
+    }
+
+    /**
+     * {@link #update(Consumer)}で変更を受け取るMap
+     */
+    private static final class Builder<V> extends AbstractMap<Integer, V> {
+
+        private PersistentIntMap<V> map;
+
+        private Builder(PersistentIntMap<V> map) {
+            this.map = map;
+        }
+
+        @Override
+        public V get(Object key) {
+            return this.map.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return this.map.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return this.map.size();
+        }
+
+        @Override
+        public V put(Integer key, V value) {
+            V old = this.map.get(key.intValue());
+            this.map = this.map.plus(key, value);
+            return old;
+        }
+
+        @Override
+        public V remove(Object key) {
+            if (!(key instanceof Integer)) {
+                return null;
+            }
+            V old = this.map.get(key);
+            this.map = this.map.minus((Integer) key);
+            return old;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void putAll(Map<? extends Integer, ? extends V> m) {
+            this.map = this.map.plusAll((Map<Integer, ? extends V>) m);
+        }
+
+        @Override
+        public void clear() {
+            this.map = PersistentIntMap.empty();
+        }
+
+        @Override
+        public Set<Map.Entry<Integer, V>> entrySet() {
+            return new AbstractSet<Map.Entry<Integer, V>>() {
+
+                @Override
+                public Iterator<Map.Entry<Integer, V>> iterator() {
+                    return new Itr<>(Builder.this.map, Builder.this);
+                }
+
+                @Override
+                public int size() {
+                    return Builder.this.size();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package logbook.internal;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import logbook.bean.AppCondition;
+import logbook.bean.AppConfig;
+import logbook.bean.AppQuestCollection;
+import logbook.bean.Basic;
+import logbook.bean.DeckPortCollection;
+import logbook.bean.NdockCollection;
+import logbook.bean.ShipCollection;
+import logbook.bean.SlotItemCollection;
+
+/**
+ * ゲームの状態を表すBeanの変更を通知します。<br>
+ * <br>
+ * 対象のBeanは型ごとにバージョンを持ち、変更が通知されるたびにバージョンが増加します。
+ * Beanを変更したAPIのリスナーや画面は{@link #publish(Class)}または{@link #publish(Class, Object)}で変更を通知します。
+ *
+ */
+public final class ChangeBus {
+
+    private static final ChangeBus INSTANCE = new ChangeBus();
+
+    /** 対象のBean */
+    private final Map<Class<?>, Tracked> tracked = new LinkedHashMap<>();
+
+    private final List<Consumer<ChangeEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    private ChangeBus() {
+        this.track(ShipCollection.class);
+        this.track(SlotItemCollection.class);
+        this.track(DeckPortCollection.class);
+        this.track(NdockCollection.class);
+        this.track(AppQuestCollection.class);
+        this.track(Basic.class);
+        this.track(AppCondition.class);
+        this.track(AppConfig.class);
+    }
+
+    /**
+     * インスタンスを取得します
+     *
+     * @return ChangeBus
+     */
+    public static ChangeBus get() {
+        return INSTANCE;
+    }
+
+    /**
+     * 変更を通知する対象のBeanの型を返します
+     *
+     * @return Beanの型
+     */
+    public Set<Class<?>> getTypes() {
+        return this.tracked.keySet();
+    }
+
+    /**
+     * Beanのバージョンを返します
+     *
+     * @param type Beanの型
+     * @return バージョン、対象外の型の場合-1
+     */
+    public long getVersion(Class<?> type) {
+        Tracked t = this.tracked.get(type);
+        if (t == null) {
+            return -1;
+        }
+        synchronized (this) {
+            return t.version;
+        }
+    }
+
+    /**
+     * 変更を受け取るリスナーを登録します。<br>
+     * リスナーは変更したスレッドで呼び出されます
+     *
+     * @param listener リスナー
+     */
+    public void subscribe(Consumer<ChangeEvent> listener) {
+        this.listeners.add(listener);
+    }
+
+    /**
+     * リスナーの登録を解除します
+     *
+     * @param listener リスナー
+     */
+    public void unsubscribe(Consumer<ChangeEvent> listener) {
+        this.listeners.remove(listener);
+    }
+
+    /**
+     * Beanの変更を通知します
+     *
+     * @param type Beanの型
+     */
+    public void publish(Class<?> type) {
+        this.publish(type, null);
+    }
+
+    /**
+     * Beanの変更を通知します
+     *
+     * @param type Beanの型
+     * @param detail 変更の詳細
+     */
+    public void publish(Class<?> type, Object detail) {
+        Tracked t = this.tracked.get(type);
+        if (t == null) {
+            return;
+        }
+        ChangeEvent event;
+        synchronized (this) {
+            event = new ChangeEvent(type, ++t.version, detail);
+        }
+        this.fire(event);
+    }
+
+    private void fire(ChangeEvent event) {
+        for (Consumer<ChangeEvent> listener : this.listeners) {
+            try {
+                listener.accept(event);
+            } catch (Exception e) {
+                LoggerHolder.get().warn("変更の通知中に例外が発生しました", e);
+            }
+        }
+    }
+
+    private void track(Class<?> type) {
+        this.tracked.put(type, new Tracked());
+    }
+
+    private static final class Tracked {
+
+        private long version;
+    }
+}
@@ -0,0 +1,24 @@
+package logbook.internal;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * {@link ChangeBus}が通知する変更
+ *
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public final class ChangeEvent {
+
+    /** 変更されたBeanの型 */
+    private final Class<?> type;
+
+    /** 変更後のバージョン */
+    private final long version;
+
+    /** 変更の詳細({@link ChangeSet}など)、ない場合null */
+    private final Object detail;
+}
@@ -0,0 +1,102 @@
+package logbook.internal;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * コレクションの変更内容(追加・削除・変更されたキーと変更されたフィールド)
+ *
+ * @param <K> キーの型
+ */
+@Getter
+@ToString
+public final class ChangeSet<K> {
+
+    /** 追加されたキー */
+    private final Set<K> added;
+
+    /** 削除されたキー */
+    private final Set<K> removed;
+
+    /** 変更されたキーと変更されたフィールド名 */
+    private final Map<K, Set<String>> changed;
+
+    private ChangeSet(Set<K> added, Set<K> removed, Map<K, Set<String>> changed) {
+        this.added = added;
+        this.removed = removed;
+        this.changed = changed;
+    }
+
+    /**
+     * 変更がないかを返します
+     *
+     * @return 変更がない場合true
+     */
+    public boolean isEmpty() {
+        return this.added.isEmpty() && this.removed.isEmpty() && this.changed.isEmpty();
+    }
+
+    /**
+     * 変更内容をcurrentに適用します。<br>
+     * 削除されたキーを取り除き、追加・変更された値のみをincomingの値で置き換えます。
+     * 変更されていない値はcurrentのインスタンスがそのまま残ります
+     *
+     * @param <V> 値の型
+     * @param current 変更を適用するMap
+     * @param incoming {@link #diff(Map, Map, BiFunction)}に渡した変更後のMap
+     */
+    public <V> void apply(Map<K, V> current, Map<K, V> incoming) {
+        for (K key : this.removed) {
+            current.remove(key);
+        }
+        for (K key : this.changed.keySet()) {
+            current.put(key, incoming.get(key));
+        }
+        for (K key : this.added) {
+            current.put(key, incoming.get(key));
+        }
+    }
+
+    /**
+     * 2つのMapを比較して変更内容を作成します
+     *
+     * @param <K> キーの型
+     * @param <V> 値の型
+     * @param current 変更前のMap
+     * @param incoming 変更後のMap
+     * @param differ 2つの値を比較して値が異なるフィールド名を返す関数
+     * @return 変更内容
+     */
+    public static <K, V> ChangeSet<K> diff(Map<K, V> current, Map<K, V> incoming,
+            BiFunction<V, V, Set<String>> differ) {
+        Set<K> added = new LinkedHashSet<>();
+        Set<K> removed = new LinkedHashSet<>();
+        Map<K, Set<String>> changed = new LinkedHashMap<>();
+        for (Entry<K, V> entry : incoming.entrySet()) {
+            V before = current.get(entry.getKey());
+            if (before == null) {
+                added.add(entry.getKey());
+            } else if (before != entry.getValue()) {
+                Set<String> fields = differ.apply(before, entry.getValue());
+                if (!fields.isEmpty()) {
+                    changed.put(entry.getKey(), fields);
+                }
+            }
+        }
+        for (K key : current.keySet()) {
+            if (!incoming.containsKey(key)) {
+                removed.add(key);
+            }
+        }
+        return new ChangeSet<>(Collections.unmodifiableSet(added), Collections.unmodifiableSet(removed),
+                Collections.unmodifiableMap(changed));
+    }
+}
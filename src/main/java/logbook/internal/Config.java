@@ -1,21 +1,32 @@
 package logbook.internal;
 
-import java.io.Reader;
-import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
-import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import logbook.bean.AppConfig;
+import logbook.internal.PipelineMetrics.Stage;
+
 /**
  * アプリケーションの設定を読み書きします
  *
@@ -26,11 +37,32 @@ public final class Config {
 
     private static final Config DEFAULT = new Config(CONFIG_DIR);
 
+    /** 処理時間を記録する際のURI */
+    private static final String METRICS_URI = "config"; //$NON-NLS-1$
+
     private final Path dir;
 
     private final Map<Class<?>, Object> map = new ConcurrentHashMap<>();
 
-    private final ObjectMapper mapper;
+    /** 型ごとの読み込みのロック */
+    private final Map<Class<?>, Object> locks = new ConcurrentHashMap<>();
+
+    /** 最後に読み込みまたは書き込みをした時点のハッシュコード */
+    private final Map<Class<?>, Integer> fingerprints = new ConcurrentHashMap<>();
+
+    /** 変更が通知されたBean型 */
+    private final Set<Class<?>> dirty = ConcurrentHashMap.newKeySet();
+
+    /** 変更を{@link #markDirty(Class)}で通知するBean型 */
+    private final Set<Class<?>> tracked = ConcurrentHashMap.newKeySet();
+
+    private final Map<ConfigFormat, ObjectMapper> mappers = new EnumMap<>(ConfigFormat.class);
+
+    /** 書き込みに使用する形式 */
+    private volatile ConfigFormat format = ConfigFormat.JSON;
+
+    /** 最後に登録したファイルへの書き込み */
+    private CompletableFuture<Void> writing = CompletableFuture.completedFuture(null);
 
     /**
      * アプリケーション設定の読み書きを指定のディレクトリで行います
@@ -38,11 +70,23 @@ public final class Config {
      * @param dir アプリケーション設定ディレクトリ
      */
     public Config(Path dir) {
-        this.mapper = new ObjectMapper();
-        this.mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        for (ConfigFormat format : ConfigFormat.values()) {
+            this.mappers.put(format, format.newMapper());
+        }
         this.dir = dir;
     }
 
+    /**
+     * 書き込みに使用する形式を設定します。<br>
+     * 読み込みは形式に関わらず存在するファイルから行い、設定と異なる形式から読み込んだ場合は次の{@link #store()}で設定の形式で書き込みます。
+     * {@link AppConfig}は手で編集できるように、また形式の設定を読み込むために常にJSONで読み書きします。
+     *
+     * @param format 書き込みに使用する形式
+     */
+    public void setFormat(ConfigFormat format) {
+        this.format = Objects.requireNonNull(format);
+    }
+
     /**
      * clazzで指定された型からインスタンスを復元します
      *
@@ -56,62 +100,203 @@ public final class Config {
         Objects.requireNonNull(clazz);
         Objects.requireNonNull(def);
 
-        T instance = (T) this.map.computeIfAbsent(clazz, key -> {
-            T v = this.read((Class<T>) key);
-            if (v == null) {
-                v = def.get();
+        T instance = (T) this.map.get(clazz);
+        if (instance != null) {
+            return instance;
+        }
+        // 読み込み中に別の型の取得を待たせないように型ごとにロックする
+        synchronized (this.locks.computeIfAbsent(clazz, key -> new Object())) {
+            instance = (T) this.map.get(clazz);
+            if (instance == null) {
+                long start = System.nanoTime();
+                instance = this.read(clazz);
+                if (instance == null) {
+                    instance = def.get();
+                    // ファイルが存在しない場合は次の書き込みで作成する
+                    this.dirty.add(clazz);
+                } else if (!this.tracked.contains(clazz)) {
+                    Integer fingerprint = fingerprint(instance);
+                    if (fingerprint != null) {
+                        this.fingerprints.put(clazz, fingerprint);
+                    }
+                }
+                this.map.put(clazz, instance);
+                LoggerHolder.get().info("設定を読み込みました {} {}ms", clazz.getSimpleName(), //$NON-NLS-1$
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
             }
-            return v;
-        });
+        }
         return instance;
     }
 
     /**
-     * 読み込まれたすべてのインスタンスをファイルに書き込みます
+     * 指定された処理をexecutorで並列に実行し、それぞれの型のインスタンスを事前に復元します。<br>
+     * 処理は{@link #get(Class, Supplier)}を呼び出すBeanの取得メソッド(例:<code>ShipCollection::get</code>)を指定します。
+     * 復元中に同じ型を取得した場合は復元が終わるまで待機します。
+     *
+     * @param executor 復元を行うExecutor
+     * @param loaders Beanを取得する処理
+     * @return すべての復元が終わった時に完了するCompletableFuture
      */
-    public synchronized void store() {
-        this.map.entrySet()
-                .forEach(this::store);
+    public CompletableFuture<Void> preload(Executor executor, List<Runnable> loaders) {
+        long start = System.nanoTime();
+        return CompletableFuture.allOf(loaders.stream()
+                .map(loader -> CompletableFuture.runAsync(loader, executor))
+                .toArray(CompletableFuture[]::new))
+                .whenComplete((r, e) -> {
+                    if (e != null) {
+                        LoggerHolder.get().warn("設定の事前読み込み中に例外が発生", e); //$NON-NLS-1$
+                    }
+                    LoggerHolder.get().info("設定の事前読み込みが完了しました {}ms", //$NON-NLS-1$
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                });
     }
 
-    private void store(Entry<Class<?>, ?> entry) {
-        this.write(entry.getKey(), entry.getValue());
+    /**
+     * clazzで指定された型の変更を{@link #markDirty(Class)}で通知することを登録します。<br>
+     * 登録された型はハッシュコードによる変更の検出を行わず、通知された場合のみ書き込みます
+     *
+     * @param clazz Bean型 Classオブジェクト
+     */
+    public void track(Class<?> clazz) {
+        this.tracked.add(clazz);
+        this.fingerprints.remove(clazz);
     }
 
-    private <T> T read(Class<T> clazz) {
-        T instance = null;
-        try {
-            tryRead: {
-                Path filepath = this.jsonPath(clazz);
-                // 通常ファイル読み込み
-                if (Files.isReadable(filepath) && (Files.size(filepath) > 0)) {
-                    try (Reader reader = Files.newBufferedReader(filepath)) {
-                        instance = this.mapper.readValue(reader, clazz);
-                        break tryRead;
-                    } catch (Exception e) {
-                        instance = null;
-                        LoggerHolder.get().warn("アプリケーションの設定を読み込み中に例外が発生", e); //$NON-NLS-1$
-                    }
+    /**
+     * clazzで指定された型のインスタンスが変更されたことを通知します。<br>
+     * 通知されたインスタンスは次の{@link #store()}で書き込まれます
+     *
+     * @param clazz Bean型 Classオブジェクト
+     */
+    public void markDirty(Class<?> clazz) {
+        if (this.map.containsKey(clazz)) {
+            this.dirty.add(clazz);
+        }
+    }
+
+    /**
+     * 読み込まれたインスタンスのうち、変更されたインスタンスをファイルに書き込みます。<br>
+     * 変更は{@link #markDirty(Class)}による通知と、前回の読み込みまたは書き込みからのハッシュコードの変化で判定します。
+     * {@link #track(Class)}で登録した型は通知のみで判定します。
+     * hashCodeを実装していない型のインスタンスは常に書き込みます。
+     * 書き込みが完了するまで呼び出したスレッドで待機します。
+     */
+    public void store() {
+        this.store(Runnable::run).join();
+    }
+
+    /**
+     * 読み込まれたインスタンスのうち、変更されたインスタンスをファイルに書き込みます。<br>
+     * インスタンスのシリアライズは呼び出したスレッドで行い、ファイルへの書き込みはexecutorで行います。
+     * 書き込みは呼び出した順に行います。
+     *
+     * @param executor ファイルへの書き込みを行うExecutor
+     * @return 書き込みの完了
+     */
+    public synchronized CompletableFuture<Void> store(Executor executor) {
+        long start = System.nanoTime();
+        List<Serialized> serialized = new ArrayList<>();
+        for (Entry<Class<?>, Object> entry : this.map.entrySet()) {
+            Serialized s = this.serialize(entry.getKey(), entry.getValue());
+            if (s != null) {
+                serialized.add(s);
+            }
+        }
+        if (!serialized.isEmpty()) {
+            // 前回の書き込みが実行されなかった場合も今回の書き込みは行う
+            this.writing = this.writing.handle((r, e) -> (Void) null).thenRunAsync(() -> {
+                for (Serialized s : serialized) {
+                    this.store(s);
+                }
+                PipelineMetrics.get().record(METRICS_URI, Stage.PERSIST, System.nanoTime() - start);
+            }, executor).whenComplete((r, e) -> {
+                if (e != null) {
+                    // 書き込みが実行されなかった場合は次の書き込みで書き込む
+                    LoggerHolder.get().warn("アプリケーションの設定を書き込み中に例外が発生", e); //$NON-NLS-1$
+                    serialized.forEach(s -> this.dirty.add(s.clazz));
                 }
-                // ファイルが読み込めないまたはサイズがゼロの場合バックアップファイルを読み込む
-                filepath = this.backupPath(filepath);
-                if (Files.isReadable(filepath) && (Files.size(filepath) > 0)) {
-                    try (Reader reader = Files.newBufferedReader(filepath)) {
-                        instance = this.mapper.readValue(reader, clazz);
-                        break tryRead;
+            });
+        }
+        return this.writing;
+    }
+
+    private Serialized serialize(Class<?> clazz, Object instance) {
+        boolean marked = this.dirty.remove(clazz);
+        Integer fingerprint = null;
+        if (this.tracked.contains(clazz)) {
+            if (!marked) {
+                return null;
+            }
+        } else {
+            fingerprint = fingerprint(instance);
+            if (!marked && fingerprint != null && fingerprint.equals(this.fingerprints.get(clazz))) {
+                return null;
+            }
+        }
+        try {
+            ConfigFormat format = this.formatOf(clazz);
+            byte[] bytes = this.mappers.get(format).writeValueAsBytes(instance);
+            if (fingerprint != null) {
+                this.fingerprints.put(clazz, fingerprint);
+            }
+            return new Serialized(clazz, format, bytes);
+        } catch (Exception e) {
+            LoggerHolder.get().warn("アプリケーションの設定を書き込み中に例外が発生", e); //$NON-NLS-1$
+            this.dirty.add(clazz);
+            return null;
+        }
+    }
+
+    private void store(Serialized serialized) {
+        long start = System.nanoTime();
+        if (!this.write(serialized.clazz, serialized.format, serialized.bytes)) {
+            this.dirty.add(serialized.clazz);
+        }
+        PipelineMetrics.get().record(METRICS_URI, Stage.PERSIST, serialized.clazz.getSimpleName(),
+                System.nanoTime() - start);
+    }
+
+    private <T> T read(Class<T> clazz) {
+        ConfigFormat current = this.formatOf(clazz);
+        // 設定の形式のファイル、そのバックアップファイル、他の形式のファイル、そのバックアップファイルの順に読み込む
+        List<ConfigFormat> formats = new ArrayList<>();
+        formats.add(current);
+        for (ConfigFormat format : ConfigFormat.values()) {
+            if (format != current) {
+                formats.add(format);
+            }
+        }
+        for (ConfigFormat format : formats) {
+            Path filepath = this.path(clazz, format);
+            for (Path path : Arrays.asList(filepath, this.backupPath(filepath))) {
+                T instance = this.read(clazz, format, path);
+                if (instance != null) {
+                    if (format != current || path != filepath) {
+                        // 設定の形式のファイル以外から読み込んだ場合は次の書き込みで設定の形式のファイルを作成する
+                        this.dirty.add(clazz);
                     }
+                    return instance;
                 }
             }
+        }
+        return null;
+    }
+
+    private <T> T read(Class<T> clazz, ConfigFormat format, Path filepath) {
+        try {
+            // ファイルが読み込めないまたはサイズがゼロの場合は次のファイルを読み込む
+            if (Files.isReadable(filepath) && (Files.size(filepath) > 0)) {
+                return this.mappers.get(format).readValue(Files.readAllBytes(filepath), clazz);
+            }
         } catch (Exception e) {
-            instance = null;
-            LoggerHolder.get().warn("アプリケーションの設定を読み込み中に例外が発生", e); //$NON-NLS-1$
+            LoggerHolder.get().warn("アプリケーションの設定を読み込み中に例外が発生 " + filepath, e); //$NON-NLS-1$
         }
-        return instance;
+        return null;
     }
 
-    private void write(Class<?> clazz, Object instance) {
+    private boolean write(Class<?> clazz, ConfigFormat current, byte[] bytes) {
         try {
-            Path filepath = this.jsonPath(clazz);
+            Path filepath = this.path(clazz, current);
 
             // create parent directory
             if (!Files.exists(filepath)) {
@@ -123,28 +308,92 @@ public final class Config {
                 }
             }
 
-            // write JSON
+            // 一時ファイルに書き込んでからリネームする
+            Path tmp = this.tmpPath(filepath);
+            try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buf = ByteBuffer.wrap(bytes);
+                while (buf.hasRemaining()) {
+                    ch.write(buf);
+                }
+                ch.force(true);
+            }
             if (Files.exists(filepath) && (Files.size(filepath) > 0)) {
                 Path backup = this.backupPath(filepath);
                 // ファイルが存在してかつサイズが0を超える場合、ファイルをバックアップにリネームする
                 Files.move(filepath, backup, StandardCopyOption.REPLACE_EXISTING);
             }
-            try (Writer writer = Files.newBufferedWriter(filepath, StandardOpenOption.CREATE)) {
-                this.mapper.writeValue(writer, instance);
+            try {
+                Files.move(tmp, filepath, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, filepath, StandardCopyOption.REPLACE_EXISTING);
             }
+            // 形式を変更した場合、古い内容を読み込まないように他の形式のファイルを削除する
+            for (ConfigFormat format : ConfigFormat.values()) {
+                if (format != current) {
+                    Path other = this.path(clazz, format);
+                    Files.deleteIfExists(other);
+                    Files.deleteIfExists(this.backupPath(other));
+                }
+            }
+            return true;
         } catch (Exception e) {
-            LoggerHolder.get().warn("アプリケーションの設定を読み込み中に例外が発生", e); //$NON-NLS-1$
+            LoggerHolder.get().warn("アプリケーションの設定を書き込み中に例外が発生", e); //$NON-NLS-1$
+            return false;
         }
     }
 
-    private Path jsonPath(Class<?> clazz) {
-        return this.dir.resolve(clazz.getCanonicalName() + ".json"); //$NON-NLS-1$
+    private ConfigFormat formatOf(Class<?> clazz) {
+        return clazz == AppConfig.class ? ConfigFormat.JSON : this.format;
+    }
+
+    private Path path(Class<?> clazz, ConfigFormat format) {
+        return this.dir.resolve(clazz.getCanonicalName() + format.getExtension());
     }
 
     private Path backupPath(Path filepath) {
         return filepath.resolveSibling(filepath.getFileName() + ".backup"); //$NON-NLS-1$
     }
 
+    private Path tmpPath(Path filepath) {
+        return filepath.resolveSibling(filepath.getFileName() + ".tmp"); //$NON-NLS-1$
+    }
+
+    /**
+     * 変更の検出に使用するハッシュコードを返します
+     *
+     * @param instance インスタンス
+     * @return ハッシュコード、hashCodeを実装していない型または計算できない場合null
+     */
+    private static Integer fingerprint(Object instance) {
+        try {
+            if (instance.getClass().getMethod("hashCode").getDeclaringClass() == Object.class) { //$NON-NLS-1$
+                return null;
+            }
+            return instance.hashCode();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * シリアライズしたインスタンス
+     */
+    private static final class Serialized {
+
+        private final Class<?> clazz;
+
+        private final ConfigFormat format;
+
+        private final byte[] bytes;
+
+        Serialized(Class<?> clazz, ConfigFormat format, byte[] bytes) {
+            this.clazz = clazz;
+            this.format = format;
+            this.bytes = bytes;
+        }
+    }
+
     /**
      * アプリケーションのデフォルト設定ディレクトリから設定を取得します
      *
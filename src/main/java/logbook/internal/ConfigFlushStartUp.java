@@ -0,0 +1,36 @@
+package logbook.internal;
+
+import java.util.concurrent.TimeUnit;
+
+import logbook.bean.AppConfig;
+import logbook.internal.ThreadManager.Purpose;
+import logbook.plugin.lifecycle.StartUp;
+
+/**
+ * 変更された設定を定期的にファイルに書き込みます<br>
+ * {@link ChangeBus}で通知されたBeanを変更ありとし、通知されるBeanはハッシュコードによる変更の検出を行いません。
+ * シリアライズはAPIの処理と同じスレッドで、
+ * ファイルへの書き込みは{@link ThreadManager.Purpose#IO}のスレッドで行います
+ *
+ */
+public class ConfigFlushStartUp implements StartUp {
+
+    @Override
+    public void run() {
+        for (Class<?> type : ChangeBus.get().getTypes()) {
+            // AppConfigは画面から直接変更されるためハッシュコードによる変更の検出を続ける
+            if (type != AppConfig.class) {
+                Config.getDefault().track(type);
+            }
+        }
+        ChangeBus.get().subscribe(event -> Config.getDefault().markDirty(event.getType()));
+
+        int interval = AppConfig.get().getConfigFlushInterval();
+        if (interval > 0) {
+            ThreadManager.getExecutorService()
+                    .scheduleWithFixedDelay(() -> ThreadManager.getDispatcher()
+                            .execute(() -> Config.getDefault().store(ThreadManager.getExecutorService(Purpose.IO))),
+                            interval, interval, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package logbook.internal;
+
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * アプリケーションの設定ファイルの形式
+ *
+ */
+public enum ConfigFormat {
+    /** JSON */
+    JSON(".json", ObjectMapper::new), //$NON-NLS-1$
+    /** Smile(バイナリ形式のJSON) */
+    SMILE(".smile", () -> new ObjectMapper(new SmileFactory())); //$NON-NLS-1$
+
+    private final String extension;
+
+    private final Supplier<ObjectMapper> factory;
+
+    private ConfigFormat(String extension, Supplier<ObjectMapper> factory) {
+        this.extension = extension;
+        this.factory = factory;
+    }
+
+    /**
+     * ファイルの拡張子を返します
+     *
+     * @return 拡張子(例:<code>.json</code>)
+     */
+    public String getExtension() {
+        return this.extension;
+    }
+
+    /**
+     * この形式を読み書きするObjectMapperを作成します
+     *
+     * @return ObjectMapper
+     */
+    public ObjectMapper newMapper() {
+        ObjectMapper mapper = this.factory.get();
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        return mapper;
+    }
+}
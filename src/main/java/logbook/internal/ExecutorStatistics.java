@@ -0,0 +1,36 @@
+package logbook.internal;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * スレッドプールの統計情報
+ *
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public final class ExecutorStatistics {
+
+    /** 名前 */
+    private final String name;
+
+    /** スレッド数 */
+    private final int poolSize;
+
+    /** 実行中のタスク数 */
+    private final int activeCount;
+
+    /** 実行待ちのタスク数 */
+    private final int queueSize;
+
+    /** キューの上限(上限がない場合-1) */
+    private final int queueCapacity;
+
+    /** 完了したタスク数 */
+    private final long completedTaskCount;
+
+    /** キューが一杯で登録したスレッドで実行されたタスク数 */
+    private final long rejectedCount;
+}
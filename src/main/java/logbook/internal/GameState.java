@@ -0,0 +1,43 @@
+package logbook.internal;
+
+import logbook.bean.DeckPort;
+import logbook.bean.DeckPortCollection;
+import logbook.bean.Ship;
+import logbook.bean.ShipCollection;
+import logbook.bean.SlotItem;
+import logbook.bean.SlotItemCollection;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 艦娘、装備、艦隊の変更不可のスナップショットです。<br>
+ * <br>
+ * 各コレクションの内容は{@link PersistentIntMap}で保持されているため、スナップショットの作成は参照を取得するだけで行えます。
+ *
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class GameState {
+
+    /** 艦娘 */
+    private final PersistentIntMap<Ship> ships;
+
+    /** 装備 */
+    private final PersistentIntMap<SlotItem> items;
+
+    /** 艦隊 */
+    private final PersistentIntMap<DeckPort> decks;
+
+    /**
+     * 現在の状態のスナップショットを作成します。<br>
+     * APIの処理の途中で呼び出した場合は途中までの変更を含みます
+     *
+     * @return スナップショット
+     */
+    public static GameState capture() {
+        return new GameState(ShipCollection.get().snapshot(),
+                SlotItemCollection.get().snapshot(),
+                DeckPortCollection.get().snapshot());
+    }
+}
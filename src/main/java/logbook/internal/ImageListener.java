@@ -17,6 +17,7 @@ import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.attribute.FileTime;
 import java.time.Duration;
+import java.util.Optional;
 import java.util.function.BiConsumer;
 
 import javax.imageio.IIOImage;
@@ -32,7 +33,10 @@ import logbook.bean.AppConfig;
 import logbook.bean.ShipMst;
 import logbook.bean.ShipMstCollection;
 import logbook.bean.Spritesmith;
+import logbook.internal.ThreadManager.Purpose;
+import logbook.internal.proxy.PooledContentListener;
 import logbook.proxy.ContentListenerSpi;
+import logbook.proxy.ContentTarget;
 import logbook.proxy.RequestMetaData;
 import logbook.proxy.ResponseMetaData;
 
@@ -40,16 +44,29 @@ import logbook.proxy.ResponseMetaData;
  * 画像ファイルを処理します
  *
  */
-public class ImageListener implements ContentListenerSpi {
+@ContentTarget(prefix = { "/kcs2/resources/ship/", "/kcs2/img/common/" })
+public class ImageListener implements ContentListenerSpi, PooledContentListener {
 
     @Override
     public boolean test(RequestMetaData request) {
         String uri = request.getRequestURI();
-        return uri.startsWith("/kcs2/resources/") || uri.startsWith("/kcs2/img/");
+        return uri.startsWith("/kcs2/resources/ship/") || uri.startsWith("/kcs2/img/common/");
+    }
+
+    /*
+     * 画像の処理はAPIの処理を遅らせないように専用のスレッドプールで行う
+     */
+    @Override
+    public Purpose getPurpose() {
+        return Purpose.IMAGE;
     }
 
     @Override
     public void accept(RequestMetaData request, ResponseMetaData response) {
+        this.process(request, response);
+    }
+
+    private void process(RequestMetaData request, ResponseMetaData response) {
         try {
             String uri = request.getRequestURI();
             // 艦娘画像
@@ -99,14 +116,15 @@ public class ImageListener implements ContentListenerSpi {
         ShipMst shipMst = ShipMstCollection.get()
                 .getShipMap()
                 .get(Integer.parseInt(shipid));
-        if (response.getResponseBody().isPresent()) {
+        Optional<InputStream> body = response.getResponseBody();
+        if (body.isPresent()) {
             // 画像ファイルを再圧縮するオプション
             InputStream is;
             if (AppConfig.get().isShipImageCompress()) {
-                is = this.compressImage(response.getResponseBody().get());
+                is = this.compressImage(body.get());
                 name = name.replace(".png", ".jpg");
             } else {
-                is = response.getResponseBody().get();
+                is = body.get();
             }
             Path path = ShipMst.getResourcePathDir(shipMst)
                     .resolve(name);
@@ -118,8 +136,9 @@ public class ImageListener implements ContentListenerSpi {
         String uri = request.getRequestURI();
         Path dir = Paths.get(AppConfig.get().getResourcesDir(), "common");
         Path path = dir.resolve(Paths.get(URI.create(uri).getPath()).getFileName());
-        if (response.getResponseBody().isPresent()) {
-            this.write(response.getResponseBody().get(), path);
+        Optional<InputStream> body = response.getResponseBody();
+        if (body.isPresent()) {
+            this.write(body.get(), path);
 
             String filename = String.valueOf(path.getFileName());
             // pngファイル
@@ -201,7 +220,9 @@ public class ImageListener implements ContentListenerSpi {
 
     private void write(InputStream from, Path to) throws IOException {
         Path temp = this.tempFile();
-        Files.copy(from, temp, StandardCopyOption.REPLACE_EXISTING);
+        try (InputStream in = from) {
+            Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+        }
         try {
             this.move(temp, to);
         } catch (IOException e) {
@@ -227,7 +248,10 @@ public class ImageListener implements ContentListenerSpi {
      */
     private InputStream compressImage(InputStream in) {
         try {
-            BufferedImage image = ImageIO.read(in);
+            BufferedImage image;
+            try (InputStream is = in) {
+                image = ImageIO.read(is);
+            }
 
             int width = image.getWidth();
             int height = image.getHeight();
@@ -0,0 +1,145 @@
+package logbook.internal;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * int[]で値を保持する変更不可のListです。<br>
+ * <br>
+ * 要素毎のIntegerを持たないため、ArrayList&lt;Integer&gt;より少ないメモリで保持できます。
+ * 変更できないため、複数のオブジェクトで同じインスタンスを共有しても安全です。
+ * nullの要素は保持できません。
+ */
+public final class IntList extends AbstractList<Integer> implements RandomAccess, Serializable {
+
+    private static final long serialVersionUID = 6283640327962513357L;
+
+    /** 空のリスト */
+    private static final IntList EMPTY = new IntList(new int[0]);
+
+    /** 値 */
+    private final int[] values;
+
+    private IntList(int[] values) {
+        this.values = values;
+    }
+
+    /**
+     * 指定された値のリストを返します。
+     *
+     * @param values 値
+     * @return リスト
+     */
+    public static IntList of(int... values) {
+        if (values.length == 0) {
+            return EMPTY;
+        }
+        return new IntList(values.clone());
+    }
+
+    /**
+     * 指定されたリストをIntListに変換します。<br>
+     * nullまたはnullの要素を含む場合は変換せずに引数のリストを返します。
+     *
+     * @param list リスト
+     * @return IntListまたは引数のリスト
+     */
+    public static List<Integer> of(List<Integer> list) {
+        if (list == null || list instanceof IntList) {
+            return list;
+        }
+        int size = list.size();
+        if (size == 0) {
+            return EMPTY;
+        }
+        int[] values = new int[size];
+        int i = 0;
+        for (Integer value : list) {
+            if (value == null) {
+                return list;
+            }
+            values[i++] = value;
+        }
+        return new IntList(values);
+    }
+
+    /**
+     * 指定された位置の値をボックス化せずに返します。
+     *
+     * @param index 位置
+     * @return 値
+     */
+    public int getInt(int index) {
+        return this.values[index];
+    }
+
+    /**
+     * 値の配列のコピーを返します。
+     *
+     * @return 値の配列
+     */
+    public int[] toIntArray() {
+        return this.values.clone();
+    }
+
+    @Override
+    public Integer get(int index) {
+        return this.values[index];
+    }
+
+    @Override
+    public int size() {
+        return this.values.length;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        if (o instanceof Integer) {
+            int value = (Integer) o;
+            for (int i = 0; i < this.values.length; i++) {
+                if (this.values[i] == value) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        if (o instanceof Integer) {
+            int value = (Integer) o;
+            for (int i = this.values.length - 1; i >= 0; i--) {
+                if (this.values[i] == value) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return this.indexOf(o) >= 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof IntList) {
+            return Arrays.equals(this.values, ((IntList) o).values);
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.values);
+    }
+
+    private Object readResolve() {
+        return this.values.length == 0 ? EMPTY : this;
+    }
+}
@@ -0,0 +1,582 @@
+package logbook.internal;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * キーがintの挿入順のMapです。<br>
+ * <br>
+ * キーと値は挿入順に配列で保持し、キーの検索はオープンアドレス法のハッシュ表で行います。
+ * {@link java.util.LinkedHashMap}と異なり、エントリ毎のオブジェクトとIntegerのキーを持ちません。
+ * {@link #get(int)}などのメソッドはキーをボックス化せずに検索できます。<br>
+ * {@link Map}としての振る舞い(反復順、equals、hashCode)は挿入順のLinkedHashMapと同じです。
+ * nullのキーは使用できません。スレッドセーフではありません。
+ *
+ * @param <V> 値の型
+ */
+public final class IntMap<V> extends AbstractMap<Integer, V> implements Serializable {
+
+    private static final long serialVersionUID = -2826307407047771113L;
+
+    /** ハッシュ表の空きを表す値 */
+    private static final int FREE = 0;
+
+    /** ハッシュ表の削除済みを表す値 */
+    private static final int DELETED = -1;
+
+    /** 挿入順のキー */
+    private transient int[] keys;
+
+    /** 挿入順の値 */
+    private transient Object[] values;
+
+    /** 挿入順の位置のエントリが削除済みか */
+    private transient boolean[] removed;
+
+    /** 使用済みの挿入順の位置の数(削除済みを含む) */
+    private transient int end;
+
+    /** エントリの数 */
+    private transient int size;
+
+    /** ハッシュ表(挿入順の位置+1、空きは{@value #FREE}、削除済みは{@value #DELETED}) */
+    private transient int[] table;
+
+    /** ハッシュ表の使用数(削除済みを含む) */
+    private transient int used;
+
+    private transient int modCount;
+
+    private transient Set<Entry<Integer, V>> entrySet;
+
+    /**
+     * 空のIntMapを作成します
+     */
+    public IntMap() {
+        this(8);
+    }
+
+    /**
+     * 指定された数のエントリを格納できる空のIntMapを作成します
+     *
+     * @param expectedSize エントリの数
+     */
+    public IntMap(int expectedSize) {
+        this.init(Math.max(expectedSize, 4));
+    }
+
+    /**
+     * mapと同じエントリを持つIntMapを作成します
+     *
+     * @param map Map
+     */
+    public IntMap(Map<? extends Integer, ? extends V> map) {
+        this(map.size());
+        this.putAll(map);
+    }
+
+    /**
+     * mapをIntMapとして返します
+     *
+     * @param <V> 値の型
+     * @param map Map
+     * @return mapがIntMapの場合はmap、それ以外の場合はmapと同じエントリを持つIntMap
+     */
+    public static <V> IntMap<V> of(Map<Integer, V> map) {
+        if (map instanceof IntMap) {
+            return (IntMap<V>) map;
+        }
+        return map == null ? new IntMap<>() : new IntMap<>(map);
+    }
+
+    private void init(int capacity) {
+        this.keys = new int[capacity];
+        this.values = new Object[capacity];
+        this.removed = new boolean[capacity];
+        this.table = new int[tableSize(capacity)];
+        this.end = 0;
+        this.size = 0;
+        this.used = 0;
+    }
+
+    private static int tableSize(int capacity) {
+        // 負荷率を0.5以下にする
+        int n = Integer.highestOneBit(Math.max(capacity, 2) * 2 - 1) << 1;
+        return Math.max(n, 8);
+    }
+
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * キーの挿入順の位置を返します
+     *
+     * @param key キー
+     * @return 挿入順の位置、存在しない場合-1
+     */
+    private int indexOf(int key) {
+        int[] table = this.table;
+        int mask = table.length - 1;
+        int i = hash(key) & mask;
+        for (;;) {
+            int slot = table[i];
+            if (slot == FREE) {
+                return -1;
+            }
+            if (slot != DELETED && this.keys[slot - 1] == key) {
+                return slot - 1;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    /**
+     * キーに対応する値を返します
+     *
+     * @param key キー
+     * @return 値、存在しない場合null
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int index = this.indexOf(key);
+        return index < 0 ? null : (V) this.values[index];
+    }
+
+    /**
+     * キーが存在するかを返します
+     *
+     * @param key キー
+     * @return キーが存在する場合true
+     */
+    public boolean containsKey(int key) {
+        return this.indexOf(key) >= 0;
+    }
+
+    /**
+     * キーに値を関連付けます。キーが既に存在する場合、挿入順の位置は変わりません
+     *
+     * @param key キー
+     * @param value 値
+     * @return 以前の値、存在しない場合null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        int index = this.indexOf(key);
+        if (index >= 0) {
+            V old = (V) this.values[index];
+            this.values[index] = value;
+            return old;
+        }
+        if (this.end == this.keys.length) {
+            this.grow();
+        }
+        if ((this.used + 1) * 2 > this.table.length) {
+            this.rehash(this.table.length);
+        }
+        index = this.end++;
+        this.keys[index] = key;
+        this.values[index] = value;
+        this.insert(key, index);
+        this.size++;
+        this.modCount++;
+        return null;
+    }
+
+    /**
+     * キーを削除します
+     *
+     * @param key キー
+     * @return 削除した値、存在しない場合null
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int[] table = this.table;
+        int mask = table.length - 1;
+        int i = hash(key) & mask;
+        for (;;) {
+            int slot = table[i];
+            if (slot == FREE) {
+                return null;
+            }
+            if (slot != DELETED && this.keys[slot - 1] == key) {
+                int index = slot - 1;
+                V old = (V) this.values[index];
+                table[i] = DELETED;
+                this.values[index] = null;
+                this.removed[index] = true;
+                this.size--;
+                this.modCount++;
+                return old;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    private void insert(int key, int index) {
+        int[] table = this.table;
+        int mask = table.length - 1;
+        int i = hash(key) & mask;
+        while (table[i] > FREE) {
+            i = (i + 1) & mask;
+        }
+        if (table[i] == FREE) {
+            this.used++;
+        }
+        table[i] = index + 1;
+    }
+
+    /**
+     * 挿入順の配列が一杯になった場合に、削除済みのエントリを詰めるか配列を拡張します
+     */
+    private void grow() {
+        if (this.size <= this.end * 3 / 4) {
+            this.compact(this.keys.length);
+        } else {
+            this.compact(this.keys.length * 2);
+        }
+    }
+
+    private void compact(int capacity) {
+        int[] keys = this.keys;
+        Object[] values = this.values;
+        boolean[] removed = this.removed;
+        int end = this.end;
+        int[] newKeys = new int[capacity];
+        Object[] newValues = new Object[capacity];
+        int n = 0;
+        for (int i = 0; i < end; i++) {
+            if (!removed[i]) {
+                newKeys[n] = keys[i];
+                newValues[n] = values[i];
+                n++;
+            }
+        }
+        this.keys = newKeys;
+        this.values = newValues;
+        this.removed = new boolean[capacity];
+        this.end = n;
+        this.rehash(tableSize(capacity));
+    }
+
+    private void rehash(int tableSize) {
+        this.table = new int[Math.max(tableSize, tableSize(this.size))];
+        this.used = 0;
+        for (int i = 0; i < this.end; i++) {
+            if (!this.removed[i]) {
+                this.insert(this.keys[i], i);
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    @Override
+    public V get(Object key) {
+        return key instanceof Integer ? this.get(((Integer) key).intValue()) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Integer && this.containsKey(((Integer) key).intValue());
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        for (int i = 0; i < this.end; i++) {
+            if (!this.removed[i] && Objects.equals(this.values[i], value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public V put(Integer key, V value) {
+        return this.put(key.intValue(), value);
+    }
+
+    @Override
+    public V remove(Object key) {
+        return key instanceof Integer ? this.remove(((Integer) key).intValue()) : null;
+    }
+
+    @Override
+    public void clear() {
+        if (this.end > 0) {
+            Arrays.fill(this.values, 0, this.end, null);
+            Arrays.fill(this.removed, 0, this.end, false);
+            Arrays.fill(this.table, FREE);
+            this.end = 0;
+            this.size = 0;
+            this.used = 0;
+            this.modCount++;
+        }
+    }
+
+    @Override
+    public Set<Entry<Integer, V>> entrySet() {
+        Set<Entry<Integer, V>> es = this.entrySet;
+        if (es == null) {
+            es = new AbstractSet<Entry<Integer, V>>() {
+
+                @Override
+                public Iterator<Entry<Integer, V>> iterator() {
+                    return new Itr<Entry<Integer, V>>() {
+
+                        @Override
+                        Entry<Integer, V> get(int index) {
+                            return new IntEntry(index);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return IntMap.this.size;
+                }
+
+                @Override
+                public boolean contains(Object o) {
+                    if (!(o instanceof Entry)) {
+                        return false;
+                    }
+                    Entry<?, ?> e = (Entry<?, ?>) o;
+                    Object key = e.getKey();
+                    return IntMap.this.containsKey(key) && Objects.equals(IntMap.this.get(key), e.getValue());
+                }
+
+                @Override
+                public void clear() {
+                    IntMap.this.clear();
+                }
+            };
+            this.entrySet = es;
+        }
+        return es;
+    }
+
+    @Override
+    public Set<Integer> keySet() {
+        return new AbstractSet<Integer>() {
+
+            @Override
+            public Iterator<Integer> iterator() {
+                return new Itr<Integer>() {
+
+                    @Override
+                    Integer get(int index) {
+                        return IntMap.this.keys[index];
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return IntMap.this.size;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return IntMap.this.containsKey(o);
+            }
+
+            @Override
+            public boolean remove(Object o) {
+                if (IntMap.this.containsKey(o)) {
+                    IntMap.this.remove(o);
+                    return true;
+                }
+                return false;
+            }
+
+            @Override
+            public void clear() {
+                IntMap.this.clear();
+            }
+        };
+    }
+
+    @Override
+    public Collection<V> values() {
+        return new AbstractCollection<V>() {
+
+            @Override
+            public Iterator<V> iterator() {
+                return new Itr<V>() {
+
+                    @SuppressWarnings("unchecked")
+                    @Override
+                    V get(int index) {
+                        return (V) IntMap.this.values[index];
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return IntMap.this.size;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return IntMap.this.containsValue(o);
+            }
+
+            @Override
+            public void clear() {
+                IntMap.this.clear();
+            }
+        };
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(this.size);
+        for (int i = 0; i < this.end; i++) {
+            if (!this.removed[i]) {
+                out.writeInt(this.keys[i]);
+                out.writeObject(this.values[i]);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        int size = in.readInt();
+        this.init(Math.max(size, 4));
+        for (int i = 0; i < size; i++) {
+            int key = in.readInt();
+            this.put(key, (V) in.readObject());
+        }
+    }
+
+    /**
+     * 挿入順に削除済みのエントリを飛ばして反復するIterator
+     */
+    private abstract class Itr<T> implements Iterator<T> {
+
+        private int next;
+
+        private int last = -1;
+
+        private int expectedModCount = IntMap.this.modCount;
+
+        Itr() {
+            this.next = this.advance(0);
+        }
+
+        private int advance(int from) {
+            int i = from;
+            while (i < IntMap.this.end && IntMap.this.removed[i]) {
+                i++;
+            }
+            return i;
+        }
+
+        abstract T get(int index);
+
+        @Override
+        public boolean hasNext() {
+            return this.next < IntMap.this.end;
+        }
+
+        @Override
+        public T next() {
+            if (IntMap.this.modCount != this.expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (this.next >= IntMap.this.end) {
+                throw new NoSuchElementException();
+            }
+            this.last = this.next;
+            this.next = this.advance(this.next + 1);
+            return this.get(this.last);
+        }
+
+        @Override
+        public void remove() {
+            if (this.last < 0) {
+                throw new IllegalStateException();
+            }
+            if (IntMap.this.modCount != this.expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            IntMap.this.remove(IntMap.this.keys[this.last]);
+            this.last = -1;
+            this.expectedModCount = IntMap.this.modCount;
+        }
+    }
+
+    /**
+     * 挿入順の位置を参照するエントリ
+     */
+    private final class IntEntry implements Entry<Integer, V> {
+
+        private final int index;
+
+        IntEntry(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public Integer getKey() {
+            return IntMap.this.keys[this.index];
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public V getValue() {
+            return (V) IntMap.this.values[this.index];
+        }
+
+        @Override
+        public V setValue(V value) {
+            V old = this.getValue();
+            IntMap.this.values[this.index] = value;
+            return old;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> e = (Entry<?, ?>) o;
+            return this.getKey().equals(e.getKey()) && Objects.equals(this.getValue(), e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Integer.hashCode(IntMap.this.keys[this.index]) ^ Objects.hashCode(this.getValue());
+        }
+
+        @Override
+        public String toString() {
+            return this.getKey() + "=" + this.getValue();
+        }
+    }
+}
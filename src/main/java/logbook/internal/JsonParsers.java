@@ -0,0 +1,148 @@
+package logbook.internal;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonException;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonValue;
+import javax.json.spi.JsonProvider;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Jacksonの{@link JsonParser}でAPIのJSONを読み込むためのユーティリティ
+ *
+ */
+public final class JsonParsers {
+
+    /** JsonParserを作成するJsonFactory */
+    static final JsonFactory FACTORY = new JsonFactory();
+
+    private static final JsonProvider PROVIDER = JsonProvider.provider();
+
+    private JsonParsers() {
+    }
+
+    /**
+     * 先頭からapi_dataまでJsonParserを進めます
+     *
+     * @param parser 先頭を指すJsonParser
+     * @return api_dataがオブジェクトの場合true(api_dataのSTART_OBJECTを指す)
+     * @throws IOException JSONが不正な場合
+     */
+    public static boolean toApiData(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return false;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if ("api_data".equals(name)) {
+                return token == JsonToken.START_OBJECT;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    /**
+     * JsonParserが指している配列の要素をJsonObjectに読み込み、Mapに変換します。<br>
+     * JSON全体ではなく要素ごとにJsonObjectを構築します
+     *
+     * @param <K> Mapのキーの型
+     * @param <R> Mapの内容の型
+     * @param parser START_ARRAYを指すJsonParser
+     * @param keyMapper valueMapperで変換したオブジェクトからキーを取り出すFunction
+     * @param valueMapper 要素のJsonObjectを変換するFunction
+     * @return 変換後のMap
+     * @throws IOException JSONが不正な場合
+     */
+    public static <K, R> Map<K, R> toMap(JsonParser parser, Function<R, K> keyMapper,
+            Function<JsonObject, R> valueMapper) throws IOException {
+        Map<K, R> map = new LinkedHashMap<>();
+        if (parser.getCurrentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return map;
+        }
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            JsonValue value = readValue(parser);
+            if (value instanceof JsonObject) {
+                R r = valueMapper.apply((JsonObject) value);
+                map.put(keyMapper.apply(r), r);
+            }
+        }
+        return map;
+    }
+
+    /**
+     * JsonParserが指している値を読み込みます
+     *
+     * @param parser 値の先頭を指すJsonParser
+     * @return 値(オブジェクト又は配列の場合は終端まで読み込む)
+     * @throws IOException JSONが不正な場合
+     */
+    public static JsonValue readValue(JsonParser parser) throws IOException {
+        JsonToken token = parser.getCurrentToken();
+        if (token == JsonToken.START_OBJECT) {
+            JsonObjectBuilder builder = PROVIDER.createObjectBuilder();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                parser.nextToken();
+                builder.add(name, readValue(parser));
+            }
+            return builder.build();
+        }
+        if (token == JsonToken.START_ARRAY) {
+            JsonArrayBuilder builder = PROVIDER.createArrayBuilder();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                builder.add(readValue(parser));
+            }
+            return builder.build();
+        }
+        JsonValue value = scalar(parser);
+        if (value == null) {
+            throw new JsonException("Unexpected token " + token);
+        }
+        return value;
+    }
+
+    /**
+     * JsonParserが指しているスカラー値をJsonValueに変換します
+     *
+     * @param parser スカラー値を指すJsonParser
+     * @return JsonValue、スカラー値ではない場合null
+     * @throws IOException JSONが不正な場合
+     */
+    static JsonValue scalar(JsonParser parser) throws IOException {
+        switch (parser.getCurrentToken()) {
+        case VALUE_STRING:
+            return PROVIDER.createValue(parser.getText());
+        case VALUE_NUMBER_INT:
+            switch (parser.getNumberType()) {
+            case INT:
+                return PROVIDER.createValue(parser.getIntValue());
+            case LONG:
+                return PROVIDER.createValue(parser.getLongValue());
+            default:
+                return PROVIDER.createValue(parser.getBigIntegerValue());
+            }
+        case VALUE_NUMBER_FLOAT:
+            return PROVIDER.createValue(parser.getDecimalValue());
+        case VALUE_TRUE:
+            return JsonValue.TRUE;
+        case VALUE_FALSE:
+            return JsonValue.FALSE;
+        case VALUE_NULL:
+            return JsonValue.NULL;
+        default:
+            return null;
+        }
+    }
+}
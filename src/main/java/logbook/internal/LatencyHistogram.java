@@ -0,0 +1,104 @@
+package logbook.internal;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 処理時間の分布を記録するヒストグラム
+ * <p>
+ * マイクロ秒単位の処理時間を2の累乗の境界を持つバケットに記録します。
+ * パーセンタイルはバケットの上限値で近似します。
+ * </p>
+ */
+public final class LatencyHistogram {
+
+    private static final int BUCKETS = 40;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder sum = new LongAdder();
+
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * 処理時間を記録します
+     *
+     * @param nanos 処理時間(ナノ秒)
+     */
+    public void record(long nanos) {
+        long micros = Math.max(0, nanos / 1000);
+        int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+        this.buckets.incrementAndGet(bucket);
+        this.count.increment();
+        this.sum.add(micros);
+        this.max.accumulate(micros);
+    }
+
+    /**
+     * 記録した件数を返します
+     *
+     * @return 件数
+     */
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    /**
+     * 処理時間の合計を返します
+     *
+     * @return 処理時間の合計(マイクロ秒)
+     */
+    public long getSum() {
+        return this.sum.sum();
+    }
+
+    /**
+     * 処理時間の平均を返します
+     *
+     * @return 処理時間の平均(マイクロ秒)
+     */
+    public long getMean() {
+        long count = this.getCount();
+        return count == 0 ? 0 : this.getSum() / count;
+    }
+
+    /**
+     * 処理時間の最大を返します
+     *
+     * @return 処理時間の最大(マイクロ秒)
+     */
+    public long getMax() {
+        return this.max.get();
+    }
+
+    /**
+     * 処理時間のパーセンタイルを返します
+     *
+     * @param percentile パーセンタイル(0.0～1.0)
+     * @return 処理時間のパーセンタイル(マイクロ秒)
+     */
+    public long getPercentile(double percentile) {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = this.buckets.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long threshold = (long) Math.ceil(total * percentile);
+        long cumulative = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            cumulative += snapshot[i];
+            if (cumulative >= threshold) {
+                // バケットの上限値(最大値を超えない)
+                return Math.min(i == 0 ? 0 : (1L << i) - 1, this.getMax());
+            }
+        }
+        return this.getMax();
+    }
+}
@@ -4,13 +4,21 @@ import java.beans.ExceptionListener;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.stream.Collectors;
 
+import logbook.bean.AppCondition;
 import logbook.bean.AppConfig;
+import logbook.bean.AppQuestCollection;
+import logbook.bean.MapinfoMstCollection;
+import logbook.bean.ShipCollection;
+import logbook.bean.ShipMstCollection;
+import logbook.bean.SlotItemCollection;
+import logbook.bean.SlotitemMstCollection;
+import logbook.internal.ThreadManager.Purpose;
 import logbook.internal.gui.Main;
 import logbook.internal.proxy.ProxyHolder;
 import logbook.plugin.JarBasedPlugin;
@@ -31,21 +39,40 @@ public final class Launcher {
         Launcher launcher = new Launcher();
         try {
             try {
+                launcher.preloadConfig();
                 launcher.initPlugin(args);
                 launcher.initLocal(args);
                 Runtime.getRuntime().addShutdownHook(new Thread(launcher::exitLocalProxy));
                 Runtime.getRuntime().addShutdownHook(new Thread(launcher::exitLocalThreadPool));
+                Runtime.getRuntime().addShutdownHook(new Thread(launcher::exitApiSessionRecorder));
                 Runtime.getRuntime().addShutdownHook(new Thread(launcher::storeConfig));
                 Runtime.getRuntime().addShutdownHook(new Thread(launcher::exitPlugin));
             } finally {
                 launcher.exitLocalProxy();
                 launcher.exitLocalThreadPool();
+                launcher.exitApiSessionRecorder();
             }
         } catch (Exception | Error e) {
             LoggerHolder.get().warn("例外が発生しました", e); //$NON-NLS-1$
         }
     }
 
+    /**
+     * 画面の構築中にサイズの大きい設定をバックグラウンドで読み込む
+     */
+    void preloadConfig() {
+        Config.getDefault().setFormat(AppConfig.get().getConfigFormat());
+        List<Runnable> loaders = Arrays.asList(
+                ShipMstCollection::get,
+                SlotitemMstCollection::get,
+                ShipCollection::get,
+                SlotItemCollection::get,
+                MapinfoMstCollection::get,
+                AppQuestCollection::get,
+                AppCondition::get);
+        Config.getDefault().preload(ThreadManager.getExecutorService(Purpose.IO), loaders);
+    }
+
     /**
      * アプリケーションの初期化処理
      *
@@ -97,8 +124,14 @@ public final class Launcher {
      * スレッドプールの終了処理
      */
     private void exitLocalThreadPool() {
-        ScheduledExecutorService executor = ThreadManager.getExecutorService();
-        executor.shutdownNow();
+        ThreadManager.shutdownNow();
+    }
+
+    /**
+     * APIの記録の終了処理
+     */
+    private void exitApiSessionRecorder() {
+        ApiSessionRecorder.get().close();
     }
 
     /**
@@ -0,0 +1,207 @@
+package logbook.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.Set;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+import logbook.api.JsonSource;
+
+/**
+ * JSONのバイト列を保持し、最初にアクセスされた時に{@link JsonObject}を構築するJsonObject
+ * <p>
+ * {@link logbook.api.APIListenerSpi}にはこのクラスのインスタンスがJsonObjectとして渡され、
+ * {@link logbook.api.APIStreamListenerSpi}には{@link JsonSource}として渡されます。
+ * </p>
+ */
+public final class LazyJsonObject extends AbstractMap<String, JsonValue> implements JsonObject, JsonSource {
+
+    private final byte[] buffer;
+
+    private final int offset;
+
+    private final int length;
+
+    private volatile JsonObject object;
+
+    private LazyJsonObject(byte[] buffer, int offset, int length, JsonObject object) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+        this.object = object;
+    }
+
+    /**
+     * JSONのバイト列からLazyJsonObjectを作成します
+     *
+     * @param buffer バッファ
+     * @param offset JSONの開始位置
+     * @param length JSONのバイト数
+     * @return LazyJsonObject
+     */
+    public static LazyJsonObject of(byte[] buffer, int offset, int length) {
+        return new LazyJsonObject(buffer, offset, length, null);
+    }
+
+    /**
+     * 構築済みのJsonObjectからLazyJsonObjectを作成します
+     *
+     * @param object JsonObject
+     * @return LazyJsonObject、objectがLazyJsonObjectの場合はそのまま返す
+     */
+    public static LazyJsonObject of(JsonObject object) {
+        if (object instanceof LazyJsonObject) {
+            return (LazyJsonObject) object;
+        }
+        return new LazyJsonObject(null, 0, 0, object);
+    }
+
+    @Override
+    public JsonParser createParser() throws IOException {
+        if (this.buffer != null) {
+            return JsonParsers.FACTORY.createParser(this.buffer, this.offset, this.length);
+        }
+        return JsonParsers.FACTORY.createParser(this.object.toString());
+    }
+
+    @Override
+    public JsonObject toJsonObject() {
+        JsonObject object = this.object;
+        if (object == null) {
+            synchronized (this) {
+                object = this.object;
+                if (object == null) {
+                    try (JsonReader reader = Json.createReader(
+                            new ByteArrayInputStream(this.buffer, this.offset, this.length))) {
+                        object = reader.readObject();
+                    }
+                    this.object = object;
+                }
+            }
+        }
+        return object;
+    }
+
+    /**
+     * JsonObjectが構築済みかを返します
+     *
+     * @return 構築済みの場合true
+     */
+    public boolean isMaterialized() {
+        return this.object != null;
+    }
+
+    @Override
+    public JsonArray getJsonArray(String name) {
+        return this.toJsonObject().getJsonArray(name);
+    }
+
+    @Override
+    public JsonObject getJsonObject(String name) {
+        return this.toJsonObject().getJsonObject(name);
+    }
+
+    @Override
+    public JsonNumber getJsonNumber(String name) {
+        return this.toJsonObject().getJsonNumber(name);
+    }
+
+    @Override
+    public JsonString getJsonString(String name) {
+        return this.toJsonObject().getJsonString(name);
+    }
+
+    @Override
+    public String getString(String name) {
+        return this.toJsonObject().getString(name);
+    }
+
+    @Override
+    public String getString(String name, String defaultValue) {
+        return this.toJsonObject().getString(name, defaultValue);
+    }
+
+    @Override
+    public int getInt(String name) {
+        return this.toJsonObject().getInt(name);
+    }
+
+    @Override
+    public int getInt(String name, int defaultValue) {
+        return this.toJsonObject().getInt(name, defaultValue);
+    }
+
+    @Override
+    public boolean getBoolean(String name) {
+        return this.toJsonObject().getBoolean(name);
+    }
+
+    @Override
+    public boolean getBoolean(String name, boolean defaultValue) {
+        return this.toJsonObject().getBoolean(name, defaultValue);
+    }
+
+    @Override
+    public boolean isNull(String name) {
+        return this.toJsonObject().isNull(name);
+    }
+
+    @Override
+    public ValueType getValueType() {
+        return ValueType.OBJECT;
+    }
+
+    @Override
+    public JsonValue get(Object key) {
+        return this.toJsonObject().get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return this.toJsonObject().containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return this.toJsonObject().size();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return this.toJsonObject().keySet();
+    }
+
+    @Override
+    public Collection<JsonValue> values() {
+        return this.toJsonObject().values();
+    }
+
+    @Override
+    public Set<Entry<String, JsonValue>> entrySet() {
+        return this.toJsonObject().entrySet();
+    }
+
+    /*
+     * 構築前の場合はJsonObjectを構築せずにJSONの文字列を返します
+     */
+    @Override
+    public String toString() {
+        JsonObject object = this.object;
+        if (object != null) {
+            return object.toString();
+        }
+        return new String(this.buffer, this.offset, this.length, StandardCharsets.UTF_8);
+    }
+}
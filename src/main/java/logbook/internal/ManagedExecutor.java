@@ -0,0 +1,107 @@
+package logbook.internal;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 名前と上限付きのキューを持つスレッドプール
+ * <p>
+ * キューが一杯の場合、タスクは登録したスレッドで実行されます(バックプレッシャー)。
+ * </p>
+ */
+public final class ManagedExecutor extends ThreadPoolExecutor {
+
+    private final String name;
+
+    private final int queueCapacity;
+
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    /**
+     * スレッドプールを作成します
+     *
+     * @param name 名前
+     * @param threads スレッド数
+     * @param queueCapacity キューの上限
+     */
+    public ManagedExecutor(String name, int threads, int queueCapacity) {
+        super(threads, threads, 60L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                new NamedThreadFactory(name));
+        this.name = name;
+        this.queueCapacity = queueCapacity;
+        this.allowCoreThreadTimeOut(true);
+        this.setRejectedExecutionHandler((r, executor) -> {
+            this.rejectedCount.incrementAndGet();
+            if (!executor.isShutdown()) {
+                r.run();
+            }
+        });
+    }
+
+    /**
+     * 名前を返します
+     *
+     * @return 名前
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * キューの上限を返します
+     *
+     * @return キューの上限
+     */
+    public int getQueueCapacity() {
+        return this.queueCapacity;
+    }
+
+    /**
+     * キューが一杯で登録したスレッドで実行されたタスクの数を返します
+     *
+     * @return キューが一杯で登録したスレッドで実行されたタスクの数
+     */
+    public long getRejectedCount() {
+        return this.rejectedCount.get();
+    }
+
+    /**
+     * 統計情報を返します
+     *
+     * @return 統計情報
+     */
+    public ExecutorStatistics getStatistics() {
+        return new ExecutorStatistics(this.name, this.getPoolSize(), this.getActiveCount(), this.getQueue().size(),
+                this.queueCapacity, this.getCompletedTaskCount(), this.getRejectedCount());
+    }
+
+    @Override
+    public String toString() {
+        return this.getStatistics().toString();
+    }
+
+    /**
+     * 名前付きのデーモンスレッドを作成するThreadFactory
+     */
+    static final class NamedThreadFactory implements ThreadFactory {
+
+        private final String name;
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        NamedThreadFactory(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, this.name + "-" + this.count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,417 @@
+package logbook.internal;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * キーがintの変更不可のMapです。<br>
+ * <br>
+ * キーのビットを上位から5ビットずつ辿るトライ木で値を保持します。
+ * {@link #plus(int, Object)}と{@link #minus(int)}は変更したノードだけを複製した新しいMapを返し、
+ * 変更していないノードは元のMapと共有します。
+ * そのため、あるMapを参照し続けてもその内容は変わらず、参照を保持するだけでスナップショットになります。<br>
+ * 反復順はキーの符号なしの昇順です。nullのキーと値は使用できません。
+ *
+ * @param <V> 値の型
+ */
+public final class PersistentIntMap<V> extends AbstractMap<Integer, V> implements Serializable {
+
+    private static final long serialVersionUID = -5479307232468452981L;
+
+    /** 1階層のビット数 */
+    private static final int BITS = 5;
+
+    /** 最上位の階層のシフト量 */
+    private static final int MAX_SHIFT = 30;
+
+    /** 空のMap */
+    private static final PersistentIntMap<?> EMPTY = new PersistentIntMap<>(null, 0, 0);
+
+    /** 根のノード */
+    private final Node root;
+
+    /** 根のノードのシフト量 */
+    private final int shift;
+
+    /** エントリの数 */
+    private final int size;
+
+    private PersistentIntMap(Node root, int shift, int size) {
+        this.root = root;
+        this.shift = shift;
+        this.size = size;
+    }
+
+    /**
+     * 空のMapを返します
+     *
+     * @param <V> 値の型
+     * @return 空のMap
+     */
+    @SuppressWarnings("unchecked")
+    public static <V> PersistentIntMap<V> empty() {
+        return (PersistentIntMap<V>) EMPTY;
+    }
+
+    /**
+     * 指定されたMapと同じ内容のMapを返します
+     *
+     * @param <V> 値の型
+     * @param map Map
+     * @return Map
+     */
+    public static <V> PersistentIntMap<V> of(Map<Integer, ? extends V> map) {
+        if (map instanceof PersistentIntMap) {
+            @SuppressWarnings("unchecked")
+            PersistentIntMap<V> p = (PersistentIntMap<V>) map;
+            return p;
+        }
+        if (map == null || map.isEmpty()) {
+            return empty();
+        }
+        // キーの符号なしの昇順に並べてから葉の側から組み立てる
+        int n = map.size();
+        long[] order = new long[n];
+        Object[] values = new Object[n];
+        int i = 0;
+        for (Map.Entry<Integer, ? extends V> entry : map.entrySet()) {
+            values[i] = Objects.requireNonNull(entry.getValue());
+            order[i] = Integer.toUnsignedLong(entry.getKey()) << 31 | i;
+            i++;
+        }
+        Arrays.sort(order);
+        int[] keys = new int[n];
+        Object[] sorted = new Object[n];
+        for (int j = 0; j < n; j++) {
+            keys[j] = (int) (order[j] >>> 31);
+            sorted[j] = values[(int) (order[j] & Integer.MAX_VALUE)];
+        }
+        int shift = shiftFor(keys[n - 1]);
+        return new PersistentIntMap<>(build(keys, sorted, 0, n, shift), shift, n);
+    }
+
+    /**
+     * 指定されたキーの値をボックス化せずに検索します
+     *
+     * @param key キー
+     * @return 値、キーが存在しない場合null
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        Node node = this.root;
+        if (node == null || (this.shift < MAX_SHIFT && (key >>> (this.shift + BITS)) != 0)) {
+            return null;
+        }
+        for (int s = this.shift;; s -= BITS) {
+            int bit = 1 << ((key >>> s) & 31);
+            if ((node.bitmap & bit) == 0) {
+                return null;
+            }
+            Object child = node.array[Integer.bitCount(node.bitmap & (bit - 1))];
+            if (s == 0) {
+                return (V) child;
+            }
+            node = (Node) child;
+        }
+    }
+
+    /**
+     * 指定されたキーが存在するかを返します
+     *
+     * @param key キー
+     * @return キーが存在する場合true
+     */
+    public boolean containsKey(int key) {
+        return this.get(key) != null;
+    }
+
+    /**
+     * 指定されたキーと値を追加したMapを返します。このMapは変更されません
+     *
+     * @param key キー
+     * @param value 値
+     * @return キーと値を追加したMap
+     */
+    public PersistentIntMap<V> plus(int key, V value) {
+        Objects.requireNonNull(value);
+        V old = this.get(key);
+        if (old == value) {
+            return this;
+        }
+        Node node = this.root;
+        int s = this.shift;
+        if (node == null) {
+            s = shiftFor(key);
+        } else {
+            // キーが根のノードの範囲外の場合は根の上にノードを追加する
+            for (int need = shiftFor(key); s < need; s += BITS) {
+                node = new Node(1, new Object[] { node });
+            }
+        }
+        return new PersistentIntMap<>(insert(node, s, key, value), s, old == null ? this.size + 1 : this.size);
+    }
+
+    /**
+     * 指定されたキーを除いたMapを返します。このMapは変更されません
+     *
+     * @param key キー
+     * @return キーを除いたMap
+     */
+    public PersistentIntMap<V> minus(int key) {
+        if (!this.containsKey(key)) {
+            return this;
+        }
+        if (this.size == 1) {
+            return empty();
+        }
+        Node node = delete(this.root, this.shift, key);
+        int s = this.shift;
+        // 根のノードが先頭の子だけを持つ場合は階層を減らす
+        while (s > 0 && node.bitmap == 1) {
+            node = (Node) node.array[0];
+            s -= BITS;
+        }
+        return new PersistentIntMap<>(node, s, this.size - 1);
+    }
+
+    /**
+     * 指定されたMapのエントリを追加したMapを返します。このMapは変更されません
+     *
+     * @param map 追加するMap
+     * @return エントリを追加したMap
+     */
+    public PersistentIntMap<V> plusAll(Map<Integer, ? extends V> map) {
+        if (this.isEmpty()) {
+            return of(map);
+        }
+        if (map.size() <= 16) {
+            PersistentIntMap<V> result = this;
+            for (Map.Entry<Integer, ? extends V> entry : map.entrySet()) {
+                result = result.plus(entry.getKey(), entry.getValue());
+            }
+            return result;
+        }
+        IntMap<V> merged = IntMap.of(this);
+        merged.putAll(map);
+        return of(merged);
+    }
+
+    @Override
+    public V get(Object key) {
+        return key instanceof Integer ? this.get(((Integer) key).intValue()) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return this.get(key) != null;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public Set<Map.Entry<Integer, V>> entrySet() {
+        return new AbstractSet<Map.Entry<Integer, V>>() {
+
+            @Override
+            public Iterator<Map.Entry<Integer, V>> iterator() {
+                return new Itr();
+            }
+
+            @Override
+            public int size() {
+                return PersistentIntMap.this.size;
+            }
+        };
+    }
+
+    private Object readResolve() {
+        return this.size == 0 ? EMPTY : this;
+    }
+
+    /**
+     * キーを含む根のノードのシフト量を返します
+     */
+    private static int shiftFor(int key) {
+        int s = 0;
+        while (s < MAX_SHIFT && (key >>> (s + BITS)) != 0) {
+            s += BITS;
+        }
+        return s;
+    }
+
+    /**
+     * 昇順に並んだキーと値の範囲からノードを組み立てます
+     */
+    private static Node build(int[] keys, Object[] values, int from, int to, int s) {
+        int bitmap = 0;
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            int bit = 1 << ((keys[i] >>> s) & 31);
+            if ((bitmap & bit) == 0) {
+                bitmap |= bit;
+                count++;
+            }
+        }
+        Object[] array = new Object[count];
+        if (s == 0) {
+            System.arraycopy(values, from, array, 0, count);
+        } else {
+            int start = from;
+            for (int c = 0; c < count; c++) {
+                int index = (keys[start] >>> s) & 31;
+                int end = start + 1;
+                while (end < to && ((keys[end] >>> s) & 31) == index) {
+                    end++;
+                }
+                array[c] = build(keys, values, start, end, s - BITS);
+                start = end;
+            }
+        }
+        return new Node(bitmap, array);
+    }
+
+    private static Node insert(Node node, int s, int key, Object value) {
+        int bit = 1 << ((key >>> s) & 31);
+        if (node == null) {
+            return new Node(bit, new Object[] { s == 0 ? value : insert(null, s - BITS, key, value) });
+        }
+        int index = Integer.bitCount(node.bitmap & (bit - 1));
+        if ((node.bitmap & bit) != 0) {
+            Object[] array = node.array.clone();
+            array[index] = s == 0 ? value : insert((Node) array[index], s - BITS, key, value);
+            return new Node(node.bitmap, array);
+        }
+        Object[] array = new Object[node.array.length + 1];
+        System.arraycopy(node.array, 0, array, 0, index);
+        array[index] = s == 0 ? value : insert(null, s - BITS, key, value);
+        System.arraycopy(node.array, index, array, index + 1, node.array.length - index);
+        return new Node(node.bitmap | bit, array);
+    }
+
+    private static Node delete(Node node, int s, int key) {
+        int bit = 1 << ((key >>> s) & 31);
+        int index = Integer.bitCount(node.bitmap & (bit - 1));
+        if (s != 0) {
+            Node child = delete((Node) node.array[index], s - BITS, key);
+            if (child != null) {
+                Object[] array = node.array.clone();
+                array[index] = child;
+                return new Node(node.bitmap, array);
+            }
+        }
+        if (node.array.length == 1) {
+            return null;
+        }
+        Object[] array = new Object[node.array.length - 1];
+        System.arraycopy(node.array, 0, array, 0, index);
+        System.arraycopy(node.array, index + 1, array, index, array.length - index);
+        return new Node(node.bitmap & ~bit, array);
+    }
+
+    /**
+     * トライ木のノード
+     */
+    private static final class Node implements Serializable {
+
+        private static final long serialVersionUID = 2417035637478012353L;
+
+        /** 子の存在するスロットのビット */
+        private final int bitmap;
+
+        /** 子(最下位の階層では値) */
+        private final Object[] array;
+
+        private Node(int bitmap, Object[] array) {
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+    }
+
+    /**
+     * キーの昇順にトライ木を辿るIterator
+     */
+    private final class Itr implements Iterator<Map.Entry<Integer, V>> {
+
+        private final Node[] nodes;
+
+        /** 階層ごとの未処理の子のビット */
+        private final int[] remaining;
+
+        /** 階層ごとの次の子の位置 */
+        private final int[] index;
+
+        /** 階層ごとのキーの上位ビット */
+        private final int[] prefix;
+
+        private int depth;
+
+        private Map.Entry<Integer, V> next;
+
+        private Itr() {
+            int levels = PersistentIntMap.this.shift / BITS + 1;
+            this.nodes = new Node[levels];
+            this.remaining = new int[levels];
+            this.index = new int[levels];
+            this.prefix = new int[levels];
+            if (PersistentIntMap.this.root != null) {
+                this.nodes[0] = PersistentIntMap.this.root;
+                this.remaining[0] = PersistentIntMap.this.root.bitmap;
+            } else {
+                this.depth = -1;
+            }
+            this.advance();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            while (this.depth >= 0) {
+                int rem = this.remaining[this.depth];
+                if (rem == 0) {
+                    this.depth--;
+                    continue;
+                }
+                int low = Integer.numberOfTrailingZeros(rem);
+                this.remaining[this.depth] = rem & (rem - 1);
+                Object child = this.nodes[this.depth].array[this.index[this.depth]++];
+                int s = PersistentIntMap.this.shift - this.depth * BITS;
+                int key = this.prefix[this.depth] | (low << s);
+                if (s == 0) {
+                    this.next = new SimpleImmutableEntry<>(key, (V) child);
+                    return;
+                }
+                Node node = (Node) child;
+                this.depth++;
+                this.nodes[this.depth] = node;
+                this.remaining[this.depth] = node.bitmap;
+                this.index[this.depth] = 0;
+                this.prefix[this.depth] = key;
+            }
+            this.next = null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.next != null;
+        }
+
+        @Override
+        public Map.Entry<Integer, V> next() {
+            Map.Entry<Integer, V> entry = this.next;
+            if (entry == null) {
+                throw new NoSuchElementException();
+            }
+            this.advance();
+            return entry;
+        }
+    }
+}
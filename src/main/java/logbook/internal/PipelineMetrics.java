@@ -0,0 +1,243 @@
+package logbook.internal;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import logbook.internal.proxy.DestinationStatistics;
+import logbook.internal.proxy.UpstreamMetrics;
+
+/**
+ * プロキシとリスナーの処理時間をURIごとに記録します
+ * <p>
+ * 記録した統計情報はJMX(logbook:type=PipelineMetrics)で参照できます。
+ * </p>
+ */
+public final class PipelineMetrics implements PipelineMetricsMXBean {
+
+    /**
+     * 処理段階
+     */
+    public enum Stage {
+        /** リクエストの転送開始からレスポンスの受信完了まで */
+        PROXY,
+        /** スレッドプールのキューでの待ち時間 */
+        QUEUE,
+        /** ContentListenerSpiの処理時間 */
+        LISTENER,
+        /** APIListenerSpiの処理時間 */
+        HANDLER,
+        /** 設定ファイルの書き込み時間 */
+        PERSIST
+    }
+
+    /** JMXのオブジェクト名 */
+    private static final String OBJECT_NAME = "logbook:type=PipelineMetrics";
+
+    /** 記録するURIの上限 */
+    private static final int MAX_URIS = 256;
+
+    /** URIの上限を超えた場合のURI */
+    private static final String OTHER = "(other)";
+
+    private static final PipelineMetrics INSTANCE = new PipelineMetrics();
+
+    private final Map<String, UriMetrics> uris = new ConcurrentHashMap<>();
+
+    /** 前回ログに出力した時点の件数 */
+    private long lastLoggedCount;
+
+    private PipelineMetrics() {
+    }
+
+    /**
+     * 処理時間を記録します
+     *
+     * @param uri リクエストのURI
+     * @param stage 処理段階
+     * @param nanos 処理時間(ナノ秒)
+     */
+    public void record(String uri, Stage stage, long nanos) {
+        this.record(uri, stage, "", nanos);
+    }
+
+    /**
+     * リスナーの処理時間を記録します
+     *
+     * @param uri リクエストのURI
+     * @param stage 処理段階
+     * @param handler リスナーのクラス名
+     * @param nanos 処理時間(ナノ秒)
+     */
+    public void record(String uri, Stage stage, String handler, long nanos) {
+        this.metrics(uri).stages.get(stage)
+                .computeIfAbsent(handler, k -> new LatencyHistogram())
+                .record(nanos);
+    }
+
+    /**
+     * キャプチャしたバイト数を記録します
+     *
+     * @param uri リクエストのURI
+     * @param bytes バイト数
+     */
+    public void addCapturedBytes(String uri, long bytes) {
+        this.metrics(uri).capturedBytes.add(bytes);
+    }
+
+    @Override
+    public List<StageStatistics> getStages() {
+        List<StageStatistics> stages = new ArrayList<>();
+        for (Map.Entry<String, UriMetrics> uri : this.uris.entrySet()) {
+            long capturedBytes = uri.getValue().capturedBytes.sum();
+            for (Map.Entry<Stage, Map<String, LatencyHistogram>> stage : uri.getValue().stages.entrySet()) {
+                for (Map.Entry<String, LatencyHistogram> handler : stage.getValue().entrySet()) {
+                    LatencyHistogram h = handler.getValue();
+                    stages.add(new StageStatistics(uri.getKey(), stage.getKey().name(), handler.getKey(),
+                            h.getCount(), h.getSum(), h.getMean(),
+                            h.getPercentile(0.5), h.getPercentile(0.9), h.getPercentile(0.99), h.getMax(),
+                            stage.getKey() == Stage.PROXY ? capturedBytes : 0));
+                }
+            }
+        }
+        return stages;
+    }
+
+    @Override
+    public List<ExecutorStatistics> getExecutors() {
+        return ThreadManager.getStatistics();
+    }
+
+    @Override
+    public List<DestinationStatistics> getDestinations() {
+        return UpstreamMetrics.get().getStatistics();
+    }
+
+    @Override
+    public long getRetryBufferedCount() {
+        return UpstreamMetrics.get().getRetryBufferedCount();
+    }
+
+    @Override
+    public long getRetryCount() {
+        return UpstreamMetrics.get().getRetryCount();
+    }
+
+    @Override
+    public void reset() {
+        this.uris.clear();
+    }
+
+    /**
+     * 処理時間の合計が大きい順に統計情報をログに出力します<br>
+     * 前回の出力から記録がない場合は出力しません
+     *
+     * @param limit 出力する件数
+     */
+    public synchronized void logSummary(int limit) {
+        List<StageStatistics> stages = this.getStages();
+        long count = stages.stream()
+                .mapToLong(StageStatistics::getCount)
+                .sum();
+        if (count == this.lastLoggedCount) {
+            return;
+        }
+        this.lastLoggedCount = count;
+
+        StringBuilder sb = new StringBuilder("処理時間の統計情報");
+        stages.stream()
+                .sorted(Comparator.comparingLong(StageStatistics::getTotalMicros).reversed())
+                .limit(limit)
+                .forEach(s -> sb.append(System.lineSeparator())
+                        .append(s.getUri()).append(' ')
+                        .append(s.getStage()).append(' ')
+                        .append(s.getHandler().isEmpty() ? "-" : s.getHandler())
+                        .append(" count=").append(s.getCount())
+                        .append(" mean=").append(s.getMeanMicros()).append("us")
+                        .append(" p90=").append(s.getP90Micros()).append("us")
+                        .append(" p99=").append(s.getP99Micros()).append("us")
+                        .append(" max=").append(s.getMaxMicros()).append("us")
+                        .append(" bytes=").append(s.getCapturedBytes()));
+        for (ExecutorStatistics e : this.getExecutors()) {
+            sb.append(System.lineSeparator()).append(e);
+        }
+        for (DestinationStatistics d : this.getDestinations()) {
+            sb.append(System.lineSeparator()).append(d);
+        }
+        sb.append(System.lineSeparator())
+                .append("retry buffered=").append(this.getRetryBufferedCount())
+                .append(" retried=").append(this.getRetryCount());
+        LoggerHolder.get().info(sb.toString());
+    }
+
+    /**
+     * JMXにMBeanを登録します
+     */
+    public synchronized void register() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(this, name);
+            }
+        } catch (Exception e) {
+            LoggerHolder.get().warn("MBeanの登録に失敗しました", e);
+        }
+    }
+
+    private UriMetrics metrics(String uri) {
+        String key = normalize(uri);
+        UriMetrics metrics = this.uris.get(key);
+        if (metrics == null) {
+            if (this.uris.size() >= MAX_URIS) {
+                key = OTHER;
+            }
+            metrics = this.uris.computeIfAbsent(key, k -> new UriMetrics());
+        }
+        return metrics;
+    }
+
+    /**
+     * API以外のURIはディレクトリ単位にまとめます
+     */
+    private static String normalize(String uri) {
+        if (uri == null) {
+            return OTHER;
+        }
+        if (uri.startsWith("/kcsapi/")) {
+            return uri;
+        }
+        int index = uri.lastIndexOf('/');
+        return index > 0 ? uri.substring(0, index + 1) : uri;
+    }
+
+    /**
+     * インスタンスを返します
+     *
+     * @return PipelineMetrics
+     */
+    public static PipelineMetrics get() {
+        return INSTANCE;
+    }
+
+    private static final class UriMetrics {
+
+        private final Map<Stage, Map<String, LatencyHistogram>> stages = new EnumMap<>(Stage.class);
+
+        private final LongAdder capturedBytes = new LongAdder();
+
+        UriMetrics() {
+            for (Stage stage : Stage.values()) {
+                this.stages.put(stage, new ConcurrentHashMap<>());
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package logbook.internal;
+
+import java.util.List;
+
+import logbook.internal.proxy.DestinationStatistics;
+
+/**
+ * プロキシとリスナーの処理時間をJMXで公開するためのインターフェイス
+ *
+ */
+public interface PipelineMetricsMXBean {
+
+    /**
+     * 処理段階ごとの統計情報を返します
+     *
+     * @return 処理段階ごとの統計情報
+     */
+    List<StageStatistics> getStages();
+
+    /**
+     * スレッドプールの統計情報を返します
+     *
+     * @return スレッドプールの統計情報
+     */
+    List<ExecutorStatistics> getExecutors();
+
+    /**
+     * アップストリームの接続先ごとの統計情報を返します
+     *
+     * @return 接続先ごとの統計情報
+     */
+    List<DestinationStatistics> getDestinations();
+
+    /**
+     * リトライのためにリクエストボディを記憶したリクエスト数を返します
+     *
+     * @return リクエスト数
+     */
+    long getRetryBufferedCount();
+
+    /**
+     * アップストリームへのリクエストをリトライした数を返します
+     *
+     * @return リトライした数
+     */
+    long getRetryCount();
+
+    /**
+     * 統計情報を初期化します
+     */
+    void reset();
+}
@@ -0,0 +1,28 @@
+package logbook.internal;
+
+import java.util.concurrent.TimeUnit;
+
+import logbook.bean.AppConfig;
+import logbook.plugin.lifecycle.StartUp;
+
+/**
+ * 処理時間の統計情報をJMXに登録し、定期的にログに出力します
+ *
+ */
+public class PipelineMetricsStartUp implements StartUp {
+
+    /** ログに出力する件数 */
+    private static final int LOG_LIMIT = 20;
+
+    @Override
+    public void run() {
+        PipelineMetrics.get().register();
+
+        int interval = AppConfig.get().getPipelineMetricsLogInterval();
+        if (interval > 0) {
+            ThreadManager.getExecutorService()
+                    .scheduleWithFixedDelay(() -> PipelineMetrics.get().logSummary(LOG_LIMIT),
+                            interval, interval, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package logbook.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 登録された順にタスクを1つのスレッドで実行するExecutor
+ * <p>
+ * キューに溜まったタスクはまとめて取り出して順に実行します。
+ * タスクで発生した例外とエラーはログに出力し、後続のタスクの実行は継続します。
+ * </p>
+ */
+public final class SequentialExecutor implements Executor {
+
+    /** 一度に取り出すタスクの上限 */
+    private static final int MAX_BATCH = 64;
+
+    private final BlockingQueue<Runnable> queue = new LinkedBlockingQueue<>();
+
+    private final Thread thread;
+
+    private final AtomicLong completedTaskCount = new AtomicLong();
+
+    /** 登録されてから完了していないタスク数 */
+    private final AtomicInteger pending = new AtomicInteger();
+
+    /**
+     * 指定された名前のスレッドでタスクを実行するExecutorを作成します
+     *
+     * @param name スレッド名
+     */
+    public SequentialExecutor(String name) {
+        this.thread = new Thread(this::loop, name);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        this.pending.incrementAndGet();
+        if (!this.queue.offer(command)) {
+            this.pending.decrementAndGet();
+            throw new IllegalStateException();
+        }
+    }
+
+    /**
+     * 実行待ちのタスク数を返します
+     *
+     * @return 実行待ちのタスク数
+     */
+    public int getQueueSize() {
+        return this.queue.size();
+    }
+
+    /**
+     * タスクを実行中かを返します
+     *
+     * @return タスクを実行中の場合true
+     */
+    public boolean isActive() {
+        // キューから取り出してから実行を開始するまでの間も実行中とする
+        return this.pending.get() > this.queue.size();
+    }
+
+    /**
+     * 完了したタスク数を返します
+     *
+     * @return 完了したタスク数
+     */
+    public long getCompletedTaskCount() {
+        return this.completedTaskCount.get();
+    }
+
+    /**
+     * 実行中のタスクに割り込み、以降のタスクを実行しないようにします
+     */
+    public void shutdownNow() {
+        this.thread.interrupt();
+    }
+
+    private void loop() {
+        List<Runnable> batch = new ArrayList<>(MAX_BATCH);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                batch.add(this.queue.take());
+                this.queue.drainTo(batch, MAX_BATCH - 1);
+                for (Runnable task : batch) {
+                    try {
+                        task.run();
+                    } catch (Throwable e) {
+                        // Errorでもスレッドを終了させると以降の状態の更新がすべて失われるため継続する
+                        LoggerHolder.get().warn("タスクの実行中に例外が発生", e);
+                    }
+                    this.completedTaskCount.incrementAndGet();
+                    this.pending.decrementAndGet();
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            // 終了
+        }
+    }
+}
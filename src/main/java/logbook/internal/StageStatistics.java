@@ -0,0 +1,48 @@
+package logbook.internal;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * プロキシとリスナーの処理段階ごとの統計情報
+ *
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public final class StageStatistics {
+
+    /** URI */
+    private final String uri;
+
+    /** 処理段階 */
+    private final String stage;
+
+    /** リスナーのクラス名(リスナーに依らない処理段階の場合空文字列) */
+    private final String handler;
+
+    /** 件数 */
+    private final long count;
+
+    /** 処理時間の合計(マイクロ秒) */
+    private final long totalMicros;
+
+    /** 処理時間の平均(マイクロ秒) */
+    private final long meanMicros;
+
+    /** 処理時間の50パーセンタイル(マイクロ秒) */
+    private final long p50Micros;
+
+    /** 処理時間の90パーセンタイル(マイクロ秒) */
+    private final long p90Micros;
+
+    /** 処理時間の99パーセンタイル(マイクロ秒) */
+    private final long p99Micros;
+
+    /** 処理時間の最大(マイクロ秒) */
+    private final long maxMicros;
+
+    /** キャプチャしたバイト数 */
+    private final long capturedBytes;
+}
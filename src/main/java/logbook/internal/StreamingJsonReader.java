@@ -0,0 +1,124 @@
+package logbook.internal;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonException;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonValue;
+import javax.json.spi.JsonProvider;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+
+/**
+ * 分割して受信したJSONを受信しながら解析し、JsonObjectを組み立てます
+ *
+ */
+final class StreamingJsonReader {
+
+    private static final JsonProvider PROVIDER = JsonProvider.provider();
+
+    private final JsonParser parser;
+
+    private final ByteArrayFeeder feeder;
+
+    /** 組み立て中のJsonObjectBuilderまたはJsonArrayBuilder */
+    private final Deque<Object> builders = new ArrayDeque<>();
+
+    /** 組み立て中のJsonObjectBuilderに追加する時の名前 */
+    private final Deque<String> names = new ArrayDeque<>();
+
+    private String fieldName;
+
+    private JsonValue result;
+
+    StreamingJsonReader() throws IOException {
+        this.parser = JsonParsers.FACTORY.createNonBlockingByteArrayParser();
+        this.feeder = (ByteArrayFeeder) this.parser.getNonBlockingInputFeeder();
+    }
+
+    /**
+     * JSONの一部を解析します
+     *
+     * @param buffer バッファ
+     * @param offset バッファ内の開始位置
+     * @param length バイト数
+     * @throws IOException JSONが不正な場合
+     */
+    void feed(byte[] buffer, int offset, int length) throws IOException {
+        if (length > 0) {
+            this.feeder.feedInput(buffer, offset, offset + length);
+            this.drain();
+        }
+    }
+
+    /**
+     * JSONの終端に達したことを通知して解析結果を返します
+     *
+     * @return JsonObject
+     * @throws IOException JSONが不正な場合
+     */
+    JsonObject readObject() throws IOException {
+        this.feeder.endOfInput();
+        this.drain();
+        this.parser.close();
+        if (!(this.result instanceof JsonObject)) {
+            throw new JsonException("JSON object is incomplete");
+        }
+        return (JsonObject) this.result;
+    }
+
+    private void drain() throws IOException {
+        JsonToken token;
+        while ((token = this.parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            switch (token) {
+            case START_OBJECT:
+                this.names.push(this.fieldName != null ? this.fieldName : "");
+                this.builders.push(PROVIDER.createObjectBuilder());
+                break;
+            case START_ARRAY:
+                this.names.push(this.fieldName != null ? this.fieldName : "");
+                this.builders.push(PROVIDER.createArrayBuilder());
+                break;
+            case END_OBJECT: {
+                JsonObject value = ((JsonObjectBuilder) this.builders.pop()).build();
+                this.fieldName = this.names.pop();
+                this.add(value);
+                break;
+            }
+            case END_ARRAY: {
+                JsonValue value = ((JsonArrayBuilder) this.builders.pop()).build();
+                this.fieldName = this.names.pop();
+                this.add(value);
+                break;
+            }
+            case FIELD_NAME:
+                this.fieldName = this.parser.getCurrentName();
+                break;
+            default:
+                JsonValue value = JsonParsers.scalar(this.parser);
+                if (value != null) {
+                    this.add(value);
+                }
+                break;
+            }
+        }
+    }
+
+    private void add(JsonValue value) {
+        Object builder = this.builders.peek();
+        if (builder == null) {
+            this.result = value;
+        } else if (builder instanceof JsonObjectBuilder) {
+            ((JsonObjectBuilder) builder).add(this.fieldName, value);
+        } else {
+            ((JsonArrayBuilder) builder).add(value);
+        }
+        this.fieldName = null;
+    }
+}
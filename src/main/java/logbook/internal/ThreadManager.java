@@ -1,7 +1,10 @@
 package logbook.internal;
 
-import java.util.concurrent.Executors;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 
 /**
  * スレッドを管理します
@@ -9,8 +12,36 @@ import java.util.concurrent.ScheduledExecutorService;
  */
 public final class ThreadManager {
 
+    /**
+     * スレッドプールの用途
+     */
+    public enum Purpose {
+        /** プロキシの後処理やAPIリスナーの呼び出し */
+        DISPATCH,
+        /** ファイルやネットワークの入出力 */
+        IO,
+        /** 画像の圧縮や分解などCPU負荷の高い処理 */
+        IMAGE,
+        /** 定期実行や遅延実行、その他の処理 */
+        SCHEDULED
+    }
+
     /** Executor */
-    private static final ScheduledExecutorService EXECUTOR = Executors.newScheduledThreadPool(4);
+    private static final ScheduledThreadPoolExecutor EXECUTOR = new ScheduledThreadPoolExecutor(4,
+            new ManagedExecutor.NamedThreadFactory("logbook-scheduled"));
+
+    /** プロキシの後処理やAPIリスナーの呼び出しのExecutor */
+    private static final ManagedExecutor DISPATCH = new ManagedExecutor("logbook-dispatch", 4, 1024);
+
+    /** 入出力のExecutor */
+    private static final ManagedExecutor IO = new ManagedExecutor("logbook-io", 2, 256);
+
+    /** CPU負荷の高い処理のExecutor */
+    private static final ManagedExecutor IMAGE = new ManagedExecutor("logbook-image",
+            Math.max(1, Math.min(2, Runtime.getRuntime().availableProcessors() - 1)), 64);
+
+    /** ゲームの状態を更新するタスクのExecutor */
+    private static final SequentialExecutor DISPATCHER = new SequentialExecutor("logbook-dispatcher");
 
     /**
      * アプリケーションで共有するExecutorService
@@ -23,4 +54,67 @@ public final class ThreadManager {
     public static ScheduledExecutorService getExecutorService() {
         return EXECUTOR;
     }
+
+    /**
+     * 用途別のExecutorService
+     * <p>
+     * {@link Purpose#SCHEDULED}以外のExecutorServiceはキューに上限があり、
+     * キューが一杯の場合はタスクを登録したスレッドでタスクが実行されます。
+     * </p>
+     *
+     * @param purpose 用途
+     * @return ExecutorService
+     */
+    public static ExecutorService getExecutorService(Purpose purpose) {
+        switch (purpose) {
+        case DISPATCH:
+            return DISPATCH;
+        case IO:
+            return IO;
+        case IMAGE:
+            return IMAGE;
+        default:
+            return EXECUTOR;
+        }
+    }
+
+    /**
+     * ゲームの状態を更新するタスクを登録された順に1つのスレッドで実行するExecutor
+     * <p>
+     * APIのレスポンスを受け取った順に状態を更新するため、時間のかかる処理を登録しないでください。
+     * </p>
+     *
+     * @return SequentialExecutor
+     */
+    public static SequentialExecutor getDispatcher() {
+        return DISPATCHER;
+    }
+
+    /**
+     * すべてのスレッドプールの統計情報を返します
+     *
+     * @return 統計情報
+     */
+    public static List<ExecutorStatistics> getStatistics() {
+        List<ExecutorStatistics> statistics = new ArrayList<>();
+        statistics.add(new ExecutorStatistics("logbook-dispatcher", 1, DISPATCHER.isActive() ? 1 : 0,
+                DISPATCHER.getQueueSize(), -1, DISPATCHER.getCompletedTaskCount(), 0));
+        statistics.add(DISPATCH.getStatistics());
+        statistics.add(IO.getStatistics());
+        statistics.add(IMAGE.getStatistics());
+        statistics.add(new ExecutorStatistics("logbook-scheduled", EXECUTOR.getPoolSize(), EXECUTOR.getActiveCount(),
+                EXECUTOR.getQueue().size(), -1, EXECUTOR.getCompletedTaskCount(), 0));
+        return statistics;
+    }
+
+    /**
+     * すべてのスレッドプールを停止します
+     */
+    static void shutdownNow() {
+        DISPATCHER.shutdownNow();
+        DISPATCH.shutdownNow();
+        IO.shutdownNow();
+        IMAGE.shutdownNow();
+        EXECUTOR.shutdownNow();
+    }
 }
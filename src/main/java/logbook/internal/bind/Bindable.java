@@ -0,0 +1,30 @@
+package logbook.internal.bind;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * JsonObjectからBeanを構築するバインダーを生成することを表す注釈です。<br>
+ * コンパイル時に{@link BinderProcessor}によって同じパッケージに {@code [クラス名]Binder} が生成されます。
+ * ネストしたクラスのバインダーは {@code [外側のクラス名]_[クラス名]Binder} になります。<br>
+ * <pre><code>
+ * &#64;Bindable
+ * public class SlotItem {
+ *     &#64;JsonKey("api_id")
+ *     private Integer id;
+ *
+ *     public static SlotItem toSlotItem(JsonObject json) {
+ *         return SlotItemBinder.bind(json, new SlotItem());
+ *     }
+ * }
+ * </code></pre>
+ *
+ * @see JsonKey
+ * @see BinderProcessor
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.SOURCE)
+public @interface Bindable {
+}
@@ -0,0 +1,268 @@
+package logbook.internal.bind;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic.Kind;
+
+/**
+ * {@link Bindable}注釈が付与されたクラスのバインダーを生成する注釈プロセッサです。<br>
+ * <br>
+ * 生成されるバインダーはJsonObjectのエントリを1度だけ走査し、キーによるswitchで
+ * {@link JsonKey}注釈が付与されたフィールドのsetterを直接呼び出します。
+ * {@code JsonHelper.Bind}と異なり、フィールド毎のキーの検索とラムダ式の呼び出しを行いません。<br>
+ * また、2つのBeanの{@link JsonKey}注釈が付与されたフィールドを比較して変更されたフィールド名を返す
+ * {@code diff}メソッドを生成します。<br>
+ * <br>
+ * 対応するフィールドの型は次の通りです。
+ * <ul>
+ * <li>Integer, Long, Double, BigDecimal, String, Boolean</li>
+ * <li>上記(Booleanを除く)のList</li>
+ * <li>上記(Booleanを除く)のListのList</li>
+ * <li>{@link Bindable}注釈が付与されたクラス</li>
+ * </ul>
+ */
+public final class BinderProcessor extends AbstractProcessor {
+
+    /** 値の型と変換する式 */
+    private static final Map<String, String> SCALARS = new HashMap<>();
+
+    /** Listの要素の型とJsonArrayを変換するメソッド */
+    private static final Map<String, String> LISTS = new HashMap<>();
+
+    static {
+        SCALARS.put("java.lang.Integer", "JsonHelper.toInteger(val)");
+        SCALARS.put("java.lang.Long", "JsonHelper.toLong(val)");
+        SCALARS.put("java.lang.Double", "JsonHelper.toDouble(val)");
+        SCALARS.put("java.math.BigDecimal", "JsonHelper.toBigDecimal(val)");
+        SCALARS.put("java.lang.String", "JsonHelper.toString(val)");
+        SCALARS.put("java.lang.Boolean", "JsonHelper.toBoolean(val)");
+
+        LISTS.put("java.lang.Integer", "toIntegerList");
+        LISTS.put("java.lang.Long", "toLongList");
+        LISTS.put("java.lang.Double", "toDoubleList");
+        LISTS.put("java.math.BigDecimal", "toBigDecimalList");
+        LISTS.put("java.lang.String", "toStringList");
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(Bindable.class.getName());
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(Bindable.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                this.processingEnv.getMessager()
+                        .printMessage(Kind.ERROR, "@Bindable is only applicable to classes", element);
+                continue;
+            }
+            try {
+                this.generate((TypeElement) element);
+            } catch (IOException e) {
+                this.processingEnv.getMessager()
+                        .printMessage(Kind.ERROR, "Failed to generate binder: " + e, element);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * バインダーを生成します
+     *
+     * @param type {@link Bindable}注釈が付与されたクラス
+     * @throws IOException ソースファイルの作成に失敗した場合
+     */
+    private void generate(TypeElement type) throws IOException {
+        String packageName = this.packageOf(type).getQualifiedName().toString();
+        String binderName = binderName(type);
+        String beanName = type.getQualifiedName().toString();
+
+        List<String[]> cases = new ArrayList<>();
+        for (Element member : type.getEnclosedElements()) {
+            JsonKey key = member.getAnnotation(JsonKey.class);
+            if (key == null || member.getKind() != ElementKind.FIELD) {
+                continue;
+            }
+            VariableElement field = (VariableElement) member;
+            if (field.getModifiers().contains(Modifier.STATIC)) {
+                this.processingEnv.getMessager()
+                        .printMessage(Kind.ERROR, "@JsonKey is not applicable to static fields", field);
+                continue;
+            }
+            String expression = this.expression(field.asType());
+            if (expression == null) {
+                this.processingEnv.getMessager()
+                        .printMessage(Kind.ERROR, "Unsupported field type for @JsonKey: " + field.asType(), field);
+                continue;
+            }
+            String name = field.getSimpleName().toString();
+            String setter = "set" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+            String getter = "get" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+            cases.add(new String[] { key.value(), setter, expression, getter, name });
+        }
+
+        String qualifiedName = packageName.isEmpty() ? binderName : packageName + "." + binderName;
+        try (PrintWriter w = new PrintWriter(
+                this.processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter())) {
+            if (!packageName.isEmpty()) {
+                w.println("package " + packageName + ";");
+                w.println();
+            }
+            w.println("import java.util.Collections;");
+            w.println("import java.util.LinkedHashSet;");
+            w.println("import java.util.Map;");
+            w.println("import java.util.Objects;");
+            w.println("import java.util.Set;");
+            w.println();
+            w.println("import javax.json.JsonArray;");
+            w.println("import javax.json.JsonObject;");
+            w.println("import javax.json.JsonValue;");
+            w.println();
+            w.println("import logbook.internal.JsonHelper;");
+            w.println();
+            w.println("/**");
+            w.println(" * {@link " + beanName + "}のバインダー (" + BinderProcessor.class.getSimpleName() + "により生成)");
+            w.println(" */");
+            w.println("final class " + binderName + " {");
+            w.println();
+            w.println("    private " + binderName + "() {");
+            w.println("    }");
+            w.println();
+            w.println("    /**");
+            w.println("     * JsonObjectの値をbeanに設定します");
+            w.println("     *");
+            w.println("     * @param json JsonObject");
+            w.println("     * @param bean 値を設定するBean");
+            w.println("     * @return bean");
+            w.println("     */");
+            w.println("    static " + beanName + " bind(JsonObject json, " + beanName + " bean) {");
+            w.println("        for (Map.Entry<String, JsonValue> entry : json.entrySet()) {");
+            w.println("            JsonValue val = entry.getValue();");
+            w.println("            if (val == null || val.getValueType() == JsonValue.ValueType.NULL) {");
+            w.println("                continue;");
+            w.println("            }");
+            w.println("            switch (entry.getKey()) {");
+            for (String[] c : cases) {
+                w.println("            case \"" + c[0] + "\":");
+                w.println("                bean." + c[1] + "(" + c[2] + ");");
+                w.println("                break;");
+            }
+            w.println("            default:");
+            w.println("                break;");
+            w.println("            }");
+            w.println("        }");
+            w.println("        return bean;");
+            w.println("    }");
+            w.println();
+            w.println("    /**");
+            w.println("     * 2つのBeanを比較して値が異なるフィールド名を返します");
+            w.println("     *");
+            w.println("     * @param before 変更前のBean");
+            w.println("     * @param after 変更後のBean");
+            w.println("     * @return 値が異なるフィールド名、すべて同じ場合は空のSet");
+            w.println("     */");
+            w.println("    static Set<String> diff(" + beanName + " before, " + beanName + " after) {");
+            w.println("        Set<String> changed = null;");
+            for (String[] c : cases) {
+                w.println("        if (!Objects.equals(before." + c[3] + "(), after." + c[3] + "())) {");
+                w.println("            changed = changed == null ? new LinkedHashSet<>() : changed;");
+                w.println("            changed.add(\"" + c[4] + "\");");
+                w.println("        }");
+            }
+            w.println("        return changed == null ? Collections.emptySet() : changed;");
+            w.println("    }");
+            w.println("}");
+        }
+    }
+
+    /**
+     * JsonValue(変数val)をフィールドの型に変換する式を返します
+     *
+     * @param type フィールドの型
+     * @return 式、対応していない型の場合null
+     */
+    private String expression(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        DeclaredType declared = (DeclaredType) type;
+        TypeElement element = (TypeElement) declared.asElement();
+        String name = element.getQualifiedName().toString();
+
+        String scalar = SCALARS.get(name);
+        if (scalar != null) {
+            return scalar;
+        }
+        if (element.getAnnotation(Bindable.class) != null) {
+            return this.qualifiedBinderName(element) + ".bind((JsonObject) val, new " + name + "())";
+        }
+        if ("java.util.List".equals(name) && declared.getTypeArguments().size() == 1) {
+            TypeMirror arg = declared.getTypeArguments().get(0);
+            String list = LISTS.get(arg.toString());
+            if (list != null) {
+                return "JsonHelper." + list + "((JsonArray) val)";
+            }
+            if (arg.getKind() == TypeKind.DECLARED) {
+                DeclaredType inner = (DeclaredType) arg;
+                if ("java.util.List".equals(((TypeElement) inner.asElement()).getQualifiedName().toString())
+                        && inner.getTypeArguments().size() == 1) {
+                    String innerList = LISTS.get(inner.getTypeArguments().get(0).toString());
+                    if (innerList != null) {
+                        return "JsonHelper.toList(val, JsonHelper::" + innerList + ")";
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private PackageElement packageOf(Element element) {
+        return this.processingEnv.getElementUtils().getPackageOf(element);
+    }
+
+    private String qualifiedBinderName(TypeElement type) {
+        String packageName = this.packageOf(type).getQualifiedName().toString();
+        return packageName.isEmpty() ? binderName(type) : packageName + "." + binderName(type);
+    }
+
+    /**
+     * バインダーのクラス名を返します
+     *
+     * @param type {@link Bindable}注釈が付与されたクラス
+     * @return バインダーのクラス名
+     */
+    private static String binderName(TypeElement type) {
+        StringBuilder sb = new StringBuilder(type.getSimpleName());
+        Element enclosing = type.getEnclosingElement();
+        while (enclosing instanceof TypeElement) {
+            sb.insert(0, '_').insert(0, enclosing.getSimpleName());
+            enclosing = enclosing.getEnclosingElement();
+        }
+        return sb.append("Binder").toString();
+    }
+}
@@ -0,0 +1,24 @@
+package logbook.internal.bind;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * フィールドに設定するJsonObjectのキーを表す注釈です。<br>
+ * 値はフィールド名から導出したsetterで設定されます。
+ *
+ * @see Bindable
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.SOURCE)
+public @interface JsonKey {
+
+    /**
+     * JsonObjectのキーを返します
+     *
+     * @return JsonObjectのキー
+     */
+    String value();
+}
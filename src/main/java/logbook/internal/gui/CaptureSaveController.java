@@ -30,6 +30,7 @@ import javafx.stage.DirectoryChooser;
 import javafx.stage.WindowEvent;
 import logbook.bean.AppConfig;
 import logbook.internal.ThreadManager;
+import logbook.internal.ThreadManager.Purpose;
 import logbook.internal.gui.ScreenCapture.ImageData;
 
 /**
@@ -125,7 +126,7 @@ public class CaptureSaveController extends WindowController {
                                 CaptureSaveController.this.getWindow());
                     }
                 };
-                ThreadManager.getExecutorService().execute(task);
+                ThreadManager.getExecutorService(Purpose.IO).execute(task);
             }
         }
     }
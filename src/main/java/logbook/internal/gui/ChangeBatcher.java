@@ -0,0 +1,54 @@
+package logbook.internal.gui;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import javafx.application.Platform;
+import logbook.internal.ChangeEvent;
+
+/**
+ * {@link logbook.internal.ChangeBus}の変更をまとめてFXアプリケーションスレッドで処理します。<br>
+ * FXアプリケーションスレッドで処理されるまでに届いた変更は、変更されたBeanの型の集合として1回で渡されます
+ *
+ */
+final class ChangeBatcher implements Consumer<ChangeEvent> {
+
+    private final Consumer<Set<Class<?>>> handler;
+
+    private final Set<Class<?>> pending = ConcurrentHashMap.newKeySet();
+
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * 変更をまとめて処理するChangeBatcherを作成します
+     *
+     * @param handler 変更されたBeanの型の集合を受け取るConsumer
+     */
+    ChangeBatcher(Consumer<Set<Class<?>>> handler) {
+        this.handler = handler;
+    }
+
+    @Override
+    public void accept(ChangeEvent event) {
+        this.pending.add(event.getType());
+        if (this.scheduled.compareAndSet(false, true)) {
+            Platform.runLater(this::flush);
+        }
+    }
+
+    private void flush() {
+        this.scheduled.set(false);
+        Set<Class<?>> types = new LinkedHashSet<>();
+        for (Iterator<Class<?>> it = this.pending.iterator(); it.hasNext();) {
+            types.add(it.next());
+            it.remove();
+        }
+        if (!types.isEmpty()) {
+            this.handler.accept(types);
+        }
+    }
+}
@@ -24,10 +24,12 @@ import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.stage.DirectoryChooser;
 import javafx.stage.FileChooser;
 import logbook.bean.AppConfig;
+import logbook.internal.ChangeBus;
 import logbook.internal.Config;
 import logbook.internal.LoggerHolder;
 import logbook.internal.ShipImageCacheStrategy;
 import logbook.internal.ThreadManager;
+import logbook.internal.ThreadManager.Purpose;
 import logbook.internal.ToStringConverter;
 import logbook.plugin.PluginContainer;
 import logbook.plugin.PluginServices;
@@ -375,7 +377,9 @@ public class ConfigController extends WindowController {
         conf.setFfmpegExt(this.ffmpegExt.getText());
         conf.setUsePlugin(this.usePlugin.isSelected());
 
-        ThreadManager.getExecutorService()
+        ChangeBus.get().publish(AppConfig.class);
+
+        ThreadManager.getExecutorService(Purpose.IO)
                 .execute(Config.getDefault()::store);
         this.getWindow().close();
     }
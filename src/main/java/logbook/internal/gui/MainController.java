@@ -8,6 +8,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import javafx.animation.Animation;
 import javafx.animation.KeyFrame;
@@ -37,6 +38,7 @@ import logbook.bean.ShipCollection;
 import logbook.bean.ShipMst;
 import logbook.bean.SlotItemCollection;
 import logbook.internal.Audios;
+import logbook.internal.ChangeBus;
 import logbook.internal.LoggerHolder;
 import logbook.internal.Ships;
 import logbook.internal.proxy.ProxyHolder;
@@ -59,14 +61,8 @@ public class MainController extends WindowController {
 
     private String shipFormat;
 
-    /** 艦隊コレクションのハッシュ・コード */
-    private long portHashCode;
-
-    /** 入渠ドックコレクションのハッシュ・コード */
-    private long ndockHashCode;
-
-    /** 任務コレクションのハッシュ・コード */
-    private long questHashCode;
+    /** ゲームの状態の変更 */
+    private final ChangeBatcher changes = new ChangeBatcher(this::changed);
 
     /** 遠征通知のタイムスタンプ */
     private Map<Integer, Long> timeStampMission = new HashMap<>();
@@ -121,6 +117,11 @@ public class MainController extends WindowController {
             // 古い任務を除く
             AppQuestCollection.get()
                     .update();
+            ChangeBus.get().publish(AppQuestCollection.class);
+
+            // ゲームの状態が変更された時のみ画面を再構築する
+            ChangeBus.get().subscribe(this.changes);
+            this.changed(ChangeBus.get().getTypes());
 
             timeline.play();
 
@@ -163,22 +164,18 @@ public class MainController extends WindowController {
     }
 
     /**
-     * 画面の更新
+     * 画面の更新(残り時間の表示と通知)
      *
      * @param e
      */
     void update(ActionEvent e) {
         try {
-            // 所有装備/所有艦娘
-            this.button();
-            // 艦隊タブ・遠征
-            this.checkPort();
+            // 遠征
+            this.missionTimer();
             // 泊地修理タイマー
             this.akashiTimer();
             // 入渠ドック
-            this.ndock();
-            // 任務
-            this.quest();
+            this.ndockTimer();
 
             // 遠征・入渠完了時に通知をする
             if (AppConfig.get().isUseNotification()) {
@@ -192,6 +189,41 @@ public class MainController extends WindowController {
         }
     }
 
+    /**
+     * ゲームの状態が変更された時の画面の更新
+     *
+     * @param types 変更されたBeanの型
+     */
+    void changed(Set<Class<?>> types) {
+        try {
+            boolean port = types.contains(DeckPortCollection.class);
+            // 所有装備/所有艦娘
+            if (types.contains(SlotItemCollection.class) || types.contains(ShipCollection.class)
+                    || types.contains(Basic.class) || types.contains(AppConfig.class)) {
+                this.button();
+            }
+            // 艦隊タブ
+            if (port || types.contains(ShipCollection.class) || types.contains(NdockCollection.class)
+                    || types.contains(AppCondition.class)) {
+                this.fleetTab(port);
+            }
+            // 遠征
+            if (port) {
+                this.mission();
+            }
+            // 入渠ドック
+            if (types.contains(NdockCollection.class)) {
+                this.ndock();
+            }
+            // 任務
+            if (types.contains(AppQuestCollection.class)) {
+                this.quest();
+            }
+        } catch (Exception ex) {
+            LoggerHolder.get().error("画面の更新に失敗しました", ex);
+        }
+    }
+
     /**
      * 所有装備/所有艦娘の更新
      */
@@ -231,20 +263,6 @@ public class MainController extends WindowController {
         }
     }
 
-    /**
-     * 艦隊の確認
-     */
-    private void checkPort() {
-        Map<Integer, DeckPort> ports = DeckPortCollection.get()
-                .getDeckPortMap();
-        long newHashCode = hashCode(ports);
-        boolean change = this.portHashCode != newHashCode;
-        this.portHashCode = newHashCode;
-
-        this.fleetTab(change);
-        this.mission(change);
-    }
-
     /**
      * 艦隊タブの更新
      *
@@ -307,24 +325,25 @@ public class MainController extends WindowController {
 
     /**
      * 遠征の更新
-     *
-     * @param change 艦隊の変更フラグ
      */
-    private void mission(boolean change) {
+    private void mission() {
         ObservableList<Node> mission = this.missionbox.getChildren();
-        if (change) {
-            Map<Integer, DeckPort> ports = DeckPortCollection.get()
-                    .getDeckPortMap();
-            mission.clear();
-            ports.values().stream()
-                    .skip(1)
-                    .map(MissionPane::new)
-                    .forEach(mission::add);
-        } else {
-            for (Node node : mission) {
-                if (node instanceof MissionPane) {
-                    ((MissionPane) node).update();
-                }
+        Map<Integer, DeckPort> ports = DeckPortCollection.get()
+                .getDeckPortMap();
+        mission.clear();
+        ports.values().stream()
+                .skip(1)
+                .map(MissionPane::new)
+                .forEach(mission::add);
+    }
+
+    /**
+     * 遠征の残り時間の更新
+     */
+    private void missionTimer() {
+        for (Node node : this.missionbox.getChildren()) {
+            if (node instanceof MissionPane) {
+                ((MissionPane) node).update();
             }
         }
     }
@@ -355,23 +374,21 @@ public class MainController extends WindowController {
         Map<Integer, Ndock> ndockMap = NdockCollection.get()
                 .getNdockMap();
         ObservableList<Node> ndock = this.ndockbox.getChildren();
-        long newHashCode = hashCode(ndockMap);
-        if (this.ndockHashCode != newHashCode) {
-            // ハッシュ・コードが変わっている場合入渠ドックの更新
-            ndock.clear();
-            ndockMap.values()
-                    .stream()
-                    .filter(n -> 1 < n.getCompleteTime())
-                    .map(NdockPane::new)
-                    .forEach(ndock::add);
-            // ハッシュ・コードの更新
-            this.ndockHashCode = newHashCode;
-        } else {
-            // ハッシュ・コードが変わっていない場合updateメソッドを呼ぶ
-            for (Node node : ndock) {
-                if (node instanceof NdockPane) {
-                    ((NdockPane) node).update();
-                }
+        ndock.clear();
+        ndockMap.values()
+                .stream()
+                .filter(n -> 1 < n.getCompleteTime())
+                .map(NdockPane::new)
+                .forEach(ndock::add);
+    }
+
+    /**
+     * 入渠ドックの残り時間の更新
+     */
+    private void ndockTimer() {
+        for (Node node : this.ndockbox.getChildren()) {
+            if (node instanceof NdockPane) {
+                ((NdockPane) node).update();
             }
         }
     }
@@ -382,18 +399,12 @@ public class MainController extends WindowController {
     private void quest() {
         Map<Integer, AppQuest> questMap = AppQuestCollection.get()
                 .getQuest();
-        long newHashCode = hashCode(questMap);
-        if (this.questHashCode != newHashCode) {
-            // ハッシュ・コードが変わっている場合任務の更新
-            ObservableList<Node> quest = this.questbox.getChildren();
-            quest.clear();
-            questMap.values()
-                    .stream()
-                    .map(QuestPane::new)
-                    .forEach(quest::add);
-            // ハッシュ・コードの更新
-            this.questHashCode = newHashCode;
-        }
+        ObservableList<Node> quest = this.questbox.getChildren();
+        quest.clear();
+        questMap.values()
+                .stream()
+                .map(QuestPane::new)
+                .forEach(quest::add);
     }
 
     /**
@@ -528,14 +539,4 @@ public class MainController extends WindowController {
             }
         }
     }
-
-    private static long hashCode(Map<?, ?> map) {
-        long h = 59;
-        Iterator<?> i = map.entrySet().iterator();
-        while (i.hasNext()) {
-            h *= 63;
-            h += i.next().hashCode();
-        }
-        return h;
-    }
 }
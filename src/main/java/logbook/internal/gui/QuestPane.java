@@ -19,6 +19,7 @@ import javafx.scene.shape.Arc;
 import logbook.bean.AppQuest;
 import logbook.bean.AppQuestCollection;
 import logbook.bean.QuestList.Quest;
+import logbook.internal.ChangeBus;
 import logbook.internal.LoggerHolder;
 import logbook.internal.ThreadManager;
 
@@ -132,6 +133,7 @@ public class QuestPane extends HBox {
         AppQuestCollection.get()
                 .getQuest()
                 .remove(this.quest.getNo());
+        ChangeBus.get().publish(AppQuestCollection.class);
     }
 
     @FXML
@@ -139,6 +141,7 @@ public class QuestPane extends HBox {
         AppQuestCollection.get()
                 .getQuest()
                 .clear();
+        ChangeBus.get().publish(AppQuestCollection.class);
     }
 
     @FXML
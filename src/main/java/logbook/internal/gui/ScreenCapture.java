@@ -37,6 +37,7 @@ import javafx.collections.ObservableList;
 import logbook.internal.BiImage;
 import logbook.internal.LoggerHolder;
 import logbook.internal.ThreadManager;
+import logbook.internal.ThreadManager.Purpose;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -127,12 +128,12 @@ class ScreenCapture {
     }
 
     void capture() throws IOException {
-        ThreadManager.getExecutorService()
+        ThreadManager.getExecutorService(Purpose.IMAGE)
                 .execute(this::execute);
     }
 
     void captureDirect(Path dir) {
-        ThreadManager.getExecutorService()
+        ThreadManager.getExecutorService(Purpose.IMAGE)
                 .execute(() -> this.executeDirect(dir));
     }
 
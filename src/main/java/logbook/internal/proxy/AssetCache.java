@@ -0,0 +1,491 @@
+package logbook.internal.proxy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.Properties;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.client.api.Response;
+import org.eclipse.jetty.http.HttpField;
+import org.eclipse.jetty.http.HttpFields;
+import org.eclipse.jetty.http.HttpHeader;
+
+import logbook.internal.LoggerHolder;
+
+/**
+ * /kcs2/ の静的リソースをローカルに保存し、同じリソースへのリクエストに応答するキャッシュ
+ * <p>
+ * 保存したリソースは次のように扱います。
+ * <ul>
+ * <li>リクエストのversionパラメータが保存時と同じ場合はアップストリームに問い合わせずに応答します</li>
+ * <li>versionパラメータが異なる又は無い場合はETag/Last-Modifiedでアップストリームに再検証し、
+ * 304が返ってきた場合は保存したリソースで応答します</li>
+ * <li>保存していない場合はアップストリームに転送し、200の応答を保存します</li>
+ * </ul>
+ * 保存したリソースで200を応答した場合も、アップストリームから受信した場合と同様に
+ * レスポンスを受け入れる{@link logbook.proxy.ContentListenerSpi}に渡します。
+ * </p>
+ */
+final class AssetCache {
+
+    /** 対象のURI */
+    private static final String[] PREFIXES = { "/kcs2/resources/", "/kcs2/img/" };
+
+    private static final String META_SUFFIX = ".meta";
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path dir;
+
+    /**
+     * 指定されたディレクトリにリソースを保存するキャッシュを作成します
+     *
+     * @param dir 保存先ディレクトリ
+     */
+    AssetCache(Path dir) {
+        this.dir = dir.toAbsolutePath().normalize();
+    }
+
+    /**
+     * キャッシュの対象となるリクエストかを返します
+     *
+     * @param request リクエスト
+     * @return キャッシュの対象となる場合true
+     */
+    static boolean isTarget(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod()) || request.getHeader(HttpHeader.RANGE.asString()) != null) {
+            return false;
+        }
+        String uri = request.getRequestURI();
+        for (String prefix : PREFIXES) {
+            if (uri.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * リクエストを処理するExchangeを作成します
+     *
+     * @param request リクエスト
+     * @return Exchange、保存先を決められないURIの場合null
+     */
+    Exchange exchange(HttpServletRequest request) {
+        Path file = this.resolve(request.getRequestURI());
+        if (file == null) {
+            return null;
+        }
+        return new Exchange(file, version(request.getQueryString()));
+    }
+
+    /**
+     * 保存したリソースを取得します
+     *
+     * @param file 保存先
+     * @return 保存したリソース、存在しないか壊れている場合null
+     */
+    static Entry get(Path file) {
+        Path meta = meta(file);
+        if (!Files.isReadable(meta) || !Files.isReadable(file)) {
+            return null;
+        }
+        try (InputStream in = Files.newInputStream(meta)) {
+            Properties properties = new Properties();
+            properties.load(in);
+            Entry entry = new Entry(file, properties);
+            if (entry.getLength() != Files.size(file)) {
+                return null;
+            }
+            return entry;
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * URIから保存先を解決します
+     *
+     * @param uri URI
+     * @return 保存先、キャッシュのディレクトリ外を指す場合null
+     */
+    Path resolve(String uri) {
+        if (uri == null || uri.contains("..") || uri.indexOf(':') >= 0) {
+            return null;
+        }
+        Path file = this.dir.resolve(uri.replaceFirst("^/+", "")).normalize();
+        if (!file.startsWith(this.dir) || file.equals(this.dir)) {
+            return null;
+        }
+        return file;
+    }
+
+    /**
+     * クエリ文字列からversionパラメータを取り出します
+     *
+     * @param query クエリ文字列
+     * @return versionパラメータ、無い場合null
+     */
+    static String version(String query) {
+        if (query == null) {
+            return null;
+        }
+        for (String param : query.split("&")) {
+            if (param.startsWith("version=")) {
+                return param.substring("version=".length());
+            }
+        }
+        return null;
+    }
+
+    private static Path meta(Path file) {
+        return file.resolveSibling(file.getFileName() + META_SUFFIX);
+    }
+
+    /**
+     * 保存したリソース
+     */
+    static final class Entry {
+
+        private final Path file;
+
+        private final Properties properties;
+
+        Entry(Path file, Properties properties) {
+            this.file = file;
+            this.properties = properties;
+        }
+
+        String getVersion() {
+            return this.properties.getProperty("version");
+        }
+
+        String getETag() {
+            return this.properties.getProperty(HttpHeader.ETAG.asString());
+        }
+
+        String getLastModified() {
+            return this.properties.getProperty(HttpHeader.LAST_MODIFIED.asString());
+        }
+
+        long getLength() {
+            return Long.parseLong(this.properties.getProperty(HttpHeader.CONTENT_LENGTH.asString()));
+        }
+
+        /**
+         * 再検証せずに応答できるかを返します
+         *
+         * @param version リクエストのversionパラメータ
+         * @return 応答できる場合true
+         */
+        boolean isFresh(String version) {
+            return version != null && version.equals(this.getVersion());
+        }
+
+        /**
+         * 条件付きリクエストに対して304を返せるかを返します
+         *
+         * @param ifNoneMatch If-None-Match
+         * @param ifModifiedSince If-Modified-Since
+         * @return 304を返せる場合true
+         */
+        boolean isNotModified(String ifNoneMatch, String ifModifiedSince) {
+            if (ifNoneMatch != null) {
+                return this.getETag() != null && ifNoneMatch.contains(this.getETag());
+            }
+            return ifModifiedSince != null && ifModifiedSince.equals(this.getLastModified());
+        }
+
+        /**
+         * レスポンスヘッダーを設定します
+         *
+         * @param response レスポンス
+         */
+        void setHeaders(HttpServletResponse response) {
+            for (String name : this.properties.stringPropertyNames()) {
+                if (!"version".equals(name)) {
+                    response.setHeader(name, this.properties.getProperty(name));
+                }
+            }
+        }
+
+        /**
+         * 保存したリソースを読み込む新しいInputStreamを返します
+         *
+         * @return 保存したリソース
+         * @throws IOException 入出力例外
+         */
+        InputStream newInputStream() throws IOException {
+            return Files.newInputStream(this.file);
+        }
+
+        /**
+         * 保存したリソースを書き込みます
+         *
+         * @param out 出力先
+         * @throws IOException 入出力例外
+         */
+        void writeTo(OutputStream out) throws IOException {
+            Files.copy(this.file, out);
+        }
+
+        /**
+         * versionパラメータを更新します
+         *
+         * @param version versionパラメータ
+         */
+        void updateVersion(String version) {
+            if (version == null || version.equals(this.getVersion())) {
+                return;
+            }
+            this.properties.setProperty("version", version);
+            try {
+                writeMeta(this.file, this.properties);
+            } catch (IOException e) {
+                LoggerHolder.get().warn("キャッシュの更新に失敗しました", e);
+            }
+        }
+    }
+
+    /**
+     * 1つのリクエストに対するキャッシュの処理
+     */
+    static final class Exchange {
+
+        private final Path file;
+
+        private final String version;
+
+        private Entry cached;
+
+        /** アップストリームに条件付きリクエストで再検証している */
+        private boolean revalidating;
+
+        /** アップストリームの304に対して保存したリソースで応答する */
+        private boolean revalidated;
+
+        private Path temp;
+
+        private FileChannel channel;
+
+        private Properties properties;
+
+        Exchange(Path file, String version) {
+            this.file = file;
+            this.version = version;
+            this.cached = get(file);
+        }
+
+        /**
+         * アップストリームに問い合わせずに応答できる場合は応答します
+         *
+         * @param request リクエスト
+         * @param response レスポンス
+         * @return 応答した場合true
+         * @throws IOException 入出力例外
+         */
+        boolean serve(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            if (this.cached == null || !this.cached.isFresh(this.version)) {
+                return false;
+            }
+            this.cached.setHeaders(response);
+            if (this.cached.isNotModified(request.getHeader(HttpHeader.IF_NONE_MATCH.asString()),
+                    request.getHeader(HttpHeader.IF_MODIFIED_SINCE.asString()))) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                response.setHeader(HttpHeader.CONTENT_LENGTH.asString(), null);
+                return true;
+            }
+            response.setStatus(HttpServletResponse.SC_OK);
+            this.cached.writeTo(response.getOutputStream());
+            return true;
+        }
+
+        /**
+         * アップストリームの304に対して保存したリソースで応答したかを返します
+         *
+         * @return 保存したリソースで応答した場合true
+         */
+        boolean isRevalidated() {
+            return this.revalidated;
+        }
+
+        /**
+         * 応答に使用した保存したリソースを読み込む新しいInputStreamを返します
+         *
+         * @return 保存したリソース
+         * @throws IOException 入出力例外
+         */
+        InputStream openCached() throws IOException {
+            return this.cached.newInputStream();
+        }
+
+        /**
+         * 保存したリソースがある場合、条件付きリクエストにします
+         *
+         * @param proxyRequest アップストリームへのリクエスト
+         */
+        void customize(Request proxyRequest) {
+            HttpFields headers = proxyRequest.getHeaders();
+            if (this.cached == null
+                    || headers.containsKey(HttpHeader.IF_NONE_MATCH.asString())
+                    || headers.containsKey(HttpHeader.IF_MODIFIED_SINCE.asString())) {
+                // クライアントの条件付きリクエストはそのまま転送する
+                return;
+            }
+            if (this.cached.getETag() != null) {
+                proxyRequest.header(HttpHeader.IF_NONE_MATCH, this.cached.getETag());
+                this.revalidating = true;
+            }
+            if (this.cached.getLastModified() != null) {
+                proxyRequest.header(HttpHeader.IF_MODIFIED_SINCE, this.cached.getLastModified());
+                this.revalidating = true;
+            }
+        }
+
+        /**
+         * レスポンスヘッダーを受け取ります
+         *
+         * @param response クライアントへのレスポンス
+         * @param proxyResponse アップストリームからのレスポンス
+         * @return 保存したリソースで応答する場合true
+         */
+        boolean onResponseHeaders(HttpServletResponse response, Response proxyResponse) {
+            if (this.revalidating && proxyResponse.getStatus() == HttpServletResponse.SC_NOT_MODIFIED) {
+                this.revalidated = true;
+                response.setStatus(HttpServletResponse.SC_OK);
+                this.cached.setHeaders(response);
+                return true;
+            }
+            if (proxyResponse.getStatus() == HttpServletResponse.SC_OK) {
+                this.begin(proxyResponse.getHeaders());
+            }
+            return false;
+        }
+
+        /**
+         * レスポンスボディを保存します
+         *
+         * @param buffer バッファ
+         * @param offset 開始位置
+         * @param length 長さ
+         */
+        void onResponseContent(byte[] buffer, int offset, int length) {
+            if (this.channel == null) {
+                return;
+            }
+            try {
+                ByteBuffer data = ByteBuffer.wrap(buffer, offset, length);
+                while (data.hasRemaining()) {
+                    this.channel.write(data);
+                }
+            } catch (IOException e) {
+                LoggerHolder.get().warn("キャッシュの書き込みに失敗しました", e);
+                this.abort();
+            }
+        }
+
+        /**
+         * レスポンスが完了しました。再検証した場合は保存したリソースを書き込み、そうでなければ保存を確定します
+         *
+         * @param response クライアントへのレスポンス
+         * @throws IOException 入出力例外
+         */
+        void onResponseSuccess(HttpServletResponse response) throws IOException {
+            if (this.revalidated) {
+                this.cached.writeTo(response.getOutputStream());
+                this.cached.updateVersion(this.version);
+                return;
+            }
+            if (this.channel == null) {
+                return;
+            }
+            try {
+                this.properties.setProperty(HttpHeader.CONTENT_LENGTH.asString(),
+                        Long.toString(this.channel.size()));
+                this.channel.close();
+                this.channel = null;
+                // 古いメタデータと新しいリソースの組み合わせを読まないようにする
+                Files.deleteIfExists(meta(this.file));
+                Files.move(this.temp, this.file, StandardCopyOption.REPLACE_EXISTING);
+                writeMeta(this.file, this.properties);
+            } catch (IOException e) {
+                LoggerHolder.get().warn("キャッシュの保存に失敗しました", e);
+                this.abort();
+            }
+        }
+
+        /**
+         * 保存を中止します
+         */
+        void abort() {
+            try {
+                if (this.channel != null) {
+                    this.channel.close();
+                }
+                if (this.temp != null) {
+                    Files.deleteIfExists(this.temp);
+                }
+            } catch (IOException e) {
+                LoggerHolder.get().warn("キャッシュの一時ファイルの削除に失敗しました", e);
+            }
+            this.channel = null;
+            this.temp = null;
+        }
+
+        private void begin(HttpFields headers) {
+            if (headers.containsKey(HttpHeader.CONTENT_RANGE.asString())) {
+                return;
+            }
+            Properties properties = new Properties();
+            for (HttpHeader name : new HttpHeader[] { HttpHeader.CONTENT_TYPE, HttpHeader.CONTENT_ENCODING,
+                    HttpHeader.ETAG, HttpHeader.LAST_MODIFIED }) {
+                HttpField field = headers.getField(name);
+                if (field != null) {
+                    properties.setProperty(name.asString(), field.getValue());
+                }
+            }
+            // 再検証の手段がない場合は保存しない
+            if (this.version == null && !properties.containsKey(HttpHeader.ETAG.asString())
+                    && !properties.containsKey(HttpHeader.LAST_MODIFIED.asString())) {
+                return;
+            }
+            if (this.version != null) {
+                properties.setProperty("version", this.version);
+            }
+            try {
+                Files.createDirectories(this.file.getParent());
+                this.temp = Files.createTempFile(this.file.getParent(), this.file.getFileName().toString(),
+                        TEMP_SUFFIX);
+                this.channel = FileChannel.open(this.temp, StandardOpenOption.WRITE);
+                this.properties = properties;
+            } catch (IOException e) {
+                LoggerHolder.get().warn("キャッシュの作成に失敗しました", e);
+                this.abort();
+            }
+        }
+    }
+
+    private static void writeMeta(Path file, Properties properties) throws IOException {
+        Path meta = meta(file);
+        Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), TEMP_SUFFIX);
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                properties.store(out, Objects.toString(file.getFileName()));
+            }
+            Files.move(temp, meta, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
@@ -17,6 +17,8 @@ public class ByteArrayInputStream2 extends InputStream {
     private List<byte[]> l;
     private Iterator<byte[]> e;
     private InputStream in;
+    private int length;
+    private int remaining;
 
     public ByteArrayInputStream2(byte[] b) {
         this(Collections.singletonList(b));
@@ -27,8 +29,20 @@ public class ByteArrayInputStream2 extends InputStream {
     }
 
     public ByteArrayInputStream2(List<byte[]> l) {
+        this(l, l.stream().mapToInt(b -> b.length).sum());
+    }
+
+    /**
+     * 複数のバイト配列の先頭から合計lengthバイトを1つのInputStreamとして扱います
+     *
+     * @param l バイト配列のリスト
+     * @param length 読み込むバイト数
+     */
+    public ByteArrayInputStream2(List<byte[]> l, int length) {
         this.l = l;
         this.e = l.iterator();
+        this.length = length;
+        this.remaining = length;
         this.nextStream();
     }
 
@@ -53,6 +67,7 @@ public class ByteArrayInputStream2 extends InputStream {
     public void reset() throws IOException {
         this.e = this.l.iterator();
         this.in = null;
+        this.remaining = this.length;
         this.nextStream();
     }
 
@@ -95,8 +110,11 @@ public class ByteArrayInputStream2 extends InputStream {
     }
 
     private void nextStream() {
-        if (this.e.hasNext()) {
-            this.in = new ByteArrayInputStream(this.e.next());
+        if (this.remaining > 0 && this.e.hasNext()) {
+            byte[] b = this.e.next();
+            int len = Math.min(b.length, this.remaining);
+            this.remaining -= len;
+            this.in = new ByteArrayInputStream(b, 0, len);
         } else {
             this.in = null;
         }
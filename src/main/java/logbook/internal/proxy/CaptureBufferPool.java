@@ -0,0 +1,55 @@
+package logbook.internal.proxy;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * キャプチャ用のバッファを再利用するためのプール
+ *
+ */
+final class CaptureBufferPool {
+
+    /** バッファ1つのバイトサイズ */
+    static final int CHUNK_SIZE = 16 * 1024;
+
+    /** プールに保持するバッファの上限 */
+    private static final int MAX_POOLED = 256;
+
+    private static final Queue<byte[]> POOL = new ConcurrentLinkedQueue<>();
+
+    private static final AtomicInteger SIZE = new AtomicInteger();
+
+    private CaptureBufferPool() {
+    }
+
+    /**
+     * プールからバッファを取得します。プールが空の場合は新しいバッファを作成します
+     *
+     * @return バッファ
+     */
+    static byte[] acquire() {
+        byte[] chunk = POOL.poll();
+        if (chunk != null) {
+            SIZE.decrementAndGet();
+            return chunk;
+        }
+        return new byte[CHUNK_SIZE];
+    }
+
+    /**
+     * バッファをプールに返却します。プールが上限に達している場合は破棄します
+     *
+     * @param chunk バッファ
+     */
+    static void release(byte[] chunk) {
+        if (chunk.length != CHUNK_SIZE) {
+            return;
+        }
+        if (SIZE.incrementAndGet() <= MAX_POOLED) {
+            POOL.offer(chunk);
+        } else {
+            SIZE.decrementAndGet();
+        }
+    }
+}
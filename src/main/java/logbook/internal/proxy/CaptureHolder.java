@@ -1,33 +1,288 @@
 package logbook.internal.proxy;
 
+import java.io.BufferedInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
 
+import logbook.bean.AppConfig;
+import logbook.internal.LoggerHolder;
+
+/**
+ * キャプチャしたリクエストとレスポンスを保持します
+ * <p>
+ * バイト列は{@link CaptureBufferPool}から取得したバッファに複写され、{@link #clear()}でプールに返却されます。
+ * 合計バイト数が閾値を超えた場合は一時ファイルに退避し、以降は一時ファイルから読み込みます。
+ * </p>
+ */
 public class CaptureHolder {
 
-    private List<byte[]> req = new ArrayList<>();
+    private Chunks req;
+
+    private Chunks res;
 
-    private List<byte[]> res = new ArrayList<>();
+    public CaptureHolder() {
+        this(AppConfig.get().getCaptureSpillThreshold() * 1024);
+    }
+
+    /**
+     * 一時ファイルに退避する閾値を指定してCaptureHolderを作成します
+     *
+     * @param spillThreshold メモリに保持するバイト数の上限、0以下の場合は一時ファイルに退避しない
+     */
+    CaptureHolder(int spillThreshold) {
+        this.req = new Chunks(spillThreshold);
+        this.res = new Chunks(spillThreshold);
+    }
 
     public void putRequest(byte[] data) {
-        this.req.add(data);
+        this.putRequest(data, 0, data.length);
+    }
+
+    public void putRequest(byte[] data, int offset, int length) {
+        this.req.write(data, offset, length);
+    }
+
+    public void putRequest(ByteBuffer data) {
+        this.req.write(data);
     }
 
     public InputStream getRequest() {
-        return new ByteArrayInputStream2(this.req);
+        return this.req.toInputStream();
+    }
+
+    /**
+     * キャプチャしたリクエストを複写したバイト配列を返します。
+     * 返されたバイト配列は{@link #clear()}の後も使用できます
+     *
+     * @return リクエスト、解放済みの場合は空のバイト配列
+     */
+    public synchronized byte[] getRequestBytes() {
+        return this.req != null ? this.req.toByteArray() : new byte[0];
     }
 
     public void putResponse(byte[] data) {
-        this.res.add(data);
+        this.putResponse(data, 0, data.length);
+    }
+
+    public void putResponse(byte[] data, int offset, int length) {
+        this.res.write(data, offset, length);
+    }
+
+    /**
+     * キャプチャしたレスポンスを読み込む新しいInputStreamを返します。
+     * 受信が完了した後は複数のスレッドから同時に読み込むことができます
+     *
+     * @return レスポンス
+     * @throws IllegalStateException 解放済みの場合
+     */
+    public synchronized InputStream getResponse() {
+        if (this.res == null) {
+            throw new IllegalStateException("解放済みのレスポンスです");
+        }
+        return this.res.toInputStream();
+    }
+
+    /**
+     * キャプチャしたレスポンスのバイト数を返します
+     *
+     * @return レスポンスのバイト数
+     */
+    public synchronized int getResponseSize() {
+        return this.res != null ? this.res.size : 0;
     }
 
-    public InputStream getResponse() {
-        return new ByteArrayInputStream2(this.res);
+    /**
+     * 保持しているバッファをプールに返却し、一時ファイルを削除します。
+     * このメソッドの呼び出し後は{@link #getRequest()}、{@link #getResponse()}で取得したストリームを読み込まないでください
+     */
+    public synchronized void clear() {
+        if (this.req != null) {
+            this.req.release();
+            this.req = null;
+        }
+        if (this.res != null) {
+            this.res.release();
+            this.res = null;
+        }
     }
 
-    public void clear() {
-        this.req = null;
-        this.res = null;
+    /**
+     * レスポンスが一時ファイルに退避されているかを返します
+     *
+     * @return 一時ファイルに退避されている場合true
+     */
+    synchronized boolean isResponseSpilled() {
+        return this.res != null && this.res.file != null;
+    }
+
+    /**
+     * プールから取得したバッファの連なり
+     */
+    private static class Chunks {
+
+        private final List<byte[]> chunks = new ArrayList<>();
+
+        /** メモリに保持するバイト数の上限 */
+        private final int spillThreshold;
+
+        /** 退避先の一時ファイル */
+        private Path file;
+
+        private FileChannel channel;
+
+        /** 最後のバッファの使用済みバイト数 */
+        private int position = CaptureBufferPool.CHUNK_SIZE;
+
+        /** 合計バイト数 */
+        private int size;
+
+        Chunks(int spillThreshold) {
+            this.spillThreshold = spillThreshold;
+        }
+
+        void write(byte[] data, int offset, int length) {
+            if (this.spill(length)) {
+                this.writeFile(ByteBuffer.wrap(data, offset, length));
+                return;
+            }
+            while (length > 0) {
+                byte[] chunk = this.current();
+                int n = Math.min(length, chunk.length - this.position);
+                System.arraycopy(data, offset, chunk, this.position, n);
+                this.position += n;
+                this.size += n;
+                offset += n;
+                length -= n;
+            }
+        }
+
+        void write(ByteBuffer data) {
+            if (this.spill(data.remaining())) {
+                this.writeFile(data);
+                return;
+            }
+            while (data.hasRemaining()) {
+                byte[] chunk = this.current();
+                int n = Math.min(data.remaining(), chunk.length - this.position);
+                data.get(chunk, this.position, n);
+                this.position += n;
+                this.size += n;
+            }
+        }
+
+        InputStream toInputStream() {
+            if (this.file != null) {
+                try {
+                    return new BufferedInputStream(Channels.newInputStream(
+                            FileChannel.open(this.file, StandardOpenOption.READ)));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return new ByteArrayInputStream2(this.chunks, this.size);
+        }
+
+        byte[] toByteArray() {
+            byte[] b = new byte[this.size];
+            if (this.file != null) {
+                try (FileChannel ch = FileChannel.open(this.file, StandardOpenOption.READ)) {
+                    ByteBuffer buf = ByteBuffer.wrap(b);
+                    while (buf.hasRemaining() && ch.read(buf) >= 0) {
+                        // 読み込みを続ける
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return b;
+            }
+            int pos = 0;
+            for (byte[] chunk : this.chunks) {
+                int n = Math.min(this.size - pos, chunk.length);
+                System.arraycopy(chunk, 0, b, pos, n);
+                pos += n;
+            }
+            return b;
+        }
+
+        void release() {
+            if (this.file != null) {
+                try {
+                    this.channel.close();
+                    Files.deleteIfExists(this.file);
+                } catch (IOException e) {
+                    LoggerHolder.get().warn("一時ファイルの削除に失敗しました", e);
+                    this.file.toFile().deleteOnExit();
+                }
+                this.channel = null;
+                this.file = null;
+            }
+            for (byte[] chunk : this.chunks) {
+                CaptureBufferPool.release(chunk);
+            }
+            this.chunks.clear();
+            this.position = CaptureBufferPool.CHUNK_SIZE;
+            this.size = 0;
+        }
+
+        /**
+         * 書き込むと閾値を超える場合はメモリ上の内容を一時ファイルに移します
+         *
+         * @param length 書き込むバイト数
+         * @return 一時ファイルに書き込む場合true
+         */
+        private boolean spill(int length) {
+            if (this.file != null) {
+                return true;
+            }
+            if (this.spillThreshold <= 0 || this.size + length <= this.spillThreshold) {
+                return false;
+            }
+            try {
+                this.file = Files.createTempFile("logbook-capture", ".tmp");
+                this.channel = FileChannel.open(this.file, StandardOpenOption.WRITE);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            int remaining = this.size;
+            this.size = 0;
+            for (byte[] chunk : this.chunks) {
+                int n = Math.min(remaining, chunk.length);
+                this.writeFile(ByteBuffer.wrap(chunk, 0, n));
+                remaining -= n;
+                CaptureBufferPool.release(chunk);
+            }
+            this.chunks.clear();
+            this.position = CaptureBufferPool.CHUNK_SIZE;
+            return true;
+        }
+
+        private void writeFile(ByteBuffer data) {
+            try {
+                int n = data.remaining();
+                while (data.hasRemaining()) {
+                    this.channel.write(data);
+                }
+                this.size += n;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private byte[] current() {
+            if (this.position == CaptureBufferPool.CHUNK_SIZE) {
+                this.chunks.add(CaptureBufferPool.acquire());
+                this.position = 0;
+            }
+            return this.chunks.get(this.chunks.size() - 1);
+        }
     }
 }
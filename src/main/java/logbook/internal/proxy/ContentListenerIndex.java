@@ -0,0 +1,92 @@
+package logbook.internal.proxy;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import logbook.proxy.ContentListenerSpi;
+import logbook.proxy.ContentTarget;
+
+/**
+ * リクエストのURIから{@link ContentListenerSpi}を検索するための索引
+ * <p>
+ * {@link ContentTarget}注釈を持つリスナーはURIの前方一致(トライ木)と完全一致(ハッシュ表)で検索し、
+ * 注釈を持たないリスナーは常に候補とします。
+ * </p>
+ */
+final class ContentListenerIndex {
+
+    private final List<ContentListenerSpi> listeners;
+
+    /** 注釈を持たないリスナー */
+    private final BitSet legacy = new BitSet();
+
+    /** 完全一致 */
+    private final Map<String, BitSet> paths = new HashMap<>();
+
+    /** 前方一致 */
+    private final Node prefixes = new Node();
+
+    /**
+     * 索引を作成します
+     *
+     * @param listeners リスナー
+     */
+    ContentListenerIndex(List<ContentListenerSpi> listeners) {
+        this.listeners = listeners;
+        for (int i = 0; i < listeners.size(); i++) {
+            ContentTarget target = listeners.get(i).getClass().getAnnotation(ContentTarget.class);
+            if (target == null) {
+                this.legacy.set(i);
+                continue;
+            }
+            for (String path : target.path()) {
+                this.paths.computeIfAbsent(path, k -> new BitSet()).set(i);
+            }
+            for (String prefix : target.prefix()) {
+                Node node = this.prefixes;
+                for (int j = 0; j < prefix.length(); j++) {
+                    node = node.children.computeIfAbsent(prefix.charAt(j), k -> new Node());
+                }
+                node.values.set(i);
+            }
+        }
+    }
+
+    /**
+     * URIに一致するリスナーを登録順に返します
+     *
+     * @param uri リクエストのURI
+     * @return URIに一致するリスナー
+     */
+    List<ContentListenerSpi> candidates(String uri) {
+        BitSet match = (BitSet) this.legacy.clone();
+        BitSet exact = this.paths.get(uri);
+        if (exact != null) {
+            match.or(exact);
+        }
+        Node node = this.prefixes;
+        match.or(node.values);
+        for (int i = 0; i < uri.length(); i++) {
+            node = node.children.get(uri.charAt(i));
+            if (node == null) {
+                break;
+            }
+            match.or(node.values);
+        }
+        List<ContentListenerSpi> candidates = new ArrayList<>(match.cardinality());
+        for (int i = match.nextSetBit(0); i >= 0; i = match.nextSetBit(i + 1)) {
+            candidates.add(this.listeners.get(i));
+        }
+        return candidates;
+    }
+
+    private static final class Node {
+
+        private final Map<Character, Node> children = new HashMap<>();
+
+        private final BitSet values = new BitSet();
+    }
+}
@@ -0,0 +1,134 @@
+package logbook.internal.proxy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * キャプチャしたレスポンスボディを復号した内容
+ * <p>
+ * レスポンスボディは複写せずに{@link CaptureHolder}のバッファまたは一時ファイル、キャッシュに保存したファイルから読み込みます。
+ * 参照カウントを持ち、作成時の参照と{@link #retain()}で追加した参照がすべて{@link #release()}された時点でキャプチャを解放します。
+ * gzipで圧縮されている場合は{@link #newInputStream()}が返すストリームごとに展開しながら読み込みます。
+ * </p>
+ */
+final class DecodedContent {
+
+    /** レスポンスボディの読み込み元 */
+    private final Source source;
+
+    /** 参照の数 */
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    private DecodedContent(Source source) {
+        this.source = source;
+    }
+
+    /**
+     * キャプチャしたレスポンスを読み込む内容を作成します。
+     * 作成した内容のすべての参照を解放した時点でholderを解放します
+     *
+     * @param holder キャプチャしたリクエストとレスポンス
+     * @return 復号した内容
+     */
+    static DecodedContent of(CaptureHolder holder) {
+        return new DecodedContent(new Source() {
+            @Override
+            public InputStream open() {
+                return holder.getResponse();
+            }
+
+            @Override
+            public void release() {
+                holder.clear();
+            }
+        });
+    }
+
+    /**
+     * キャッシュに保存したリソースをファイルから読み込む内容を作成します
+     *
+     * @param exchange 保存したリソースで応答したキャッシュの処理
+     * @return 復号した内容
+     */
+    static DecodedContent of(AssetCache.Exchange exchange) {
+        return new DecodedContent(new Source() {
+            @Override
+            public InputStream open() throws IOException {
+                return exchange.openCached();
+            }
+
+            @Override
+            public void release() {
+            }
+        });
+    }
+
+    /**
+     * 参照を追加します。追加した参照は{@link #release()}で解放してください
+     *
+     * @return この内容
+     * @throws IllegalStateException すべての参照が解放済みの場合
+     */
+    DecodedContent retain() {
+        int n;
+        do {
+            n = this.references.get();
+            if (n <= 0) {
+                throw new IllegalStateException("解放済みのレスポンスボディです");
+            }
+        } while (!this.references.compareAndSet(n, n + 1));
+        return this;
+    }
+
+    /**
+     * 参照を解放します。すべての参照を解放した時点でキャプチャを解放します
+     */
+    void release() {
+        if (this.references.decrementAndGet() == 0) {
+            this.source.release();
+        }
+    }
+
+    /**
+     * 復号したレスポンスボディを読み込むための新しいInputStreamを返します
+     *
+     * @return 復号したレスポンスボディ
+     * @throws UncheckedIOException 復号に失敗した場合
+     * @throws IllegalStateException すべての参照が解放済みの場合
+     */
+    InputStream newInputStream() {
+        if (this.references.get() <= 0) {
+            throw new IllegalStateException("解放済みのレスポンスボディです");
+        }
+        try {
+            PushbackInputStream in = new PushbackInputStream(this.source.open(), 2);
+            byte[] magic = new byte[2];
+            int n = 0;
+            int len;
+            while (n < magic.length && (len = in.read(magic, n, magic.length - n)) > 0) {
+                n += len;
+            }
+            in.unread(magic, 0, n);
+            if (n == magic.length && (magic[0] & 0xff) == 0x1f && (magic[1] & 0xff) == 0x8b) {
+                return new GZIPInputStream(in);
+            }
+            return in;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * レスポンスボディの読み込み元
+     */
+    private interface Source {
+
+        InputStream open() throws IOException;
+
+        void release();
+    }
+}
@@ -0,0 +1,45 @@
+package logbook.internal.proxy;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * アップストリームの接続先ごとの統計情報
+ *
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public final class DestinationStatistics {
+
+    /** 接続先 */
+    private final String destination;
+
+    /** 使用中の接続数 */
+    private final int activeConnections;
+
+    /** 待機中の接続数 */
+    private final int idleConnections;
+
+    /** 接続を待っているリクエスト数 */
+    private final int queuedRequests;
+
+    /** 接続数の上限 */
+    private final int maxConnections;
+
+    /** 接続した回数 */
+    private final long connectCount;
+
+    /** 接続に失敗した回数 */
+    private final long connectFailures;
+
+    /** 接続にかかった時間の平均(マイクロ秒) */
+    private final long connectMeanMicros;
+
+    /** 接続にかかった時間の99パーセンタイル(マイクロ秒) */
+    private final long connectP99Micros;
+
+    /** 接続にかかった時間の最大(マイクロ秒) */
+    private final long connectMaxMicros;
+}
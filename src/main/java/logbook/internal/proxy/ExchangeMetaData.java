@@ -0,0 +1,24 @@
+package logbook.internal.proxy;
+
+/**
+ * プロキシがレスポンスの受信を完了した時点の情報
+ * <p>
+ * プロキシを介して受信したレスポンスの{@link logbook.proxy.ResponseMetaData}はこのインターフェイスも実装します。
+ * </p>
+ */
+public interface ExchangeMetaData {
+
+    /**
+     * レスポンスの受信を完了した順番を返します
+     *
+     * @return 受信を完了した順番
+     */
+    long getSequence();
+
+    /**
+     * レスポンスの受信を完了した時刻を返します
+     *
+     * @return 受信を完了した時刻(エポックミリ秒)
+     */
+    long getReceivedTime();
+}
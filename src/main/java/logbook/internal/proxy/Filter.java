@@ -11,4 +11,19 @@ public class Filter {
 
     /** setAttribute用のキー(CaptureHolder) */
     public static final String CONTENT_HOLDER = "logbook.content-holder";
+
+    /** setAttribute用のキー(レスポンスを受け入れるContentListenerSpiのList) */
+    public static final String CONTENT_LISTENERS = "logbook.content-listeners";
+
+    /** setAttribute用のキー(リスナーに渡すリクエスト) */
+    public static final String CONTENT_REQUEST = "logbook.content-request";
+
+    /** setAttribute用のキー(レスポンスボディを受信しながら処理するStreamingDecoderのMap) */
+    public static final String CONTENT_DECODERS = "logbook.content-decoders";
+
+    /** setAttribute用のキー(リクエストの転送を開始した時刻(ナノ秒)) */
+    public static final String CONTENT_START = "logbook.content-start";
+
+    /** setAttribute用のキー(静的リソースのキャッシュを処理するAssetCache.Exchange) */
+    public static final String CONTENT_CACHE = "logbook.content-cache";
 }
@@ -0,0 +1,12 @@
+package logbook.internal.proxy;
+
+/**
+ * レスポンスを受信した順に処理する{@link logbook.proxy.ContentListenerSpi}
+ * <p>
+ * {@link logbook.proxy.ContentListenerSpi}の実装クラスがこのインターフェイスも実装している場合、
+ * レスポンスの受信が完了した時点で処理が{@link logbook.internal.ThreadManager#getDispatcher()}に登録され、
+ * 受信した順に1つのスレッドで呼び出されます。先に受信したレスポンスの処理が後から受信したレスポンスの処理に追い越されることはありません。
+ * </p>
+ */
+public interface OrderedContentListener {
+}
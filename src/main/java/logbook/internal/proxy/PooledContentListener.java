@@ -0,0 +1,22 @@
+package logbook.internal.proxy;
+
+import logbook.internal.ThreadManager.Purpose;
+
+/**
+ * 用途別のスレッドプールで処理する{@link logbook.proxy.ContentListenerSpi}
+ * <p>
+ * {@link logbook.proxy.ContentListenerSpi}の実装クラスがこのインターフェイスも実装している場合、
+ * {@link logbook.proxy.ContentListenerSpi#accept(logbook.proxy.RequestMetaData, logbook.proxy.ResponseMetaData)}は
+ * {@link #getPurpose()}が返す用途のスレッドプールで呼び出されます。
+ * キャプチャしたレスポンスボディはacceptから戻るまで保持されるため、複写せずに読み込むことができます。
+ * </p>
+ */
+public interface PooledContentListener {
+
+    /**
+     * リスナーを呼び出すスレッドプールの用途を返します
+     *
+     * @return スレッドプールの用途
+     */
+    Purpose getPurpose();
+}
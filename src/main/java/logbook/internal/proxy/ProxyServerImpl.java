@@ -53,6 +53,11 @@ public final class ProxyServerImpl implements ProxyServerSpi {
             ServletHolder holder = new ServletHolder(new ReverseProxyServlet());
             holder.setInitParameter("maxThreads", "256");
             holder.setInitParameter("timeout", "600000");
+            holder.setInitParameter("maxConnections", String.valueOf(AppConfig.get().getUpstreamMaxConnections()));
+            holder.setInitParameter("maxRequestsQueued",
+                    String.valueOf(AppConfig.get().getUpstreamMaxRequestsQueued()));
+            holder.setInitParameter("idleTimeout", String.valueOf(AppConfig.get().getUpstreamIdleTimeout()));
+            holder.setInitParameter("connectTimeout", String.valueOf(AppConfig.get().getUpstreamConnectTimeout()));
             context.addServlet(holder, "/*");
             try {
                 try {
@@ -18,8 +18,6 @@
 
 package logbook.internal.proxy;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
@@ -190,11 +188,21 @@ public class ProxyServlet extends HttpServlet {
      * <td>The max number of connections per destination, see {@link HttpClient#setMaxConnectionsPerDestination(int)}</td>
      * </tr>
      * <tr>
+     * <td>maxRequestsQueued</td>
+     * <td>HttpClient's default</td>
+     * <td>The max number of requests queued per destination, see {@link HttpClient#setMaxRequestsQueuedPerDestination(int)}</td>
+     * </tr>
+     * <tr>
      * <td>idleTimeout</td>
      * <td>30000</td>
      * <td>The idle timeout in milliseconds, see {@link HttpClient#setIdleTimeout(long)}</td>
      * </tr>
      * <tr>
+     * <td>connectTimeout</td>
+     * <td>HttpClient's default</td>
+     * <td>The connect timeout in milliseconds, see {@link HttpClient#setConnectTimeout(long)}</td>
+     * </tr>
+     * <tr>
      * <td>timeout</td>
      * <td>60000</td>
      * <td>The total timeout in milliseconds, see {@link Request#timeout(long, TimeUnit)}</td>
@@ -241,11 +249,19 @@ public class ProxyServlet extends HttpServlet {
             value = "32768";
         client.setMaxConnectionsPerDestination(Integer.parseInt(value));
 
+        value = config.getInitParameter("maxRequestsQueued");
+        if (value != null)
+            client.setMaxRequestsQueuedPerDestination(Integer.parseInt(value));
+
         value = config.getInitParameter("idleTimeout");
         if (value == null)
             value = "30000";
         client.setIdleTimeout(Long.parseLong(value));
 
+        value = config.getInitParameter("connectTimeout");
+        if (value != null)
+            client.setConnectTimeout(Long.parseLong(value));
+
         value = config.getInitParameter("timeout");
         if (value == null)
             value = "60000";
@@ -354,6 +370,9 @@ public class ProxyServlet extends HttpServlet {
         }
     }
 
+    /*
+     * bufferはHttpClientのバッファまたは再利用するバッファのため、このメソッドから戻った後は参照しないこと
+     */
     protected void onResponseContent(HttpServletRequest request, HttpServletResponse response, Response proxyResponse,
             byte[] buffer, int offset, int length) throws IOException {
         response.getOutputStream().write(buffer, offset, length);
@@ -500,7 +519,8 @@ public class ProxyServlet extends HttpServlet {
         private final URI targetUri;
         private final InputStream contentInputStream;
 
-        private final ByteArrayOutputStream contentBuffer = new ByteArrayOutputStream();
+        // リトライのために記憶するデータ (プールから取得し、onCompleteで返却する)
+        private final RetryBuffer contentBuffer = new RetryBuffer(RETRY_MAX_SIZE);
 
         private boolean retryEnabled = true;
 
@@ -520,7 +540,7 @@ public class ProxyServlet extends HttpServlet {
             final HttpServletRequest request = this.request;
 
             return new InputStreamContentProvider(
-                    new SequenceInputStream(new ByteArrayInputStream(this.contentBuffer.toByteArray()),
+                    new SequenceInputStream(this.contentBuffer.toInputStream(),
                             this.contentInputStream)) {
                 @Override
                 public long getLength() {
@@ -540,7 +560,7 @@ public class ProxyServlet extends HttpServlet {
 
         public void send() {
             final HttpServletRequest request = this.request;
-            final ByteArrayOutputStream contentBuffer = this.contentBuffer;
+            final RetryBuffer contentBuffer = this.contentBuffer;
 
             Request proxyRequest = ProxyServlet.this.createProxyRequest(request, this.response, this.targetUri,
                     new InputStreamContentProvider(this.contentInputStream) {
@@ -552,9 +572,10 @@ public class ProxyServlet extends HttpServlet {
                         @Override
                         protected ByteBuffer onRead(byte[] buffer, int offset, int length) {
                             if (length > 0) {
-                                if (contentBuffer.size() < RETRY_MAX_SIZE) {
-                                    contentBuffer.write(buffer, offset, length);
-                                } else {
+                                if (contentBuffer.size() == 0) {
+                                    UpstreamMetrics.get().recordRetryBuffered();
+                                }
+                                if (!contentBuffer.write(buffer, offset, length)) {
                                     // データが多すぎ、リトライ不可
                                     ProxyRequestHandler.this.retryEnabled = false;
                                 }
@@ -642,13 +663,28 @@ public class ProxyServlet extends HttpServlet {
 
         @Override
         public void onContent(Response proxyResponse, ByteBuffer content) {
-            int offset = 0;
-            int length = content.remaining();
-            byte[] buffer = new byte[length];
-            content.get(buffer);
-
             try {
-                ProxyServlet.this.onResponseContent(this.request, this.response, proxyResponse, buffer, offset, length);
+                if (content.hasArray()) {
+                    // ヒープバッファはそのまま渡す
+                    int offset = content.arrayOffset() + content.position();
+                    int length = content.remaining();
+                    ProxyServlet.this.onResponseContent(this.request, this.response, proxyResponse,
+                            content.array(), offset, length);
+                    content.position(content.limit());
+                } else {
+                    // ダイレクトバッファはプールから取得したバッファに分けて複写する
+                    byte[] buffer = CaptureBufferPool.acquire();
+                    try {
+                        while (content.hasRemaining()) {
+                            int length = Math.min(content.remaining(), buffer.length);
+                            content.get(buffer, 0, length);
+                            ProxyServlet.this.onResponseContent(this.request, this.response, proxyResponse,
+                                    buffer, 0, length);
+                        }
+                    } finally {
+                        CaptureBufferPool.release(buffer);
+                    }
+                }
             } catch (IOException x) {
                 proxyResponse.abort(x);
             }
@@ -682,11 +718,13 @@ public class ProxyServlet extends HttpServlet {
                 if (ProxyServlet.this._isDebugEnabled) {
                     ProxyServlet.this._log.debug("{} retrying proxy request", getRequestId(this.request));
                 }
+                UpstreamMetrics.get().recordRetry();
 
                 Request proxyRequest = ProxyServlet.this.createProxyRequest(this.request, this.response,
                         this.targetUri, this.createRetryContentProvider());
                 proxyRequest.send(this);
             } else {
+                this.contentBuffer.release();
                 if (ProxyServlet.this._isDebugEnabled) {
                     ProxyServlet.this._log.debug("{} proxying complete", getRequestId(this.request));
                 }
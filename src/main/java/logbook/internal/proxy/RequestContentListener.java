@@ -30,15 +30,12 @@ public final class RequestContentListener implements ContentListener {
         int length = buffer.remaining();
 
         if (((length > 0) && (length <= Filter.MAX_POST_FIELD_SIZE))) {
-            byte[] bytes = new byte[length];
-            buffer.get(bytes);
-
             CaptureHolder holder = (CaptureHolder) this.httpRequest.getAttribute(Filter.CONTENT_HOLDER);
             if (holder == null) {
                 holder = new CaptureHolder();
                 this.httpRequest.setAttribute(Filter.CONTENT_HOLDER, holder);
             }
-            holder.putRequest(bytes);
+            holder.putRequest(buffer);
         }
     }
 }
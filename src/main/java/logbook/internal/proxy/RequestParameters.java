@@ -0,0 +1,143 @@
+package logbook.internal.proxy;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * キャプチャしたリクエストボディ(application/x-www-form-urlencoded)のパラメータ
+ * <p>
+ * パラメータは最初に参照された時に一度だけ解析され、同じリクエストのすべての
+ * {@link logbook.proxy.ContentListenerSpi}で共有されます。
+ * リクエストボディは作成時に複写するため、キャプチャを解放した後にAPIのリスナーから参照することができます。
+ * </p>
+ */
+final class RequestParameters {
+
+    /** リクエストボディ */
+    private final byte[] body;
+
+    private volatile Map<String, List<String>> parameterMap;
+
+    private RequestParameters(byte[] body) {
+        this.body = body;
+    }
+
+    /**
+     * キャプチャしたリクエストを複写してパラメータを作成します
+     *
+     * @param holder キャプチャしたリクエストとレスポンス
+     * @return パラメータ
+     */
+    static RequestParameters of(CaptureHolder holder) {
+        return new RequestParameters(holder.getRequestBytes());
+    }
+
+    /**
+     * リクエストボディを読み込むための新しいInputStreamを返します
+     *
+     * @return リクエストボディ
+     */
+    InputStream newInputStream() {
+        return new ByteArrayInputStream(this.body);
+    }
+
+    /**
+     * パラメータのMapを返します
+     *
+     * @return 変更不可能なパラメータのMap
+     */
+    Map<String, List<String>> getParameterMap() {
+        Map<String, List<String>> parameterMap = this.parameterMap;
+        if (parameterMap == null) {
+            synchronized (this) {
+                parameterMap = this.parameterMap;
+                if (parameterMap == null) {
+                    parameterMap = parse(this.body, this.body.length);
+                    this.parameterMap = parameterMap;
+                }
+            }
+        }
+        return parameterMap;
+    }
+
+    /**
+     * application/x-www-form-urlencoded 形式のボディを解析します
+     *
+     * @param b ボディ
+     * @param length ボディのバイト数
+     * @return 変更不可能なパラメータのMap
+     */
+    static Map<String, List<String>> parse(byte[] b, int length) {
+        Map<String, List<String>> map = new LinkedHashMap<>();
+        int start = 0;
+        int eq = -1;
+        for (int i = 0; i <= length; i++) {
+            if (i == length || b[i] == '&') {
+                if (i > start) {
+                    String key;
+                    String value;
+                    if (eq == -1) {
+                        // 値がないキー
+                        key = decode(b, start, i);
+                        value = "";
+                    } else {
+                        key = decode(b, start, eq);
+                        value = decode(b, eq + 1, i);
+                    }
+                    map.computeIfAbsent(key, k -> new ArrayList<>(1))
+                            .add(value);
+                }
+                start = i + 1;
+                eq = -1;
+            } else if (b[i] == '=' && eq == -1) {
+                eq = i;
+            }
+        }
+        for (Map.Entry<String, List<String>> entry : map.entrySet()) {
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * URLエンコードされた範囲をUTF-8の文字列に復号します
+     */
+    private static String decode(byte[] b, int from, int to) {
+        boolean encoded = false;
+        for (int i = from; i < to; i++) {
+            if (b[i] == '%' || b[i] == '+') {
+                encoded = true;
+                break;
+            }
+        }
+        if (!encoded) {
+            return new String(b, from, to - from, StandardCharsets.UTF_8);
+        }
+        byte[] out = new byte[to - from];
+        int pos = 0;
+        for (int i = from; i < to; i++) {
+            byte c = b[i];
+            if (c == '+') {
+                out[pos++] = ' ';
+            } else if (c == '%' && i + 2 < to) {
+                int hi = Character.digit(b[i + 1], 16);
+                int lo = Character.digit(b[i + 2], 16);
+                if (hi != -1 && lo != -1) {
+                    out[pos++] = (byte) ((hi << 4) | lo);
+                    i += 2;
+                } else {
+                    out[pos++] = c;
+                }
+            } else {
+                out[pos++] = c;
+            }
+        }
+        return new String(out, 0, pos, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,100 @@
+package logbook.internal.proxy;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * リトライのためにリクエストボディを記憶するバッファ
+ * <p>
+ * バッファは{@link CaptureBufferPool}から必要になった時に取得し、{@link #release()}でプールに返却します。
+ * </p>
+ */
+final class RetryBuffer {
+
+    /** 記憶するバイト数の上限 */
+    private final int maxSize;
+
+    private final List<byte[]> chunks = new ArrayList<>();
+
+    /** 最後のバッファの使用済みバイト数 */
+    private int position = CaptureBufferPool.CHUNK_SIZE;
+
+    /** 合計バイト数 */
+    private int size;
+
+    /** 上限を超えたか返却済み */
+    private boolean disabled;
+
+    /**
+     * 記憶するバイト数の上限を指定してバッファを作成します
+     *
+     * @param maxSize 記憶するバイト数の上限
+     */
+    RetryBuffer(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * バイト列を記憶します。上限を超える場合は記憶した内容を破棄します
+     *
+     * @param data バイト列
+     * @param offset 開始位置
+     * @param length 長さ
+     * @return 記憶できた場合true、上限を超えたか返却済みの場合false
+     */
+    synchronized boolean write(byte[] data, int offset, int length) {
+        if (this.disabled) {
+            return false;
+        }
+        if (this.size + length > this.maxSize) {
+            this.release();
+            return false;
+        }
+        while (length > 0) {
+            if (this.position == CaptureBufferPool.CHUNK_SIZE) {
+                this.chunks.add(CaptureBufferPool.acquire());
+                this.position = 0;
+            }
+            byte[] chunk = this.chunks.get(this.chunks.size() - 1);
+            int n = Math.min(length, chunk.length - this.position);
+            System.arraycopy(data, offset, chunk, this.position, n);
+            this.position += n;
+            this.size += n;
+            offset += n;
+            length -= n;
+        }
+        return true;
+    }
+
+    /**
+     * 記憶したバイト数を返します
+     *
+     * @return 記憶したバイト数
+     */
+    synchronized int size() {
+        return this.size;
+    }
+
+    /**
+     * 記憶した内容を読み込むInputStreamを返します
+     *
+     * @return 記憶した内容
+     */
+    synchronized InputStream toInputStream() {
+        return new ByteArrayInputStream2(new ArrayList<>(this.chunks), this.size);
+    }
+
+    /**
+     * バッファをプールに返却します。返却後は記憶しません
+     */
+    synchronized void release() {
+        for (byte[] chunk : this.chunks) {
+            CaptureBufferPool.release(chunk);
+        }
+        this.chunks.clear();
+        this.position = CaptureBufferPool.CHUNK_SIZE;
+        this.size = 0;
+        this.disabled = true;
+    }
+}
@@ -1,36 +1,41 @@
 package logbook.internal.proxy;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Field;
-import java.net.URLDecoder;
-import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.LinkedHashMap;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.function.BiConsumer;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
-import java.util.zip.GZIPInputStream;
 
+import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.HttpDestination;
 import org.eclipse.jetty.client.HttpRequest;
+import org.eclipse.jetty.client.api.Connection;
 import org.eclipse.jetty.client.api.ProxyConfiguration;
 import org.eclipse.jetty.client.api.Request;
 import org.eclipse.jetty.client.api.Response;
 import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpVersion;
+import org.eclipse.jetty.util.Promise;
 
 import logbook.bean.AppConfig;
 import logbook.internal.LoggerHolder;
+import logbook.internal.PipelineMetrics;
+import logbook.internal.PipelineMetrics.Stage;
 import logbook.internal.ThreadManager;
+import logbook.internal.ThreadManager.Purpose;
+import logbook.internal.proxy.StreamingContentListener.ContentConsumer;
 import logbook.plugin.PluginServices;
 import logbook.proxy.ContentListenerSpi;
 import logbook.proxy.RequestMetaData;
@@ -44,21 +49,49 @@ public final class ReverseProxyServlet extends ProxyServlet {
 
     private static final long serialVersionUID = 1L;
 
+    /** レスポンスの受信を完了した順番 */
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
     /** リスナー */
-    private transient List<ContentListenerSpi> listeners;
+    private transient volatile ContentListenerIndex listeners;
+
+    /** 静的リソースのキャッシュ */
+    private transient volatile AssetCache assetCache;
+
+    /*
+     * キャッシュしたリソースで応答できる場合はアップストリームに転送しない
+     */
+    @Override
+    protected void service(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        if (AppConfig.get().isUseAssetCache() && AssetCache.isTarget(request)) {
+            AssetCache.Exchange exchange = this.getAssetCache().exchange(request);
+            if (exchange != null) {
+                if (exchange.serve(request, response)) {
+                    // キャッシュしたリソースで応答した場合もリスナーに渡す
+                    this.dispatchCached(request, response, exchange);
+                    return;
+                }
+                request.setAttribute(Filter.CONTENT_CACHE, exchange);
+            }
+        }
+        super.service(request, response);
+    }
 
     /*
      * Hop-by-Hop ヘッダーを除去します
      */
     @Override
     protected void customizeProxyRequest(Request proxyRequest, HttpServletRequest request) {
+        request.setAttribute(Filter.CONTENT_START, System.nanoTime());
         proxyRequest.onRequestContent(new RequestContentListener(request));
 
         if (!AppConfig.get().isUseProxy()) { // アップストリームプロキシがある場合は除外
 
             // HTTP/1.1 ならkeep-aliveを追加します
             if (proxyRequest.getVersion() == HttpVersion.HTTP_1_1) {
-                proxyRequest.header(HttpHeader.CONNECTION, "keep-alive");
+                proxyRequest.header(HttpHeader.CONNECTION,
+                        AppConfig.get().isUpstreamKeepAlive() ? "keep-alive" : "close");
             }
 
             // Pragma: no-cache はプロキシ用なので Cache-Control: no-cache に変換します
@@ -74,9 +107,75 @@ public final class ReverseProxyServlet extends ProxyServlet {
         String queryString = ((org.eclipse.jetty.server.Request) request).getQueryString();
         fixQueryString(proxyRequest, queryString);
 
+        AssetCache.Exchange exchange = (AssetCache.Exchange) request.getAttribute(Filter.CONTENT_CACHE);
+        if (exchange != null) {
+            exchange.customize(proxyRequest);
+        }
+
         super.customizeProxyRequest(proxyRequest, request);
     }
 
+    /*
+     * レスポンスヘッダーが帰ってきた
+     */
+    @Override
+    protected void onResponseHeaders(HttpServletRequest request, HttpServletResponse response,
+            Response proxyResponse) {
+        AssetCache.Exchange exchange = (AssetCache.Exchange) request.getAttribute(Filter.CONTENT_CACHE);
+        if (exchange != null && exchange.onResponseHeaders(response, proxyResponse)) {
+            // 再検証の結果、キャッシュしたリソースで応答する
+            return;
+        }
+        super.onResponseHeaders(request, response, proxyResponse);
+
+        CaptureHolder holder = (CaptureHolder) request.getAttribute(Filter.CONTENT_HOLDER);
+        if (holder == null) {
+            holder = new CaptureHolder();
+        }
+        // レスポンスを受け入れるリスナーがいる場合だけキャプチャする
+        List<ContentListenerSpi> accepted = Collections.emptyList();
+        if (response.getStatus() == HttpServletResponse.SC_OK) {
+            try {
+                RequestMetaDataWrapper req = new RequestMetaDataWrapper();
+                req.set(request);
+                // レスポンスヘッダーを受信した時点でリクエストボディは送信済み
+                req.set(RequestParameters.of(holder));
+
+                accepted = this.test(req);
+                request.setAttribute(Filter.CONTENT_REQUEST, req);
+            } catch (Exception e) {
+                LoggerHolder.get().warn("リバースプロキシ サーブレットで例外が発生 req=" + request, e);
+            }
+        }
+        if (accepted.isEmpty()) {
+            holder.clear();
+            request.removeAttribute(Filter.CONTENT_HOLDER);
+            request.removeAttribute(Filter.CONTENT_REQUEST);
+        } else {
+            request.setAttribute(Filter.CONTENT_HOLDER, holder);
+            request.setAttribute(Filter.CONTENT_LISTENERS, accepted);
+
+            // レスポンスボディを受信しながら処理するリスナー
+            RequestMetaDataWrapper req = (RequestMetaDataWrapper) request.getAttribute(Filter.CONTENT_REQUEST);
+            Map<ContentListenerSpi, StreamingDecoder> decoders = new IdentityHashMap<>();
+            for (ContentListenerSpi listener : accepted) {
+                if (listener instanceof StreamingContentListener) {
+                    try {
+                        ContentConsumer consumer = ((StreamingContentListener) listener).begin(req.clone());
+                        if (consumer != null) {
+                            decoders.put(listener, new StreamingDecoder(consumer));
+                        }
+                    } catch (Exception e) {
+                        LoggerHolder.get().warn("リバースプロキシ サーブレットで例外が発生 req=" + request, e);
+                    }
+                }
+            }
+            if (!decoders.isEmpty()) {
+                request.setAttribute(Filter.CONTENT_DECODERS, decoders);
+            }
+        }
+    }
+
     /*
      * レスポンスが帰ってきた
      */
@@ -86,14 +185,33 @@ public final class ReverseProxyServlet extends ProxyServlet {
             byte[] buffer, int offset, int length) throws IOException {
 
         CaptureHolder holder = (CaptureHolder) request.getAttribute(Filter.CONTENT_HOLDER);
-        if (holder == null) {
-            holder = new CaptureHolder();
-            request.setAttribute(Filter.CONTENT_HOLDER, holder);
+        if (holder != null) {
+            try {
+                // ストリームに書き込む
+                holder.putResponse(buffer, offset, length);
+            } catch (UncheckedIOException e) {
+                // キャプチャできない場合はリスナーに渡さない
+                LoggerHolder.get().warn("レスポンスのキャプチャに失敗しました req=" + request.getRequestURI(), e);
+                holder.clear();
+                request.removeAttribute(Filter.CONTENT_HOLDER);
+            }
         }
-        // ストリームに書き込む
-        holder.putResponse(buffer);
 
         super.onResponseContent(request, response, proxyResponse, buffer, offset, length);
+
+        AssetCache.Exchange exchange = (AssetCache.Exchange) request.getAttribute(Filter.CONTENT_CACHE);
+        if (exchange != null) {
+            exchange.onResponseContent(buffer, offset, length);
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<ContentListenerSpi, StreamingDecoder> decoders = (Map<ContentListenerSpi, StreamingDecoder>) request
+                .getAttribute(Filter.CONTENT_DECODERS);
+        if (decoders != null) {
+            for (StreamingDecoder decoder : decoders.values()) {
+                decoder.feed(buffer, offset, length);
+            }
+        }
     }
 
     /*
@@ -102,20 +220,45 @@ public final class ReverseProxyServlet extends ProxyServlet {
     @Override
     protected void onResponseSuccess(HttpServletRequest request, HttpServletResponse response,
             Response proxyResponse) {
+        AssetCache.Exchange exchange = (AssetCache.Exchange) request.getAttribute(Filter.CONTENT_CACHE);
+        if (exchange != null) {
+            try {
+                exchange.onResponseSuccess(response);
+                if (exchange.isRevalidated()) {
+                    // 再検証の結果キャッシュしたリソースで応答した場合もリスナーに渡す
+                    this.dispatchCached(request, response, exchange);
+                }
+            } catch (IOException e) {
+                LoggerHolder.get().warn("キャッシュからの応答に失敗しました req=" + request.getRequestURI(), e);
+            }
+        }
         try {
-            if(response.getStatus() == HttpServletResponse.SC_OK) {
+            if (response.getStatus() == HttpServletResponse.SC_OK) {
+                String uri = request.getRequestURI();
+                Long start = (Long) request.getAttribute(Filter.CONTENT_START);
+                if (start != null) {
+                    PipelineMetrics.get().record(uri, Stage.PROXY, System.nanoTime() - start);
+                }
                 CaptureHolder holder = (CaptureHolder) request.getAttribute(Filter.CONTENT_HOLDER);
-                if (holder != null) {
-                    RequestMetaDataWrapper req = new RequestMetaDataWrapper();
-                    req.set(request);
-
+                @SuppressWarnings("unchecked")
+                List<ContentListenerSpi> accepted = (List<ContentListenerSpi>) request
+                        .getAttribute(Filter.CONTENT_LISTENERS);
+                RequestMetaDataWrapper req = (RequestMetaDataWrapper) request.getAttribute(Filter.CONTENT_REQUEST);
+                @SuppressWarnings("unchecked")
+                Map<ContentListenerSpi, StreamingDecoder> decoders = (Map<ContentListenerSpi, StreamingDecoder>) request
+                        .getAttribute(Filter.CONTENT_DECODERS);
+                if (holder != null && accepted != null && req != null) {
                     ResponseMetaDataWrapper res = new ResponseMetaDataWrapper();
                     res.set(response);
-
-                    Runnable task = () -> {
-                        this.invoke(req, res, holder);
-                    };
-                    ThreadManager.getExecutorService().submit(task);
+                    res.setSequence(SEQUENCE.incrementAndGet());
+                    res.setReceivedTime(System.currentTimeMillis());
+
+                    Map<ContentListenerSpi, StreamingDecoder> streaming = decoders != null
+                            ? decoders
+                            : Collections.emptyMap();
+                    PipelineMetrics.get().addCapturedBytes(uri, holder.getResponseSize());
+                    // キャプチャは最後のリスナーの処理が終わった時点で解放する
+                    this.submit(req, res, DecodedContent.of(holder), accepted, streaming);
                 }
             }
         } catch (Exception e) {
@@ -123,10 +266,39 @@ public final class ReverseProxyServlet extends ProxyServlet {
         } finally {
             // Help GC
             request.removeAttribute(Filter.CONTENT_HOLDER);
+            request.removeAttribute(Filter.CONTENT_LISTENERS);
+            request.removeAttribute(Filter.CONTENT_REQUEST);
+            request.removeAttribute(Filter.CONTENT_DECODERS);
+            request.removeAttribute(Filter.CONTENT_START);
+            request.removeAttribute(Filter.CONTENT_CACHE);
         }
         super.onResponseSuccess(request, response, proxyResponse);
     }
 
+    /*
+     * レスポンスが失敗した
+     */
+    @Override
+    protected void onResponseFailure(HttpServletRequest request, HttpServletResponse response,
+            Response proxyResponse, Throwable failure) {
+        AssetCache.Exchange exchange = (AssetCache.Exchange) request.getAttribute(Filter.CONTENT_CACHE);
+        if (exchange != null) {
+            exchange.abort();
+            request.removeAttribute(Filter.CONTENT_CACHE);
+        }
+        // キャプチャしたバッファを返却し、一時ファイルを削除する
+        CaptureHolder holder = (CaptureHolder) request.getAttribute(Filter.CONTENT_HOLDER);
+        if (holder != null) {
+            holder.clear();
+        }
+        request.removeAttribute(Filter.CONTENT_HOLDER);
+        request.removeAttribute(Filter.CONTENT_LISTENERS);
+        request.removeAttribute(Filter.CONTENT_REQUEST);
+        request.removeAttribute(Filter.CONTENT_DECODERS);
+        request.removeAttribute(Filter.CONTENT_START);
+        super.onResponseFailure(request, response, proxyResponse, failure);
+    }
+
     /*
      * HttpClientを作成する
      */
@@ -137,7 +309,29 @@ public final class ReverseProxyServlet extends ProxyServlet {
             protected String normalizeHost(String host) {
                 return host;
             }
+
+            /*
+             * 接続にかかった時間を記録する
+             */
+            @Override
+            protected void newConnection(HttpDestination destination, Promise<Connection> promise) {
+                long start = System.nanoTime();
+                super.newConnection(destination, new Promise<Connection>() {
+                    @Override
+                    public void succeeded(Connection result) {
+                        UpstreamMetrics.get().recordConnect(destination, System.nanoTime() - start);
+                        promise.succeeded(result);
+                    }
+
+                    @Override
+                    public void failed(Throwable x) {
+                        UpstreamMetrics.get().recordConnectFailure(destination);
+                        promise.failed(x);
+                    }
+                });
+            }
         };
+        UpstreamMetrics.get().setClient(client);
         // プロキシを設定する
         if (AppConfig.get().isUseProxy()) {
             // ポート
@@ -168,32 +362,173 @@ public final class ReverseProxyServlet extends ProxyServlet {
         }
     }
 
-    private void invoke(RequestMetaDataWrapper baseReq, ResponseMetaDataWrapper baseRes, CaptureHolder holder) {
+    /**
+     * リスナーの索引を取得します
+     *
+     * @return リスナーの索引
+     */
+    private ContentListenerIndex getListeners() {
+        ContentListenerIndex listeners = this.listeners;
+        if (listeners == null) {
+            synchronized (this) {
+                listeners = this.listeners;
+                if (listeners == null) {
+                    listeners = new ContentListenerIndex(PluginServices.instances(ContentListenerSpi.class)
+                            .collect(Collectors.toList()));
+                    this.listeners = listeners;
+                }
+            }
+        }
+        return listeners;
+    }
+
+    /**
+     * 静的リソースのキャッシュを取得します
+     *
+     * @return 静的リソースのキャッシュ
+     */
+    private AssetCache getAssetCache() {
+        AssetCache assetCache = this.assetCache;
+        if (assetCache == null) {
+            synchronized (this) {
+                assetCache = this.assetCache;
+                if (assetCache == null) {
+                    assetCache = new AssetCache(Paths.get(AppConfig.get().getAssetCacheDir()));
+                    this.assetCache = assetCache;
+                }
+            }
+        }
+        return assetCache;
+    }
+
+    /**
+     * レスポンスを受け入れるリスナーを返します
+     *
+     * @param req リクエスト
+     * @return レスポンスを受け入れるリスナー
+     */
+    private List<ContentListenerSpi> test(RequestMetaDataWrapper req) {
+        List<ContentListenerSpi> accepted = new ArrayList<>();
+        for (ContentListenerSpi listener : this.getListeners().candidates(req.getRequestURI())) {
+            if (listener.test(req)) {
+                accepted.add(listener);
+            }
+        }
+        return accepted;
+    }
+
+    /**
+     * キャッシュしたリソースで応答したレスポンスを、受け入れるリスナーに渡します
+     *
+     * @param request リクエスト
+     * @param response レスポンス
+     * @param exchange キャッシュの処理
+     */
+    private void dispatchCached(HttpServletRequest request, HttpServletResponse response,
+            AssetCache.Exchange exchange) {
+        if (response.getStatus() != HttpServletResponse.SC_OK) {
+            // クライアントに304を返した場合はアップストリームから304を受け取った場合と同様にリスナーに渡さない
+            return;
+        }
         try {
-            if (this.listeners == null) {
-                this.listeners = PluginServices.instances(ContentListenerSpi.class).collect(Collectors.toList());
+            RequestMetaDataWrapper req = new RequestMetaDataWrapper();
+            req.set(request);
+            List<ContentListenerSpi> accepted = this.test(req);
+            if (accepted.isEmpty()) {
+                return;
             }
-            for (ContentListenerSpi listener : this.listeners) {
+            ResponseMetaDataWrapper res = new ResponseMetaDataWrapper();
+            res.set(response);
+            res.setSequence(SEQUENCE.incrementAndGet());
+            res.setReceivedTime(System.currentTimeMillis());
+            this.submit(req, res, DecodedContent.of(exchange), accepted, Collections.emptyMap());
+        } catch (Exception e) {
+            LoggerHolder.get().warn("リバースプロキシ サーブレットで例外が発生 req=" + request, e);
+        }
+    }
+
+    /**
+     * レスポンスをリスナーに渡す処理を登録します
+     *
+     * @param req リクエスト
+     * @param res レスポンス
+     * @param content レスポンスボディ、このメソッドは作成時の参照を引き継ぎます
+     * @param accepted レスポンスを受け入れるリスナー
+     * @param decoders レスポンスボディを受信しながら処理したリスナーのStreamingDecoder
+     */
+    private void submit(RequestMetaDataWrapper req, ResponseMetaDataWrapper res, DecodedContent content,
+            List<ContentListenerSpi> accepted, Map<ContentListenerSpi, StreamingDecoder> decoders) {
+        String uri = req.getRequestURI();
+        long submitted = System.nanoTime();
+        Runnable task = () -> {
+            PipelineMetrics.get().record(uri, Stage.QUEUE, System.nanoTime() - submitted);
+            this.invoke(req, res, content, accepted, decoders);
+        };
+        try {
+            if (accepted.stream().anyMatch(OrderedContentListener.class::isInstance)) {
+                // 受信した順に処理するリスナーがいる場合は受信が完了した時点で順番を確定する
+                ThreadManager.getDispatcher().execute(task);
+            } else {
+                ThreadManager.getExecutorService(Purpose.DISPATCH).execute(task);
+            }
+        } catch (RuntimeException e) {
+            content.release();
+            throw e;
+        }
+    }
+
+    private void invoke(RequestMetaDataWrapper baseReq, ResponseMetaDataWrapper baseRes,
+            DecodedContent content,
+            List<ContentListenerSpi> accepted, Map<ContentListenerSpi, StreamingDecoder> decoders) {
+        try {
+            // レスポンスボディはすべてのリスナーで共有し、リスナーごとに参照を追加する
+            for (ContentListenerSpi listener : accepted) {
                 RequestMetaDataWrapper req = baseReq.clone();
-                req.set(holder.getRequest());
 
-                if (listener.test(req)) {
-                    ResponseMetaDataWrapper res = baseRes.clone();
-                    res.set(holder.getResponse());
+                ResponseMetaDataWrapper res = baseRes.clone();
+                res.set(content);
 
-                    Runnable task = () -> {
-                        try {
+                StreamingDecoder decoder = decoders.get(listener);
+
+                long submitted = System.nanoTime();
+                Runnable task = () -> {
+                    long start = System.nanoTime();
+                    PipelineMetrics.get().record(req.getRequestURI(), Stage.QUEUE,
+                            listener.getClass().getSimpleName(), start - submitted);
+                    try {
+                        // 受信しながら処理できなかった場合はキャプチャしたレスポンスで処理する
+                        ContentConsumer consumer = decoder != null ? decoder.finish() : null;
+                        if (consumer == null || !consumer.onComplete(req, res)) {
                             listener.accept(req, res);
-                        } catch (Exception e) {
-                            LoggerHolder.get().warn("リバースプロキシ サーブレットで例外が発生", e);
                         }
-                    };
-                    ThreadManager.getExecutorService().submit(task);
+                    } catch (Exception e) {
+                        LoggerHolder.get().warn("リバースプロキシ サーブレットで例外が発生", e);
+                    } finally {
+                        content.release();
+                        PipelineMetrics.get().record(req.getRequestURI(), Stage.LISTENER,
+                                listener.getClass().getSimpleName(), System.nanoTime() - start);
+                    }
+                };
+                content.retain();
+                if (listener instanceof OrderedContentListener) {
+                    // 受信した順に処理するリスナーはinvokeと同じスレッドで処理する
+                    task.run();
+                } else {
+                    Purpose purpose = listener instanceof PooledContentListener
+                            ? ((PooledContentListener) listener).getPurpose()
+                            : Purpose.DISPATCH;
+                    try {
+                        ThreadManager.getExecutorService(purpose).execute(task);
+                    } catch (RuntimeException e) {
+                        content.release();
+                        throw e;
+                    }
                 }
             }
-            holder.clear();
         } catch (Exception e) {
             LoggerHolder.get().warn("リバースプロキシ サーブレットで例外が発生 req=" + baseReq.getRequestURI(), e);
+        } finally {
+            content.release();
         }
     }
 
@@ -203,13 +538,11 @@ public final class ReverseProxyServlet extends ProxyServlet {
 
         private String method;
 
-        private Map<String, List<String>> parameterMap;
-
         private String queryString;
 
         private String requestURI;
 
-        private Optional<InputStream> requestBody;
+        private RequestParameters parameters;
 
         @Override
         public String getContentType() {
@@ -229,13 +562,15 @@ public final class ReverseProxyServlet extends ProxyServlet {
             this.method = method;
         }
 
+        /*
+         * パラメータは最初に呼び出された時に解析されます
+         */
         @Override
         public Map<String, List<String>> getParameterMap() {
-            return this.parameterMap;
-        }
-
-        void setParameterMap(Map<String, List<String>> parameterMap) {
-            this.parameterMap = parameterMap;
+            if (this.parameters == null) {
+                return Collections.emptyMap();
+            }
+            return this.parameters.getParameterMap();
         }
 
         @Override
@@ -256,13 +591,15 @@ public final class ReverseProxyServlet extends ProxyServlet {
             this.requestURI = requestURI;
         }
 
+        /*
+         * 呼び出し毎に新しいInputStreamを返します
+         */
         @Override
         public Optional<InputStream> getRequestBody() {
-            return this.requestBody;
-        }
-
-        void setRequestBody(Optional<InputStream> requestBody) {
-            this.requestBody = requestBody;
+            if (this.parameters == null) {
+                return Optional.empty();
+            }
+            return Optional.of(this.parameters.newInputStream());
         }
 
         void set(HttpServletRequest req) {
@@ -272,37 +609,8 @@ public final class ReverseProxyServlet extends ProxyServlet {
             this.setRequestURI(req.getRequestURI());
         }
 
-        void set(InputStream body) {
-            BiConsumer<Map<String, List<String>>, String[]> accumulator = (m, v) -> {
-                if (v.length == 2) {
-                    m.computeIfAbsent(v[0], k -> new ArrayList<>())
-                            .add(v[1]);
-                }
-            };
-            BiConsumer<Map<String, List<String>>, Map<String, List<String>>> combiner = (m1, m2) -> {
-                m2.entrySet()
-                        .stream()
-                        .forEach(entry -> m1.merge(entry.getKey(), entry.getValue(), (l1, l2) -> {
-                            l1.addAll(l2);
-                            return l1;
-                        }));
-            };
-            String bodystr = "";
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
-                int len;
-                char[] cbuf = new char[128];
-                StringBuilder sb = new StringBuilder();
-                while ((len = reader.read(cbuf)) > 0) {
-                    sb.append(cbuf, 0, len);
-                }
-                bodystr = URLDecoder.decode(sb.toString(), "UTF-8");
-            } catch (Exception e) {
-                // NOP
-            }
-            this.setParameterMap(Arrays.stream(bodystr.split("&"))
-                    .map(kv -> kv.split("="))
-                    .collect(LinkedHashMap::new, accumulator, combiner));
-            this.setRequestBody(Optional.of(body));
+        void set(RequestParameters parameters) {
+            this.parameters = parameters;
         }
 
         @Override
@@ -312,19 +620,22 @@ public final class ReverseProxyServlet extends ProxyServlet {
             clone.setMethod(this.getMethod());
             clone.setQueryString(this.getQueryString());
             clone.setRequestURI(this.getRequestURI());
-            clone.setParameterMap(this.getParameterMap());
-            clone.setRequestBody(this.getRequestBody());
+            clone.set(this.parameters);
             return clone;
         }
     }
 
-    static class ResponseMetaDataWrapper implements ResponseMetaData, Cloneable {
+    static class ResponseMetaDataWrapper implements ResponseMetaData, ExchangeMetaData, Cloneable {
 
         private int status;
 
         private String contentType;
 
-        private Optional<InputStream> responseBody;
+        private long sequence;
+
+        private long receivedTime;
+
+        private DecodedContent content;
 
         @Override
         public int getStatus() {
@@ -345,12 +656,32 @@ public final class ReverseProxyServlet extends ProxyServlet {
         }
 
         @Override
-        public Optional<InputStream> getResponseBody() {
-            return this.responseBody;
+        public long getSequence() {
+            return this.sequence;
+        }
+
+        void setSequence(long sequence) {
+            this.sequence = sequence;
+        }
+
+        @Override
+        public long getReceivedTime() {
+            return this.receivedTime;
+        }
+
+        void setReceivedTime(long receivedTime) {
+            this.receivedTime = receivedTime;
         }
 
-        void setResponseBody(Optional<InputStream> responseBody) {
-            this.responseBody = responseBody;
+        /*
+         * 呼び出し毎に新しいInputStreamを返します
+         */
+        @Override
+        public Optional<InputStream> getResponseBody() {
+            if (this.content == null) {
+                return Optional.empty();
+            }
+            return Optional.of(this.content.newInputStream());
         }
 
         void set(HttpServletResponse res) {
@@ -358,8 +689,8 @@ public final class ReverseProxyServlet extends ProxyServlet {
             this.setContentType(res.getContentType());
         }
 
-        void set(InputStream body) throws IOException {
-            this.setResponseBody(Optional.of(ungzip(body)));
+        void set(DecodedContent content) {
+            this.content = content;
         }
 
         @Override
@@ -367,19 +698,11 @@ public final class ReverseProxyServlet extends ProxyServlet {
             ResponseMetaDataWrapper clone = new ResponseMetaDataWrapper();
             clone.setStatus(this.getStatus());
             clone.setContentType(this.getContentType());
-            clone.setResponseBody(this.getResponseBody());
+            clone.setSequence(this.getSequence());
+            clone.setReceivedTime(this.getReceivedTime());
+            clone.set(this.content);
             return clone;
         }
-
-        private static InputStream ungzip(InputStream body) throws IOException {
-            body.mark(Short.BYTES);
-            int magicbyte = body.read() << 8 ^ body.read();
-            body.reset();
-            if (magicbyte == 0x1f8b) {
-                return new GZIPInputStream(body);
-            }
-            return body;
-        }
     }
 
     private static class FieldHolder {
@@ -0,0 +1,49 @@
+package logbook.internal.proxy;
+
+import logbook.proxy.RequestMetaData;
+import logbook.proxy.ResponseMetaData;
+
+/**
+ * レスポンスボディを受信しながら処理できる{@link logbook.proxy.ContentListenerSpi}
+ * <p>
+ * {@link logbook.proxy.ContentListenerSpi}の実装クラスがこのインターフェイスも実装している場合、
+ * レスポンスを受け入れた時点で{@link #begin(RequestMetaData)}が呼び出され、
+ * 復号したレスポンスボディが受信した順に{@link ContentConsumer#onContent(byte[], int, int)}に渡されます。
+ * </p>
+ */
+public interface StreamingContentListener {
+
+    /**
+     * レスポンスボディの受信を開始します
+     *
+     * @param requestMetaData リクエストに含まれている情報
+     * @return レスポンスボディを受け取るオブジェクト、受信しながら処理しない場合null
+     */
+    ContentConsumer begin(RequestMetaData requestMetaData);
+
+    /**
+     * 復号したレスポンスボディを受け取ります
+     */
+    interface ContentConsumer {
+
+        /**
+         * 復号したレスポンスボディの一部を受け取ります<br>
+         * このメソッドから戻った後はbufferの内容を参照しないでください
+         *
+         * @param buffer バッファ
+         * @param offset バッファ内の開始位置
+         * @param length バイト数
+         * @throws Exception 処理に失敗した場合
+         */
+        void onContent(byte[] buffer, int offset, int length) throws Exception;
+
+        /**
+         * レスポンスボディをすべて受け取った後に呼び出されます
+         *
+         * @param requestMetaData リクエストに含まれている情報
+         * @param responseMetaData レスポンスに含まれている情報
+         * @return 処理した場合true、{@link logbook.proxy.ContentListenerSpi#accept(RequestMetaData, ResponseMetaData)}で処理する場合false
+         */
+        boolean onComplete(RequestMetaData requestMetaData, ResponseMetaData responseMetaData);
+    }
+}
@@ -0,0 +1,184 @@
+package logbook.internal.proxy;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import logbook.internal.LoggerHolder;
+import logbook.internal.proxy.StreamingContentListener.ContentConsumer;
+
+/**
+ * 受信したレスポンスボディを復号しながら{@link ContentConsumer}に渡します
+ * <p>
+ * gzipで圧縮されている場合は展開してから渡します。
+ * 処理中に例外が発生した場合、以降のレスポンスボディは渡されません。
+ * </p>
+ */
+final class StreamingDecoder {
+
+    private static final int UNKNOWN = 0;
+
+    private static final int PLAIN = 1;
+
+    private static final int GZIP = 2;
+
+    private final ContentConsumer consumer;
+
+    private int mode = UNKNOWN;
+
+    /** 圧縮形式を判定するまでのデータ */
+    private ByteArrayOutputStream pending = new ByteArrayOutputStream(32);
+
+    private Inflater inflater;
+
+    private byte[] out;
+
+    private boolean failed;
+
+    /**
+     * @param consumer 復号したレスポンスボディを受け取るオブジェクト
+     */
+    StreamingDecoder(ContentConsumer consumer) {
+        this.consumer = consumer;
+    }
+
+    /**
+     * 受信したレスポンスボディを渡します
+     *
+     * @param buffer バッファ
+     * @param offset バッファ内の開始位置
+     * @param length バイト数
+     */
+    void feed(byte[] buffer, int offset, int length) {
+        if (this.failed || length <= 0) {
+            return;
+        }
+        try {
+            if (this.mode == UNKNOWN) {
+                this.pending.write(buffer, offset, length);
+                byte[] b = this.pending.toByteArray();
+                if (b.length < 2) {
+                    return;
+                }
+                if (((b[0] & 0xff) << 8 ^ (b[1] & 0xff)) != 0x1f8b) {
+                    this.mode = PLAIN;
+                    this.pending = null;
+                    this.consumer.onContent(b, 0, b.length);
+                    return;
+                }
+                int headerLength = gzipHeaderLength(b);
+                if (headerLength < 0) {
+                    return;
+                }
+                this.mode = GZIP;
+                this.pending = null;
+                this.inflater = new Inflater(true);
+                this.out = new byte[8192];
+                this.inflate(b, headerLength, b.length - headerLength);
+            } else if (this.mode == PLAIN) {
+                this.consumer.onContent(buffer, offset, length);
+            } else {
+                this.inflate(buffer, offset, length);
+            }
+        } catch (Exception e) {
+            LoggerHolder.get().warn("レスポンスボディの復号中に例外が発生", e);
+            this.fail();
+        }
+    }
+
+    /**
+     * すべてのレスポンスボディを受信した後に呼び出します
+     *
+     * @return レスポンスボディを受け取ったオブジェクト、処理中に例外が発生していた場合null
+     */
+    ContentConsumer finish() {
+        if (!this.failed && this.mode == UNKNOWN) {
+            try {
+                byte[] b = this.pending.toByteArray();
+                this.consumer.onContent(b, 0, b.length);
+            } catch (Exception e) {
+                LoggerHolder.get().warn("レスポンスボディの復号中に例外が発生", e);
+                this.failed = true;
+            }
+        }
+        if (this.inflater != null) {
+            this.failed |= !this.inflater.finished();
+            this.inflater.end();
+            this.inflater = null;
+        }
+        return this.failed ? null : this.consumer;
+    }
+
+    private void inflate(byte[] buffer, int offset, int length) throws Exception {
+        if (this.inflater.finished()) {
+            // トレーラー
+            return;
+        }
+        this.inflater.setInput(buffer, offset, length);
+        while (!this.inflater.finished()) {
+            int n = this.inflater.inflate(this.out);
+            if (n == 0) {
+                if (this.inflater.needsDictionary()) {
+                    throw new DataFormatException("needs dictionary");
+                }
+                break;
+            }
+            this.consumer.onContent(this.out, 0, n);
+        }
+    }
+
+    private void fail() {
+        this.failed = true;
+        this.pending = null;
+        if (this.inflater != null) {
+            this.inflater.end();
+            this.inflater = null;
+        }
+    }
+
+    /**
+     * gzipヘッダーのバイト数を返します
+     *
+     * @param b gzipヘッダーを含むバイト列
+     * @return gzipヘッダーのバイト数、ヘッダーが不完全な場合-1
+     */
+    private static int gzipHeaderLength(byte[] b) {
+        if (b.length < 10) {
+            return -1;
+        }
+        int flg = b[3] & 0xff;
+        int pos = 10;
+        // FEXTRA
+        if ((flg & 4) != 0) {
+            if (b.length < pos + 2) {
+                return -1;
+            }
+            pos += 2 + ((b[pos] & 0xff) | ((b[pos + 1] & 0xff) << 8));
+        }
+        // FNAME
+        if ((flg & 8) != 0) {
+            pos = skipZeroTerminated(b, pos);
+        }
+        // FCOMMENT
+        if ((flg & 16) != 0) {
+            pos = skipZeroTerminated(b, pos);
+        }
+        // FHCRC
+        if ((flg & 2) != 0 && pos >= 0) {
+            pos += 2;
+        }
+        return (pos >= 0 && pos <= b.length) ? pos : -1;
+    }
+
+    private static int skipZeroTerminated(byte[] b, int pos) {
+        if (pos < 0) {
+            return -1;
+        }
+        for (int i = pos; i < b.length; i++) {
+            if (b[i] == 0) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+}
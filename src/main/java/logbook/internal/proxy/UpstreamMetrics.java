@@ -0,0 +1,193 @@
+package logbook.internal.proxy;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.HttpDestination;
+import org.eclipse.jetty.client.api.Destination;
+
+import logbook.internal.LatencyHistogram;
+
+/**
+ * アップストリームへの接続の統計情報を記録します
+ *
+ */
+public final class UpstreamMetrics {
+
+    private static final UpstreamMetrics INSTANCE = new UpstreamMetrics();
+
+    private final Map<String, Connects> connects = new ConcurrentHashMap<>();
+
+    /** リトライのためにリクエストボディを記憶したリクエスト数 */
+    private final LongAdder retryBuffered = new LongAdder();
+
+    /** リトライしたリクエスト数 */
+    private final LongAdder retries = new LongAdder();
+
+    private volatile HttpClient client;
+
+    private UpstreamMetrics() {
+    }
+
+    /**
+     * 統計情報を取得するHttpClientを設定します
+     *
+     * @param client HttpClient
+     */
+    void setClient(HttpClient client) {
+        this.client = client;
+    }
+
+    /**
+     * 接続にかかった時間を記録します
+     *
+     * @param destination 接続先
+     * @param nanos 接続にかかった時間(ナノ秒)
+     */
+    void recordConnect(Destination destination, long nanos) {
+        this.connects(destination).latency.record(nanos);
+    }
+
+    /**
+     * 接続に失敗したことを記録します
+     *
+     * @param destination 接続先
+     */
+    void recordConnectFailure(Destination destination) {
+        this.connects(destination).failures.increment();
+    }
+
+    /**
+     * リトライのためにリクエストボディを記憶したことを記録します
+     */
+    void recordRetryBuffered() {
+        this.retryBuffered.increment();
+    }
+
+    /**
+     * リトライしたことを記録します
+     */
+    void recordRetry() {
+        this.retries.increment();
+    }
+
+    /**
+     * リトライのためにリクエストボディを記憶したリクエスト数を返します
+     *
+     * @return リクエスト数
+     */
+    public long getRetryBufferedCount() {
+        return this.retryBuffered.sum();
+    }
+
+    /**
+     * リトライしたリクエスト数を返します
+     *
+     * @return リクエスト数
+     */
+    public long getRetryCount() {
+        return this.retries.sum();
+    }
+
+    /**
+     * 接続先ごとの統計情報を返します
+     *
+     * @return 接続先ごとの統計情報
+     */
+    public List<DestinationStatistics> getStatistics() {
+        HttpClient client = this.client;
+        if (client == null) {
+            return Collections.emptyList();
+        }
+        List<DestinationStatistics> statistics = new ArrayList<>();
+        for (Destination destination : client.getDestinations()) {
+            Connects connects = this.connects(destination);
+            statistics.add(new DestinationStatistics(key(destination),
+                    FieldHolder.size(FieldHolder.ACTIVE_CONNECTIONS, destination),
+                    FieldHolder.size(FieldHolder.IDLE_CONNECTIONS, destination),
+                    FieldHolder.size(FieldHolder.EXCHANGES, destination),
+                    client.getMaxConnectionsPerDestination(),
+                    connects.latency.getCount(),
+                    connects.failures.sum(),
+                    connects.latency.getMean(),
+                    connects.latency.getPercentile(0.99),
+                    connects.latency.getMax()));
+        }
+        return statistics;
+    }
+
+    private Connects connects(Destination destination) {
+        return this.connects.computeIfAbsent(key(destination), k -> new Connects());
+    }
+
+    private static String key(Destination destination) {
+        return destination.getScheme() + "://" + destination.getHost() + ":" + destination.getPort();
+    }
+
+    /**
+     * インスタンスを返します
+     *
+     * @return UpstreamMetrics
+     */
+    public static UpstreamMetrics get() {
+        return INSTANCE;
+    }
+
+    private static final class Connects {
+
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        private final LongAdder failures = new LongAdder();
+    }
+
+    private static class FieldHolder {
+        /** 使用中の接続 (HttpDestination#activeConnections) */
+        static final Field ACTIVE_CONNECTIONS = getDeclaredField(HttpDestination.class, "activeConnections");
+
+        /** 待機中の接続 (HttpDestination#idleConnections) */
+        static final Field IDLE_CONNECTIONS = getDeclaredField(HttpDestination.class, "idleConnections");
+
+        /** 接続を待っているリクエスト (HttpDestination#exchanges) */
+        static final Field EXCHANGES = getDeclaredField(HttpDestination.class, "exchanges");
+
+        /**
+         * HttpDestinationのコレクションの要素数を返します
+         * @param field フィールド
+         * @param destination 接続先
+         * @return 要素数、取得できない場合-1
+         */
+        static int size(Field field, Destination destination) {
+            if (field == null || !(destination instanceof HttpDestination)) {
+                return -1;
+            }
+            try {
+                return ((Collection<?>) field.get(destination)).size();
+            } catch (ReflectiveOperationException e) {
+                return -1;
+            }
+        }
+
+        /**
+         * private フィールドを取得する
+         * @param clazz クラス
+         * @param string フィールド名
+         * @return フィールドオブジェクト、存在しない場合null
+         */
+        private static <T> Field getDeclaredField(Class<T> clazz, String string) {
+            try {
+                Field field = clazz.getDeclaredField(string);
+                field.setAccessible(true);
+                return field;
+            } catch (ReflectiveOperationException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -5,8 +5,13 @@ package logbook.proxy;
  * <br>
  * まずリクエストに対して{@link #test(RequestMetaData)}が呼び出されます。{@link #test(RequestMetaData)}がtrueを返してかつ、リクエストに対する
  * レスポンスが正常に返ってきた場合に{@link #accept(RequestMetaData, ResponseMetaData)}が呼び出されます。<br>
+ * {@link #test(RequestMetaData)}はレスポンスヘッダーを受信した時点で呼び出され、どのリスナーも受け入れないレスポンスはキャプチャされません。<br>
+ * キャプチャしたレスポンスボディは{@link #accept(RequestMetaData, ResponseMetaData)}から戻った後に解放されるため、
+ * レスポンスボディは{@link #accept(RequestMetaData, ResponseMetaData)}の中で読み込んでください。<br>
  * <br>
  * リクエストは並列処理される可能性があるため同期化が必要になることがあります。
+ *
+ * @see logbook.proxy.ContentTarget
  */
 public interface ContentListenerSpi {
 
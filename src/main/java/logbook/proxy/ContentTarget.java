@@ -0,0 +1,36 @@
+package logbook.proxy;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * {@code ContentListenerSpi}が受け入れるリクエストのURIを表す注釈です。<br>
+ * 例えば次の記述は/kcs2/img/以下のリクエストと/kcs2/version.jsonのみを受け入れることを表します。<br>
+ * <pre><code>
+ * @ContentTarget(prefix = "/kcs2/img/", path = "/kcs2/version.json")
+ * </code></pre>
+ * 注釈が付与されている場合、{@link ContentListenerSpi#test(RequestMetaData)}はURIが一致するリクエストに対してのみ呼び出されます。
+ * 注釈が付与されていない場合、すべてのリクエストに対して{@link ContentListenerSpi#test(RequestMetaData)}が呼び出されます。
+ *
+ * @see logbook.proxy.ContentListenerSpi
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ContentTarget {
+
+    /**
+     * 受け入れるURIの前方一致部分を返します
+     *
+     * @return URIの前方一致部分
+     */
+    String[] prefix() default {};
+
+    /**
+     * 受け入れるURIを返します
+     *
+     * @return URI
+     */
+    String[] path() default {};
+}
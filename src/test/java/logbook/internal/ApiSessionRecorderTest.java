@@ -0,0 +1,129 @@
+package logbook.internal;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import logbook.bean.AppConfig;
+import logbook.proxy.RequestMetaData;
+
+public class ApiSessionRecorderTest {
+
+    private Path dir;
+
+    private boolean recordApiSession;
+
+    @Before
+    public void setUp() throws Exception {
+        this.dir = Files.createTempDirectory("session");
+        this.recordApiSession = AppConfig.get().isRecordApiSession();
+        AppConfig.get().setRecordApiSession(true);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        AppConfig.get().setRecordApiSession(this.recordApiSession);
+        try (Stream<Path> paths = Files.walk(this.dir)) {
+            paths.sorted(Comparator.reverseOrder())
+                    .forEach(p -> p.toFile().delete());
+        }
+    }
+
+    /**
+     * 記録したセッションを再生すると記録した順に同じURI、パラメータ、JSONが送られ、
+     * {@link ApiSessionReplayer#awaitIdle()}がすべての処理を待つこと
+     */
+    @Test
+    public void testRecordAndReplay() throws Exception {
+        ApiSessionRecorder recorder = new ApiSessionRecorder(this.dir);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            String uri = "/kcsapi/api_test/" + (i % 7);
+            JsonObject json = Json.createObjectBuilder()
+                    .add("api_result", 1)
+                    .add("api_data", Json.createObjectBuilder().add("api_id", i))
+                    .build();
+            recorder.record(new Request(uri, i), null, json);
+            expected.add(uri + " {api_id=[" + i + "]} " + json);
+        }
+        recorder.close();
+
+        List<Path> files;
+        try (Stream<Path> paths = Files.list(this.dir)) {
+            files = paths.collect(Collectors.toList());
+        }
+        assertEquals(1, files.size());
+
+        List<String> actual = Collections.synchronizedList(new ArrayList<>());
+        ApiSessionReplayer replayer = new ApiSessionReplayer((req, res, json) -> {
+            String line = req.getRequestURI() + " " + req.getParameterMap() + " " + json;
+            ThreadManager.getDispatcher().execute(() -> actual.add(line));
+        });
+        assertEquals(50, replayer.replay(files.get(0), false));
+        ApiSessionReplayer.awaitIdle();
+        assertEquals(expected, actual);
+    }
+
+    private static final class Request implements RequestMetaData {
+
+        private final String uri;
+
+        private final Map<String, List<String>> parameters = new LinkedHashMap<>();
+
+        Request(String uri, int id) {
+            this.uri = uri;
+            // api_tokenは記録されない
+            this.parameters.put("api_token", Collections.singletonList("token"));
+            this.parameters.put("api_id", Arrays.asList(String.valueOf(id)));
+        }
+
+        @Override
+        public String getContentType() {
+            return "application/x-www-form-urlencoded";
+        }
+
+        @Override
+        public String getMethod() {
+            return "POST";
+        }
+
+        @Override
+        public Map<String, List<String>> getParameterMap() {
+            return this.parameters;
+        }
+
+        @Override
+        public String getQueryString() {
+            return null;
+        }
+
+        @Override
+        public String getRequestURI() {
+            return this.uri;
+        }
+
+        @Override
+        public Optional<InputStream> getRequestBody() {
+            return Optional.empty();
+        }
+    }
+}
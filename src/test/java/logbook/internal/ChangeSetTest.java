@@ -0,0 +1,110 @@
+package logbook.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+import org.junit.Test;
+
+import logbook.bean.Ship;
+
+public class ChangeSetTest {
+
+    /**
+     * 追加・削除・変更されたキーと変更されたフィールド名を検出すること
+     */
+    @Test
+    public void testDiff() {
+        Map<Integer, Ship> current = ships(ship(1, 49, 10), ship(2, 49, 20), ship(3, 49, 30));
+
+        Map<Integer, Ship> incoming = new LinkedHashMap<>();
+        incoming.put(1, current.get(1).clone());
+        Ship changed = current.get(2).clone();
+        changed.setCond(53);
+        changed.setLv(21);
+        incoming.put(2, changed);
+        incoming.put(4, ship(4, 40, 1));
+
+        ChangeSet<Integer> changes = ChangeSet.diff(current, incoming, Ship::diff);
+
+        assertFalse(changes.isEmpty());
+        assertEquals(Collections.singleton(4), changes.getAdded());
+        assertEquals(Collections.singleton(3), changes.getRemoved());
+        assertEquals(Collections.singleton(2), changes.getChanged().keySet());
+        assertEquals(new LinkedHashSet<>(Arrays.asList("lv", "cond")), changes.getChanged().get(2));
+    }
+
+    /**
+     * 同じ内容のMapを比較した場合は変更なしになること
+     */
+    @Test
+    public void testDiffUnchanged() {
+        Map<Integer, Ship> current = ships(ship(1, 49, 10), ship(2, 49, 20));
+        Map<Integer, Ship> incoming = new LinkedHashMap<>();
+        for (Ship ship : current.values()) {
+            incoming.put(ship.getId(), ship.clone());
+        }
+        assertTrue(ChangeSet.diff(current, incoming, Ship::diff).isEmpty());
+        assertTrue(ChangeSet.diff(current, current, Ship::diff).isEmpty());
+    }
+
+    /**
+     * 生成されたdiffがcondの変更のみを検出すること
+     */
+    @Test
+    public void testShipDiffCond() {
+        Ship before = ship(1, 49, 10);
+        Ship after = before.clone();
+        assertTrue(Ship.diff(before, after).isEmpty());
+        after.setCond(40);
+        assertEquals(Collections.singleton("cond"), Ship.diff(before, after));
+    }
+
+    /**
+     * applyが変更されていない艦娘のインスタンスを置き換えないこと
+     */
+    @Test
+    public void testApplyKeepsUnchangedInstance() {
+        Map<Integer, Ship> current = ships(ship(1, 49, 10), ship(2, 49, 20), ship(3, 49, 30));
+        Ship unchanged = current.get(1);
+
+        Map<Integer, Ship> incoming = new LinkedHashMap<>();
+        incoming.put(1, unchanged.clone());
+        Ship changed = current.get(2).clone();
+        changed.setCond(30);
+        incoming.put(2, changed);
+        Ship added = ship(4, 40, 1);
+        incoming.put(4, added);
+
+        ChangeSet<Integer> changes = ChangeSet.diff(current, incoming, Ship::diff);
+        changes.apply(current, incoming);
+
+        assertEquals(incoming.keySet(), current.keySet());
+        assertSame(unchanged, current.get(1));
+        assertSame(changed, current.get(2));
+        assertSame(added, current.get(4));
+    }
+
+    private static Ship ship(int id, int cond, int lv) {
+        Ship ship = new Ship();
+        ship.setId(id);
+        ship.setCond(cond);
+        ship.setLv(lv);
+        return ship;
+    }
+
+    private static Map<Integer, Ship> ships(Ship... ships) {
+        Map<Integer, Ship> map = new LinkedHashMap<>();
+        for (Ship ship : ships) {
+            map.put(ship.getId(), ship);
+        }
+        return map;
+    }
+}
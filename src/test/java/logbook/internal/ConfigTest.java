@@ -0,0 +1,164 @@
+package logbook.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import logbook.bean.Basic;
+
+public class ConfigTest {
+
+    private Path dir;
+
+    @Before
+    public void setUp() throws Exception {
+        this.dir = Files.createTempDirectory("config");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        try (Stream<Path> paths = Files.walk(this.dir)) {
+            paths.sorted(Comparator.reverseOrder())
+                    .forEach(p -> p.toFile().delete());
+        }
+    }
+
+    /**
+     * 変更されていないBeanは書き込まず、変更されたBeanと通知されたBeanだけを書き込むこと
+     */
+    @Test
+    public void testStoreOnlyChanged() throws Exception {
+        Config config = new Config(this.dir);
+        Path json = this.dir.resolve(Basic.class.getCanonicalName() + ".json");
+        Path backup = this.dir.resolve(Basic.class.getCanonicalName() + ".json.backup");
+
+        config.get(Basic.class, Basic::new).setLevel(10);
+        config.store();
+        assertTrue(Files.exists(json));
+        assertFalse(Files.exists(backup));
+
+        // 変更なし
+        config.store();
+        assertFalse(Files.exists(backup));
+
+        // 変更あり
+        config.get(Basic.class, Basic::new).setLevel(11);
+        config.store();
+        assertTrue(Files.exists(backup));
+        Files.delete(backup);
+
+        // 変更の通知
+        config.markDirty(Basic.class);
+        config.store();
+        assertTrue(Files.exists(backup));
+        assertFalse(Files.exists(this.dir.resolve(Basic.class.getCanonicalName() + ".json.tmp")));
+
+        // 読み込み直後は変更なし
+        Config reload = new Config(this.dir);
+        assertEquals(Integer.valueOf(11), reload.get(Basic.class, Basic::new).getLevel());
+        Files.delete(backup);
+        reload.store();
+        assertFalse(Files.exists(backup));
+    }
+
+    /**
+     * 登録した型はハッシュコードで変更を検出せず、新しく作成した場合と通知された場合だけ書き込むこと
+     */
+    @Test
+    public void testStoreTracked() throws Exception {
+        Config config = new Config(this.dir);
+        config.track(Basic.class);
+        Path json = this.dir.resolve(Basic.class.getCanonicalName() + ".json");
+        Path backup = this.dir.resolve(Basic.class.getCanonicalName() + ".json.backup");
+
+        config.get(Basic.class, Basic::new).setLevel(10);
+        config.store();
+        assertTrue(Files.exists(json));
+
+        // 変更されていても通知がなければ書き込まない
+        config.get(Basic.class, Basic::new).setLevel(11);
+        config.store();
+        assertFalse(Files.exists(backup));
+        assertEquals(Integer.valueOf(10), ConfigFormat.JSON.newMapper().readValue(json.toFile(), Basic.class).getLevel());
+
+        // 変更の通知
+        config.markDirty(Basic.class);
+        config.store();
+        assertTrue(Files.exists(backup));
+        assertEquals(Integer.valueOf(11), ConfigFormat.JSON.newMapper().readValue(json.toFile(), Basic.class).getLevel());
+    }
+
+    /**
+     * 呼び出した時点の内容をシリアライズし、ファイルへの書き込みは指定したExecutorで呼び出した順に行うこと
+     */
+    @Test
+    public void testStoreAsync() throws Exception {
+        Config config = new Config(this.dir);
+        Path json = this.dir.resolve(Basic.class.getCanonicalName() + ".json");
+        List<Runnable> tasks = new ArrayList<>();
+
+        config.get(Basic.class, Basic::new).setLevel(10);
+        CompletableFuture<Void> first = config.store(tasks::add);
+        config.get(Basic.class, Basic::new).setLevel(11);
+        CompletableFuture<Void> second = config.store(tasks::add);
+        config.get(Basic.class, Basic::new).setLevel(12);
+        assertFalse(Files.exists(json));
+
+        tasks.remove(0).run();
+        assertTrue(first.isDone());
+        assertEquals(Integer.valueOf(10), ConfigFormat.JSON.newMapper().readValue(json.toFile(), Basic.class).getLevel());
+        assertFalse(second.isDone());
+
+        tasks.remove(0).run();
+        assertTrue(second.isDone());
+        assertEquals(Integer.valueOf(11), ConfigFormat.JSON.newMapper().readValue(json.toFile(), Basic.class).getLevel());
+    }
+
+    /**
+     * 形式を変更した場合、他の形式のファイルから読み込み、次の書き込みで新しい形式に移行すること。
+     * 読み込めないファイルはバックアップファイルから読み込むこと
+     */
+    @Test
+    public void testMigrateFormat() throws Exception {
+        Path json = this.dir.resolve(Basic.class.getCanonicalName() + ".json");
+        Path smile = this.dir.resolve(Basic.class.getCanonicalName() + ".smile");
+
+        Config config = new Config(this.dir);
+        config.get(Basic.class, Basic::new).setLevel(10);
+        config.store();
+        config.get(Basic.class, Basic::new).setLevel(11);
+        config.store();
+
+        // JSONから読み込んでSmileで書き込む
+        Config migrate = new Config(this.dir);
+        migrate.setFormat(ConfigFormat.SMILE);
+        assertEquals(Integer.valueOf(11), migrate.get(Basic.class, Basic::new).getLevel());
+        migrate.store();
+        assertTrue(Files.exists(smile));
+        assertFalse(Files.exists(json));
+        assertFalse(Files.exists(this.dir.resolve(Basic.class.getCanonicalName() + ".json.backup")));
+        assertEquals(Integer.valueOf(11), ConfigFormat.SMILE.newMapper().readValue(smile.toFile(), Basic.class).getLevel());
+
+        // 壊れたファイルはバックアップから読み込み、次の書き込みで修復する
+        migrate.get(Basic.class, Basic::new).setLevel(12);
+        migrate.store();
+        Files.write(smile, new byte[] { '{' });
+        Config fallback = new Config(this.dir);
+        fallback.setFormat(ConfigFormat.SMILE);
+        assertEquals(Integer.valueOf(11), fallback.get(Basic.class, Basic::new).getLevel());
+        fallback.store();
+        assertEquals(Integer.valueOf(11), ConfigFormat.SMILE.newMapper().readValue(smile.toFile(), Basic.class).getLevel());
+    }
+}
@@ -0,0 +1,56 @@
+package logbook.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import logbook.bean.Ship;
+
+public class IntListTest {
+
+    /**
+     * ArrayListと同じequals、hashCodeとなり、nullを含むリストは変換されないこと
+     */
+    @Test
+    public void testSameAsArrayList() {
+        List<Integer> expected = new ArrayList<>(Arrays.asList(3, -1, 0, 1024, -1));
+        List<Integer> actual = IntList.of(expected);
+
+        assertTrue(actual instanceof IntList);
+        assertEquals(expected, actual);
+        assertEquals(actual, expected);
+        assertEquals(expected.hashCode(), actual.hashCode());
+        assertEquals(expected.toString(), actual.toString());
+        assertEquals(expected.indexOf(-1), actual.indexOf(-1));
+        assertEquals(expected.lastIndexOf(-1), actual.lastIndexOf(-1));
+
+        List<Integer> withNull = Arrays.asList(1, null);
+        assertSame(withNull, IntList.of(withNull));
+    }
+
+    /**
+     * Jacksonで読み書きした結果が変換前と同じJSONになること
+     */
+    @Test
+    public void testJsonCompatible() throws Exception {
+        String json = "{\"id\":1,\"exp\":[9999,1,2],\"slot\":[10,-1,-1],\"onslot\":[0,0,0],"
+                + "\"karyoku\":[30,50],\"lucky\":[12,49]}";
+        ObjectMapper mapper = new ObjectMapper();
+        Ship ship = mapper.readValue(json, Ship.class);
+
+        assertTrue(ship.getSlot() instanceof IntList);
+        assertEquals(Arrays.asList(10, -1, -1), ship.getSlot());
+
+        Ship copy = mapper.readValue(mapper.writeValueAsString(ship), Ship.class);
+        assertEquals(mapper.writeValueAsString(ship), mapper.writeValueAsString(copy));
+        assertEquals(mapper.readTree(json).get("exp"), mapper.valueToTree(ship).get("exp"));
+    }
+}
@@ -0,0 +1,85 @@
+package logbook.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class IntMapTest {
+
+    /**
+     * 挿入・削除を繰り返してもLinkedHashMapと同じ内容と反復順になること
+     */
+    @Test
+    public void testSameAsLinkedHashMap() {
+        Map<Integer, String> expected = new LinkedHashMap<>();
+        IntMap<String> actual = new IntMap<>();
+        Random random = new Random(1);
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(500) - 100;
+            switch (random.nextInt(3)) {
+            case 0:
+                assertEquals(expected.remove(key), actual.remove(key));
+                break;
+            default:
+                assertEquals(expected.put(key, "v" + i), actual.put(key, "v" + i));
+                break;
+            }
+            assertEquals(expected.size(), actual.size());
+        }
+        assertEquals(expected, actual);
+        assertEquals(expected.hashCode(), actual.hashCode());
+        assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(actual.keySet()));
+        assertEquals(new ArrayList<>(expected.values()), new ArrayList<>(actual.values()));
+        assertNull(actual.get("1"));
+
+        // Iterator#remove
+        for (Iterator<Integer> it = actual.keySet().iterator(); it.hasNext();) {
+            if (it.next() % 2 == 0) {
+                it.remove();
+            }
+        }
+        expected.keySet().removeIf(k -> k % 2 == 0);
+        assertEquals(new ArrayList<>(expected.entrySet()), new ArrayList<>(actual.entrySet()));
+    }
+
+    /**
+     * JacksonとJavaのシリアライズで復元できること
+     */
+    @Test
+    public void testSerialize() throws Exception {
+        IntMap<String> map = new IntMap<>();
+        for (int i = 10; i > 0; i--) {
+            map.put(i, "v" + i);
+        }
+        map.remove(5);
+
+        ObjectMapper mapper = new ObjectMapper();
+        String json = mapper.writeValueAsString(map);
+        Map<Integer, String> read = mapper.readValue(json, new TypeReference<IntMap<String>>() {
+        });
+        assertEquals(IntMap.class, read.getClass());
+        assertEquals(new ArrayList<>(map.entrySet()), new ArrayList<>(read.entrySet()));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
+            oos.writeObject(map);
+        }
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals(new ArrayList<>(map.entrySet()), new ArrayList<>(((Map<?, ?>) ois.readObject()).entrySet()));
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package logbook.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+public class PersistentIntMapTest {
+
+    /**
+     * 追加・削除を繰り返してもキーの符号なしの昇順のTreeMapと同じ内容と反復順になり、
+     * 変更前のMapの内容は変わらないこと
+     */
+    @Test
+    public void testSameAsTreeMap() {
+        TreeMap<Integer, String> expected = new TreeMap<>(Integer::compareUnsigned);
+        PersistentIntMap<String> actual = PersistentIntMap.empty();
+        Random random = new Random(1);
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(10) == 0 ? random.nextInt() : random.nextInt(5000);
+            PersistentIntMap<String> before = actual;
+            Map<Integer, String> beforeExpected = new TreeMap<>(expected);
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                actual = actual.minus(key);
+            } else {
+                expected.put(key, "v" + i);
+                actual = actual.plus(key, "v" + i);
+            }
+            assertEquals(expected.size(), actual.size());
+            if (i % 1000 == 0) {
+                assertEquals(new ArrayList<>(beforeExpected.entrySet()), new ArrayList<>(before.entrySet()));
+            }
+        }
+        assertEquals(new ArrayList<>(expected.entrySet()), new ArrayList<>(actual.entrySet()));
+        assertEquals(expected.hashCode(), actual.hashCode());
+        assertEquals(new ArrayList<>(expected.entrySet()), new ArrayList<>(PersistentIntMap.of(expected).entrySet()));
+        assertNull(actual.get("1"));
+    }
+
+    /**
+     * AtomicIntMapの反復中に変更しても反復を開始した時点の内容を返し、まとめた変更が反映されること
+     */
+    @Test
+    public void testAtomicIntMap() throws Exception {
+        AtomicIntMap<String> map = new AtomicIntMap<>();
+        for (int i = 1; i <= 10; i++) {
+            map.put(i, "v" + i);
+        }
+        PersistentIntMap<String> snapshot = map.snapshot();
+        int count = 0;
+        for (Iterator<Integer> it = map.keySet().iterator(); it.hasNext();) {
+            if (it.next() % 2 == 0) {
+                it.remove();
+            }
+            map.put(100 + count, "x");
+            count++;
+        }
+        assertEquals(10, count);
+        assertEquals(10, snapshot.size());
+        assertEquals(15, map.size());
+
+        map.update(m -> {
+            m.clear();
+            m.put(1, "a");
+            assertEquals(15, map.size());
+        });
+        assertEquals(1, map.size());
+        assertEquals("a", map.get(1));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
+            oos.writeObject(snapshot);
+        }
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals(new ArrayList<>(snapshot.entrySet()), new ArrayList<>(((Map<?, ?>) ois.readObject()).entrySet()));
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package logbook.internal;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+
+import org.junit.Test;
+
+public class StreamingJsonReaderTest {
+
+    /**
+     * {@link logbook.internal.StreamingJsonReader#feed(byte[], int, int)} のためのテスト・メソッド。
+     * @throws IOException
+     */
+    @Test
+    public void testFeed() throws IOException {
+        Path p = Paths.get("./src/test/resources/logbook/bean/req_sortie_battle.json");
+        JsonObject expected;
+        try (Reader reader = Files.newBufferedReader(p)) {
+            try (JsonReader jsonReader = Json.createReader(reader)) {
+                expected = jsonReader.readObject();
+            }
+        }
+        byte[] bytes = Files.readAllBytes(p);
+        // 小さく分割して受信した場合でも同じJsonObjectになること
+        for (int chunk : new int[] { 1, 7, 1024, bytes.length }) {
+            StreamingJsonReader reader = new StreamingJsonReader();
+            for (int i = 0; i < bytes.length; i += chunk) {
+                reader.feed(bytes, i, Math.min(chunk, bytes.length - i));
+            }
+            assertEquals(expected, reader.readObject());
+        }
+    }
+}
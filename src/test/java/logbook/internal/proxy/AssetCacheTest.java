@@ -0,0 +1,145 @@
+package logbook.internal.proxy;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.api.ContentResponse;
+import org.eclipse.jetty.client.api.ProxyConfiguration;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import logbook.bean.AppConfig;
+import logbook.plugin.PluginContainer;
+
+public class AssetCacheTest {
+
+    private static final String ETAG = "\"asset-1\"";
+
+    private static final byte[] BODY = "asset-body".getBytes(StandardCharsets.UTF_8);
+
+    /** アップストリームが受け取ったリクエストの数 */
+    private final AtomicInteger upstreamRequests = new AtomicInteger();
+
+    /** アップストリームが304を返した数 */
+    private final AtomicInteger notModified = new AtomicInteger();
+
+    private Server upstream;
+
+    private Server proxy;
+
+    private HttpClient client;
+
+    private Path cacheDir;
+
+    private boolean useAssetCache;
+
+    private String assetCacheDir;
+
+    @Before
+    public void setUp() throws Exception {
+        PluginContainer.getInstance().init(Collections.emptyList());
+        this.cacheDir = Files.createTempDirectory("logbook-asset-cache");
+        this.useAssetCache = AppConfig.get().isUseAssetCache();
+        this.assetCacheDir = AppConfig.get().getAssetCacheDir();
+        AppConfig.get().setUseAssetCache(true);
+        AppConfig.get().setAssetCacheDir(this.cacheDir.toString());
+
+        this.upstream = new Server(0);
+        ServletContextHandler upstreamContext = new ServletContextHandler();
+        upstreamContext.addServlet(new ServletHolder(new HttpServlet() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                AssetCacheTest.this.upstreamRequests.incrementAndGet();
+                resp.setHeader("ETag", ETAG);
+                if (ETAG.equals(req.getHeader("If-None-Match"))) {
+                    AssetCacheTest.this.notModified.incrementAndGet();
+                    resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                    return;
+                }
+                resp.setContentType("audio/mpeg");
+                resp.getOutputStream().write(BODY);
+            }
+        }), "/*");
+        this.upstream.setHandler(upstreamContext);
+        this.upstream.start();
+
+        this.proxy = new Server(0);
+        ServletContextHandler proxyContext = new ServletContextHandler();
+        ServletHolder holder = new ServletHolder(new ReverseProxyServlet());
+        holder.setInitParameter("timeout", "10000");
+        proxyContext.addServlet(holder, "/*");
+        this.proxy.setHandler(proxyContext);
+        this.proxy.start();
+
+        this.client = new HttpClient();
+        this.client.setProxyConfiguration(new ProxyConfiguration("localhost", port(this.proxy)));
+        this.client.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.client.stop();
+        this.proxy.stop();
+        this.upstream.stop();
+        AppConfig.get().setUseAssetCache(this.useAssetCache);
+        AppConfig.get().setAssetCacheDir(this.assetCacheDir);
+        try (Stream<Path> files = Files.walk(this.cacheDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    /**
+     * 同じversionのリソースはアップストリームに転送せず、versionが変わった場合は再検証すること
+     */
+    @Test
+    public void testCache() throws Exception {
+        // 初回はアップストリームから取得して保存する
+        this.assertBody("1");
+        assertEquals(1, this.upstreamRequests.get());
+
+        // 同じversionはキャッシュから応答する
+        this.assertBody("1");
+        assertEquals(1, this.upstreamRequests.get());
+
+        // versionが変わった場合はETagで再検証し、キャッシュから応答する
+        this.assertBody("2");
+        assertEquals(2, this.upstreamRequests.get());
+        assertEquals(1, this.notModified.get());
+
+        // 再検証したversionはキャッシュから応答する
+        this.assertBody("2");
+        assertEquals(2, this.upstreamRequests.get());
+    }
+
+    private void assertBody(String version) throws Exception {
+        ContentResponse response = this.client
+                .GET("http://localhost:" + port(this.upstream) + "/kcs2/resources/bgm/port/test.mp3?version="
+                        + version);
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertEquals(new String(BODY, StandardCharsets.UTF_8), response.getContentAsString());
+    }
+
+    private static int port(Server server) {
+        return ((ServerConnector) server.getConnectors()[0]).getLocalPort();
+    }
+}
@@ -0,0 +1,88 @@
+package logbook.internal.proxy;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class CaptureHolderTest {
+
+    /**
+     * {@link logbook.internal.proxy.CaptureHolder#putResponse(byte[], int, int)} のためのテスト・メソッド。
+     */
+    @Test
+    public void testPutResponse() throws IOException {
+        byte[] data = new byte[CaptureBufferPool.CHUNK_SIZE * 3 + 123];
+        new Random(0).nextBytes(data);
+
+        CaptureHolder holder = new CaptureHolder();
+        // バッファの一部分だけがキャプチャされること
+        byte[] buffer = new byte[1000 + 20];
+        for (int i = 0; i < data.length; i += 1000) {
+            int length = Math.min(1000, data.length - i);
+            System.arraycopy(data, i, buffer, 10, length);
+            holder.putResponse(buffer, 10, length);
+        }
+        assertArrayEquals(data, readAll(holder.getResponse()));
+        // 2回目の読み込みでも同じ内容であること
+        assertArrayEquals(data, readAll(holder.getResponse()));
+        holder.clear();
+    }
+
+    /**
+     * {@link logbook.internal.proxy.CaptureHolder#putRequest(ByteBuffer)} のためのテスト・メソッド。
+     */
+    @Test
+    public void testPutRequest() throws IOException {
+        byte[] data = new byte[CaptureBufferPool.CHUNK_SIZE + 1];
+        new Random(1).nextBytes(data);
+
+        CaptureHolder holder = new CaptureHolder();
+        holder.putRequest(ByteBuffer.wrap(data, 0, 100));
+        holder.putRequest(ByteBuffer.wrap(data, 100, data.length - 100));
+
+        InputStream in = holder.getRequest();
+        in.mark(Short.BYTES);
+        in.read();
+        in.reset();
+        assertArrayEquals(data, readAll(in));
+        holder.clear();
+    }
+
+    /**
+     * 閾値を超えたレスポンスが一時ファイルに退避されること
+     */
+    @Test
+    public void testSpill() throws IOException {
+        byte[] data = new byte[CaptureBufferPool.CHUNK_SIZE * 2 + 10];
+        new Random(2).nextBytes(data);
+
+        CaptureHolder holder = new CaptureHolder(CaptureBufferPool.CHUNK_SIZE);
+        holder.putResponse(data, 0, 1000);
+        assertFalse(holder.isResponseSpilled());
+        holder.putResponse(data, 1000, data.length - 1000);
+        assertTrue(holder.isResponseSpilled());
+
+        assertArrayEquals(data, readAll(holder.getResponse()));
+        assertArrayEquals(data, readAll(holder.getResponse()));
+        holder.clear();
+        assertFalse(holder.isResponseSpilled());
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buf = new byte[777];
+        int len;
+        while ((len = in.read(buf)) > 0) {
+            out.write(buf, 0, len);
+        }
+        return out.toByteArray();
+    }
+}
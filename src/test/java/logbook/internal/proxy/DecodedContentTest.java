@@ -0,0 +1,80 @@
+package logbook.internal.proxy;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.Test;
+
+public class DecodedContentTest {
+
+    /**
+     * すべての参照を解放するまでキャプチャを保持し、最後の参照を解放した時点でキャプチャを解放すること
+     */
+    @Test
+    public void testReleaseAfterLastReference() throws IOException {
+        byte[] data = new byte[CaptureBufferPool.CHUNK_SIZE * 2 + 10];
+        new Random(3).nextBytes(data);
+
+        CaptureHolder holder = new CaptureHolder(0);
+        holder.putResponse(data);
+        DecodedContent content = DecodedContent.of(holder);
+        content.retain();
+        content.release();
+        assertArrayEquals(data, readAll(content.newInputStream()));
+
+        content.release();
+        assertEquals(0, holder.getResponseSize());
+        try {
+            content.newInputStream();
+            fail();
+        } catch (IllegalStateException e) {
+            // 解放済み
+        }
+        try {
+            content.retain();
+            fail();
+        } catch (IllegalStateException e) {
+            // 解放済み
+        }
+    }
+
+    /**
+     * 一時ファイルに退避したgzipのレスポンスを複写せずに展開しながら読み込めること
+     */
+    @Test
+    public void testReadSpilledGzip() throws IOException {
+        byte[] data = new byte[CaptureBufferPool.CHUNK_SIZE * 2 + 10];
+        new Random(3).nextBytes(data);
+        ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(gzip)) {
+            out.write(data);
+        }
+
+        CaptureHolder holder = new CaptureHolder(CaptureBufferPool.CHUNK_SIZE);
+        holder.putResponse(gzip.toByteArray());
+        assertTrue(holder.isResponseSpilled());
+        DecodedContent content = DecodedContent.of(holder);
+        assertArrayEquals(data, readAll(content.newInputStream()));
+        assertArrayEquals(data, readAll(content.newInputStream()));
+        content.release();
+        assertEquals(0, holder.getResponseSize());
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buf = new byte[1024];
+        int len;
+        while ((len = in.read(buf)) > 0) {
+            out.write(buf, 0, len);
+        }
+        return out.toByteArray();
+    }
+}
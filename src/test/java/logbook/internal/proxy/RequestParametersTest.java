@@ -0,0 +1,70 @@
+package logbook.internal.proxy;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class RequestParametersTest {
+
+    /**
+     * {@link logbook.internal.proxy.RequestParameters#parse(byte[], int)} のためのテスト・メソッド。
+     */
+    @Test
+    public void testParse() {
+        byte[] body = ("api%5Ftoken=abc&api_verno=1&api_id=1&api_id=2&api_flag&api_empty="
+                + "&api_name=%E8%89%A6+%E3%81%93%E3%82%8C&api_eq=a%3Db%26c")
+                        .getBytes(StandardCharsets.US_ASCII);
+        Map<String, List<String>> map = RequestParameters.parse(body, body.length);
+
+        assertEquals(Arrays.asList("api_token", "api_verno", "api_id", "api_flag", "api_empty", "api_name", "api_eq"),
+                Arrays.asList(map.keySet().toArray()));
+        assertEquals(Collections.singletonList("abc"), map.get("api_token"));
+        // 複数の値を持つキー
+        assertEquals(Arrays.asList("1", "2"), map.get("api_id"));
+        // 値がないキー
+        assertEquals(Collections.singletonList(""), map.get("api_flag"));
+        assertEquals(Collections.singletonList(""), map.get("api_empty"));
+        // エンコードされた値
+        assertEquals(Collections.singletonList("艦 これ"), map.get("api_name"));
+        assertEquals(Collections.singletonList("a=b&c"), map.get("api_eq"));
+    }
+
+    /**
+     * {@link logbook.internal.proxy.RequestParameters#parse(byte[], int)} のためのテスト・メソッド。
+     */
+    @Test
+    public void testParseEmpty() {
+        assertEquals(Collections.emptyMap(), RequestParameters.parse(new byte[0], 0));
+        byte[] body = "&&".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(Collections.emptyMap(), RequestParameters.parse(body, body.length));
+    }
+
+    /**
+     * キャプチャを解放した後もパラメータとリクエストボディを参照できること
+     */
+    @Test
+    public void testGetParameterMapAfterClear() throws Exception {
+        byte[] body = "api_token=abc&api_ship_id=10".getBytes(StandardCharsets.US_ASCII);
+        CaptureHolder holder = new CaptureHolder(0);
+        holder.putRequest(body);
+        RequestParameters parameters = RequestParameters.of(holder);
+        holder.clear();
+        // 返却したバッファが再利用されても影響しないこと
+        CaptureHolder other = new CaptureHolder(0);
+        other.putRequest(new byte[body.length]);
+
+        assertEquals(Collections.singletonList("10"), parameters.getParameterMap().get("api_ship_id"));
+        byte[] read = new byte[body.length + 1];
+        try (InputStream in = parameters.newInputStream()) {
+            assertEquals(body.length, in.read(read));
+        }
+        other.clear();
+    }
+}
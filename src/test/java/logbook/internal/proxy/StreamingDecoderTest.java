@@ -0,0 +1,73 @@
+package logbook.internal.proxy;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.Test;
+
+import logbook.internal.proxy.StreamingContentListener.ContentConsumer;
+import logbook.proxy.RequestMetaData;
+import logbook.proxy.ResponseMetaData;
+
+public class StreamingDecoderTest {
+
+    /**
+     * {@link logbook.internal.proxy.StreamingDecoder#feed(byte[], int, int)} のためのテスト・メソッド。
+     */
+    @Test
+    public void testFeedGzip() throws IOException {
+        byte[] data = data();
+        ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(gzip)) {
+            out.write(data);
+        }
+        assertArrayEquals(data, feed(gzip.toByteArray(), 3));
+        assertArrayEquals(data, feed(gzip.toByteArray(), 4096));
+    }
+
+    /**
+     * {@link logbook.internal.proxy.StreamingDecoder#feed(byte[], int, int)} のためのテスト・メソッド。
+     */
+    @Test
+    public void testFeedPlain() throws IOException {
+        byte[] data = data();
+        assertArrayEquals(data, feed(data, 1));
+        assertArrayEquals(data, feed(data, 4096));
+        assertArrayEquals(new byte[] { 'a' }, feed(new byte[] { 'a' }, 1));
+    }
+
+    private static byte[] data() {
+        byte[] data = new byte[50000];
+        Random random = new Random(0);
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) ('a' + random.nextInt(4));
+        }
+        return data;
+    }
+
+    private static byte[] feed(byte[] body, int chunk) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ContentConsumer consumer = new ContentConsumer() {
+            @Override
+            public void onContent(byte[] buffer, int offset, int length) {
+                out.write(buffer, offset, length);
+            }
+
+            @Override
+            public boolean onComplete(RequestMetaData requestMetaData, ResponseMetaData responseMetaData) {
+                return true;
+            }
+        };
+        StreamingDecoder decoder = new StreamingDecoder(consumer);
+        for (int i = 0; i < body.length; i += chunk) {
+            decoder.feed(body, i, Math.min(chunk, body.length - i));
+        }
+        assertNotNull(decoder.finish());
+        return out.toByteArray();
+    }
+}